@@ -4,6 +4,7 @@ import cs3500.solored.model.hw02.RedGameModel;
 import cs3500.solored.model.hw02.CardImpl;
 import cs3500.solored.model.hw04.RedGameCreator;
 import cs3500.solored.controller.SoloRedTextController;
+import cs3500.solored.view.hw02.SoloRedGameTextView.RenderMode;
 
 import java.io.InputStreamReader;
 import java.util.List;
@@ -17,9 +18,14 @@ public final class SoloRed {
    * Main method to run the SoloRed game.
    *
    * @param args command-line arguments.
-   *             First argument is the game type ('basic' or 'advanced').
+   *             First argument is the game type ('basic', 'advanced' or 'bitboard').
    *             Optional second and third arguments are the number of palettes and hand size.
-   * @throws IllegalArgumentException if the game type is invalid or missing.
+   *             These may be followed, or preceded, by the flags '--delta' to show only what
+   *             changed each turn, '--quiet' to show the board only when the game ends, and
+   *             '--every k' to show it every k commands. Unless the board is shown every
+   *             command, invalid moves are counted and the count is printed to System.err.
+   * @throws IllegalArgumentException if the game type is invalid or missing, or a flag is
+   *                                  invalid.
    */
   public static void main(String[] args) {
     if (args.length < 1) {
@@ -35,22 +41,54 @@ public final class SoloRed {
       case "advanced":
         gameType = RedGameCreator.GameType.ADVANCED;
         break;
+      case "bitboard":
+        gameType = RedGameCreator.GameType.BITBOARD;
+        break;
       default:
-        throw new IllegalArgumentException("Invalid game type. Choose 'basic' or 'advanced'");
+        throw new IllegalArgumentException(
+                "Invalid game type. Choose 'basic', 'advanced' or 'bitboard'");
     }
 
-    int numPalettes = (args.length > 1) ? Integer.parseInt(args[1]) : 4;
-    int maxHandSize = (args.length > 2) ? Integer.parseInt(args[2]) : 7;
+    RenderMode renderMode = RenderMode.FULL;
+    int renderEvery = 1;
+    int[] sizes = {4, 7};
+    int numSizes = 0;
+    for (int i = 1; i < args.length; i++) {
+      switch (args[i]) {
+        case "--delta":
+          renderMode = RenderMode.DELTA;
+          break;
+        case "--quiet":
+          renderEvery = SoloRedTextController.FINAL_ONLY;
+          break;
+        case "--every":
+          if (i + 1 == args.length) {
+            throw new IllegalArgumentException("--every needs a number of commands");
+          }
+          renderEvery = Integer.parseInt(args[++i]);
+          break;
+        default:
+          if (numSizes == sizes.length) {
+            throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+          }
+          sizes[numSizes++] = Integer.parseInt(args[i]);
+      }
+    }
+    int numPalettes = sizes[0];
+    int maxHandSize = sizes[1];
 
     RedGameModel<CardImpl> game = RedGameCreator.createGame(gameType);
 
     List<CardImpl> deck = game.getAllCards();
 
     SoloRedTextController controller = new SoloRedTextController(
-            new InputStreamReader(System.in), System.out);
+            new InputStreamReader(System.in), System.out, renderMode, renderEvery);
     try {
       controller.playGame(game, deck, true, numPalettes, maxHandSize);
     } catch (IllegalArgumentException ignored) {
     }
+    if (renderEvery != 1) {
+      System.err.println("Invalid moves: " + controller.invalidMoves());
+    }
   }
 }
\ No newline at end of file
@@ -0,0 +1,162 @@
+package cs3500.solored.controller;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+
+/**
+ * Splits the text of a Readable into whitespace-separated tokens, like the default delimiter
+ * of java.util.Scanner, without a regular expression and without a String per token. Input is
+ * read into a reused CharBuffer only as far as the next token needs, so interactive input is
+ * not waited on early, and each token is copied into a reused array. A token is then matched
+ * against a word or parsed as a number straight from its chars.
+ *
+ * <p>Like a Scanner, a tokenizer treats a failure to read as the end of the input.
+ */
+public final class CommandTokenizer {
+  private static final int BUFFER_SIZE = 8192;
+
+  private final Readable source;
+  private final CharBuffer buffer;
+  private char[] token;
+  private int length;
+  private boolean exhausted;
+
+  /**
+   * Constructs a tokenizer over the given input.
+   *
+   * @param source the input to split into tokens
+   * @throws IllegalArgumentException if source is null
+   */
+  public CommandTokenizer(Readable source) {
+    if (source == null) {
+      throw new IllegalArgumentException("Readable cannot be null.");
+    }
+    this.source = source;
+    this.buffer = CharBuffer.allocate(BUFFER_SIZE);
+    this.buffer.flip();
+    this.token = new char[64];
+    this.length = 0;
+    this.exhausted = false;
+  }
+
+  /**
+   * Advances to the next token of the input.
+   *
+   * @return true if there was another token, false at the end of the input
+   */
+  public boolean next() {
+    length = 0;
+    // Skip the whitespace before the token
+    while (true) {
+      if (!buffer.hasRemaining() && !fill()) {
+        return false;
+      }
+      if (!Character.isWhitespace(buffer.get(buffer.position()))) {
+        break;
+      }
+      buffer.get();
+    }
+    // Copy the token up to the next whitespace or the end of the input
+    while (buffer.hasRemaining() || fill()) {
+      char c = buffer.get(buffer.position());
+      if (Character.isWhitespace(c)) {
+        break;
+      }
+      buffer.get();
+      if (length == token.length) {
+        char[] grown = new char[token.length * 2];
+        System.arraycopy(token, 0, grown, 0, length);
+        token = grown;
+      }
+      token[length++] = c;
+    }
+    return true;
+  }
+
+  /**
+   * Returns whether the current token is the given word, ignoring case as
+   * String.equalsIgnoreCase does.
+   *
+   * @param word the word to compare with
+   * @return true if the current token equals the word, ignoring case
+   */
+  public boolean is(String word) {
+    if (word.length() != length) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      char a = token[i];
+      char b = word.charAt(i);
+      if (a == b) {
+        continue;
+      }
+      char upperA = Character.toUpperCase(a);
+      char upperB = Character.toUpperCase(b);
+      if (upperA != upperB
+              && Character.toLowerCase(upperA) != Character.toLowerCase(upperB)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Parses the current token as a natural number, accepting exactly the positive values that
+   * Integer.parseInt accepts: an optional plus sign followed by decimal digits.
+   *
+   * @return the number, or -1 if the token is not a positive int
+   */
+  public int naturalNumber() {
+    int i = (length > 0 && token[0] == '+') ? 1 : 0;
+    if (i == length) {
+      return -1;
+    }
+    long value = 0;
+    for (; i < length; i++) {
+      int digit = Character.digit(token[i], 10);
+      if (digit < 0) {
+        return -1;
+      }
+      value = value * 10 + digit;
+      if (value > Integer.MAX_VALUE) {
+        return -1;
+      }
+    }
+    return (value > 0) ? (int) value : -1;
+  }
+
+  /**
+   * Returns the current token as a string, for messages.
+   *
+   * @return the current token
+   */
+  @Override
+  public String toString() {
+    return new String(token, 0, length);
+  }
+
+  /**
+   * Reads more input into the empty buffer.
+   *
+   * @return true if some input was read, false at the end of the input
+   */
+  private boolean fill() {
+    if (exhausted) {
+      return false;
+    }
+    buffer.clear();
+    try {
+      int read;
+      do {
+        read = source.read(buffer);
+      } while (read == 0);
+      if (read < 0) {
+        exhausted = true;
+      }
+    } catch (IOException e) {
+      exhausted = true;
+    }
+    buffer.flip();
+    return buffer.hasRemaining();
+  }
+}
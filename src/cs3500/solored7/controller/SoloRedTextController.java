@@ -4,18 +4,36 @@ import cs3500.solored.model.hw02.Card;
 import cs3500.solored.model.hw02.RedGameModel;
 import cs3500.solored.view.hw02.RedGameView;
 import cs3500.solored.view.hw02.SoloRedGameTextView;
+import cs3500.solored.view.hw02.SoloRedGameTextView.RenderMode;
 
 import java.io.IOException;
 import java.util.List;
-import java.util.Scanner;
 
 /**
  * A text-based controller for running a SoloRed game.
+ *
+ * <p>In {@link RenderMode#DELTA} mode the board is shown with the view's delta frames, and
+ * the number of cards in the deck only when it changed, so each turn transmits just what
+ * the turn changed.
+ *
+ * <p>For replaying recorded commands, a controller can also be quiet: it shows the board only
+ * every few commands, or only when the game ends or is quit, and counts invalid commands and
+ * moves instead of transmitting a message for each. What it transmits when the game ends or
+ * is quit is the same as usual.
  */
 public class SoloRedTextController implements RedGameController {
+  /**
+   * The value of renderEvery that shows the board only when the game ends or is quit.
+   */
+  public static final int FINAL_ONLY = 0;
+
   private final Readable rd;
   private final Appendable ap;
+  private final RenderMode renderMode;
+  private final int renderEvery;
   private boolean gameQuit;
+  private int lastDeckCount;
+  private int invalidMoves;
 
   /**
    * Constructs a controller with the given input and output streams.
@@ -25,14 +43,64 @@ public class SoloRedTextController implements RedGameController {
    * @throws IllegalArgumentException if rd or ap is null
    */
   public SoloRedTextController(Readable rd, Appendable ap) throws IllegalArgumentException {
+    this(rd, ap, RenderMode.FULL);
+  }
+
+  /**
+   * Constructs a controller with the given input and output streams and render mode.
+   *
+   * @param rd         the source of input (Readable)
+   * @param ap         the target for output (Appendable)
+   * @param renderMode whether to show the whole board every turn or only what changed
+   * @throws IllegalArgumentException if rd, ap or renderMode is null
+   */
+  public SoloRedTextController(Readable rd, Appendable ap, RenderMode renderMode)
+          throws IllegalArgumentException {
+    this(rd, ap, renderMode, 1);
+  }
+
+  /**
+   * Constructs a controller that shows the board only every given number of commands. Unless
+   * the board is shown after every command, the controller is quiet: invalid commands and
+   * moves are counted by {@link #invalidMoves} but not transmitted.
+   *
+   * @param rd          the source of input (Readable)
+   * @param ap          the target for output (Appendable)
+   * @param renderMode  whether to show the whole board every time or only what changed
+   * @param renderEvery the number of commands between showings of the board, 1 for every
+   *                    command or {@link #FINAL_ONLY} for only the end of the game
+   * @throws IllegalArgumentException if rd, ap or renderMode is null, or renderEvery is
+   *                                  negative
+   */
+  public SoloRedTextController(Readable rd, Appendable ap, RenderMode renderMode,
+                               int renderEvery) throws IllegalArgumentException {
     if (rd == null || ap == null) {
       throw new IllegalArgumentException("Readable and Appendable cannot be null.");
     }
+    if (renderMode == null) {
+      throw new IllegalArgumentException("Render mode cannot be null.");
+    }
+    if (renderEvery < 0) {
+      throw new IllegalArgumentException("Number of commands between renders cannot be "
+              + "negative.");
+    }
     this.rd = rd;
     this.ap = ap;
+    this.renderMode = renderMode;
+    this.renderEvery = renderEvery;
     this.gameQuit = false;
   }
 
+  /**
+   * Returns the number of invalid commands and moves in the last game played, whether or not
+   * their messages were transmitted.
+   *
+   * @return the number of invalid commands and moves
+   */
+  public int invalidMoves() {
+    return invalidMoves;
+  }
+
   /**
    * Starts and plays the game using the given model, deck, and game settings.
    *
@@ -60,32 +128,38 @@ public class SoloRedTextController implements RedGameController {
     }
 
     try {
-      RedGameView view = new SoloRedGameTextView(model, ap);
-      Scanner scanner = new Scanner(this.rd);
+      RedGameView view = new SoloRedGameTextView(model, ap, renderMode);
+      lastDeckCount = -1;
+      invalidMoves = 0;
+      CommandTokenizer tokens = new CommandTokenizer(this.rd);
 
+      int commands = 0;
       while (!model.isGameOver() && !gameQuit) {
-        transmitGameState(view);
-        transmit("Number of cards in deck: " + model.numOfCardsInDeck() + "\n");
+        if (renderEvery != FINAL_ONLY && commands % renderEvery == 0) {
+          transmitGameState(view);
+          transmitDeckCount(model);
+        }
+        commands++;
 
-        String command = readNextCommand(scanner);
+        readNextCommand(tokens);
 
-        if (command.equalsIgnoreCase("q")) {
+        if (tokens.is("q")) {
           handleQuitCommand(model, view);
           break;
         }
 
-        if (command.equalsIgnoreCase("palette")) {
-          handlePaletteCommand(scanner, model, view);
+        if (tokens.is("palette")) {
+          handlePaletteCommand(tokens, model, view);
           if (gameQuit) {
             break;
           }
-        } else if (command.equalsIgnoreCase("canvas")) {
-          handleCanvasCommand(scanner, model, view);
+        } else if (tokens.is("canvas")) {
+          handleCanvasCommand(tokens, model, view);
           if (gameQuit) {
             break;
           }
         } else {
-          transmit("Invalid command. Try again.\n");
+          transmitDiagnostic("Invalid command. Try again.\n");
         }
       }
 
@@ -96,7 +170,7 @@ public class SoloRedTextController implements RedGameController {
           transmit("Game lost.\n");
         }
         transmitGameState(view);
-        transmit("Number of cards in deck: " + model.numOfCardsInDeck() + "\n");
+        transmitDeckCount(model);
       }
 
     } catch (IOException e) {
@@ -106,17 +180,15 @@ public class SoloRedTextController implements RedGameController {
   }
 
   /**
-   * Reads the next command from the input scanner.
+   * Advances the tokenizer to the next command.
    *
-   * @param scanner the scanner to read commands from
-   * @return the next command string
+   * @param tokens the tokenizer to read commands from
    * @throws IllegalStateException if there is no more input available
    */
-  private String readNextCommand(Scanner scanner) {
-    if (!scanner.hasNext()) {
+  private void readNextCommand(CommandTokenizer tokens) {
+    if (!tokens.next()) {
       throw new IllegalStateException("No more input available.");
     }
-    return scanner.next();
   }
 
   /**
@@ -127,7 +199,25 @@ public class SoloRedTextController implements RedGameController {
    */
   private void transmitGameState(RedGameView view) throws IOException {
     view.render();
-    ap.append("\n");
+    if (!(view instanceof SoloRedGameTextView)
+            || ((SoloRedGameTextView) view).changedLines() > 0) {
+      ap.append("\n");
+    }
+  }
+
+  /**
+   * Transmits the number of cards in the deck. In DELTA mode it is skipped if it has not
+   * changed since it was last transmitted.
+   *
+   * @param model the game model
+   * @throws IOException if there is an error transmitting the count
+   */
+  private void transmitDeckCount(RedGameModel<?> model) throws IOException {
+    int count = model.numOfCardsInDeck();
+    if (renderMode == RenderMode.FULL || count != lastDeckCount) {
+      transmit("Number of cards in deck: " + count + "\n");
+    }
+    lastDeckCount = count;
   }
 
   /**
@@ -147,8 +237,27 @@ public class SoloRedTextController implements RedGameController {
    * @throws IOException if there is an error transmitting the message
    */
   private void transmitInvalidMove(Exception e) throws IOException {
+    if (renderEvery != 1) {
+      // Quiet, so skip building the message
+      invalidMoves++;
+      return;
+    }
     String exceptionMessage = (e.getMessage() != null) ? e.getMessage().trim() : "";
-    transmit("Invalid move. Try again. " + exceptionMessage + "\n");
+    transmitDiagnostic("Invalid move. Try again. " + exceptionMessage + "\n");
+  }
+
+  /**
+   * Counts an invalid command or move, and transmits its message unless this controller is
+   * quiet.
+   *
+   * @param message the message to transmit
+   * @throws IOException if there is an error transmitting the message
+   */
+  private void transmitDiagnostic(String message) throws IOException {
+    invalidMoves++;
+    if (renderEvery == 1) {
+      transmit(message);
+    }
   }
 
   /**
@@ -164,40 +273,41 @@ public class SoloRedTextController implements RedGameController {
     transmit("Game quit!\n");
     transmit("State of game when quit:\n");
     transmitGameState(view);
-    transmit("Number of cards in deck: " + model.numOfCardsInDeck() + "\n");
+    transmitDeckCount(model);
     this.gameQuit = true;
   }
 
   /**
    * Handles the "palette" command, which allows a card to be played to a palette.
    *
-   * @param scanner the scanner to read input
+   * @param tokens  the tokenizer to read input from
    * @param model   the game model to play to the palette
    * @param view    the view to update after the move
    * @param <C>     the type of card being used in the game
    * @throws IOException if there is an error transmitting the game state
    */
-  private <C extends Card> void handlePaletteCommand(Scanner scanner, RedGameModel<C> model,
-                                                     RedGameView view) throws IOException {
-    Integer paletteIdx = readNextNaturalNumber(scanner);
+  private <C extends Card> void handlePaletteCommand(CommandTokenizer tokens,
+                                                     RedGameModel<C> model, RedGameView view)
+          throws IOException {
+    int paletteIdx = readNextNaturalNumber(tokens);
     if (gameQuit) {
       handleQuitCommand(model, view);
       return;
     }
 
-    if (paletteIdx == null || paletteIdx <= 0) {
-      transmit("Invalid move. Try again.\n");
+    if (paletteIdx <= 0) {
+      transmitDiagnostic("Invalid move. Try again.\n");
       return;
     }
 
-    Integer cardIdx = readNextNaturalNumber(scanner);
+    int cardIdx = readNextNaturalNumber(tokens);
     if (gameQuit) {
       handleQuitCommand(model, view);
       return;
     }
 
-    if (cardIdx == null || cardIdx <= 0) {
-      transmit("Invalid move. Try again.\n");
+    if (cardIdx <= 0) {
+      transmitDiagnostic("Invalid move. Try again.\n");
       return;
     }
 
@@ -223,22 +333,23 @@ public class SoloRedTextController implements RedGameController {
   /**
    * Handles the "canvas" command, which allows a card to be played to the canvas.
    *
-   * @param scanner the scanner to read input
+   * @param tokens  the tokenizer to read input from
    * @param model   the game model to play to the canvas
    * @param view    the view to update after the move
    * @param <C>     the type of card being used in the game
    * @throws IOException if there is an error transmitting the game state
    */
-  private <C extends Card> void handleCanvasCommand(Scanner scanner, RedGameModel<C> model,
-                                                    RedGameView view) throws IOException {
-    Integer cardIdx = readNextNaturalNumber(scanner);
+  private <C extends Card> void handleCanvasCommand(CommandTokenizer tokens,
+                                                    RedGameModel<C> model, RedGameView view)
+          throws IOException {
+    int cardIdx = readNextNaturalNumber(tokens);
     if (gameQuit) {
       handleQuitCommand(model, view);
       return;
     }
 
-    if (cardIdx == null || cardIdx <= 0) {
-      transmit("Invalid move. Try again.\n");
+    if (cardIdx <= 0) {
+      transmitDiagnostic("Invalid move. Try again.\n");
       return;
     }
 
@@ -253,33 +364,26 @@ public class SoloRedTextController implements RedGameController {
   }
 
   /**
-   * Reads the next natural number from the input scanner.
+   * Reads the next natural number from the tokenizer, skipping tokens that are not one.
    * A natural number is a positive integer.
    *
-   * @param scanner the scanner to read input from
-   * @return the next natural number or null if the user wants to quit
-   * @throws IOException if there is an error reading input
+   * @param tokens the tokenizer to read input from
+   * @return the next natural number, or 0 if the user wants to quit
+   * @throws IllegalStateException if there is no more input available
    */
-  private Integer readNextNaturalNumber(Scanner scanner) throws IOException {
+  private int readNextNaturalNumber(CommandTokenizer tokens) {
     while (true) {
-      if (!scanner.hasNext()) {
+      if (!tokens.next()) {
         throw new IllegalStateException("No more input available.");
       }
-      String input = scanner.next();
-      if (input.equalsIgnoreCase("q")) {
+      if (tokens.is("q")) {
         gameQuit = true;
-        return null;
+        return 0;
       }
-      try {
-        int value = Integer.parseInt(input);
-        if (value > 0) {
-          return value;
-        } else {
-          continue;
-        }
-      } catch (NumberFormatException e) {
-        continue;
+      int value = tokens.naturalNumber();
+      if (value > 0) {
+        return value;
       }
     }
   }
-}
\ No newline at end of file
+}
@@ -1,11 +1,18 @@
 package cs3500.solored.model.hw04;
 
+import cs3500.solored.model.hw02.CanvasRules;
+import cs3500.solored.model.hw02.CardUniverse;
 import cs3500.solored.model.hw02.SoloRedGameModel;
 
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
 /**
  * Advanced version of the SoloRed game model, implementing additional game logic.
  */
 public class AdvancedSoloRedGameModel extends SoloRedGameModel {
+  // Set in the saved extra state above the last canvas card number, which may exceed a byte
+  private static final int PLAYED_TO_CANVAS = 1 << 16;
 
   private int lastCanvasCardNumber;
   private boolean playedToCanvasSinceLastDraw;
@@ -14,7 +21,43 @@ public class AdvancedSoloRedGameModel extends SoloRedGameModel {
    * Constructor for the advanced game model. Initializes the additional game state variables.
    */
   public AdvancedSoloRedGameModel() {
-    super();
+    this(new SplittableRandom());
+  }
+
+  /**
+   * Constructor for the advanced game model with a specific random generator for shuffling.
+   *
+   * @param rand the random generator used for shuffling
+   * @throws IllegalArgumentException if rand is null
+   */
+  public AdvancedSoloRedGameModel(RandomGenerator rand) {
+    this(rand, new CanvasRules());
+  }
+
+  /**
+   * Constructor for the advanced game model with a specific random generator for shuffling and
+   * the canvas rules to score palettes with.
+   *
+   * @param rand  the random generator used for shuffling
+   * @param rules the rule selected by each canvas color
+   * @throws IllegalArgumentException if rand or rules is null
+   */
+  public AdvancedSoloRedGameModel(RandomGenerator rand, CanvasRules rules) {
+    this(rand, rules, CardUniverse.STANDARD);
+  }
+
+  /**
+   * Constructor for the advanced game model with a specific random generator for shuffling,
+   * the canvas rules to score palettes with, and the card universe to play with.
+   *
+   * @param rand     the random generator used for shuffling
+   * @param rules    the rule selected by each canvas color
+   * @param universe the cards getAllCards returns and the canvas rules are scaled to
+   * @throws IllegalArgumentException if rand, rules or universe is null
+   */
+  public AdvancedSoloRedGameModel(RandomGenerator rand, CanvasRules rules,
+                                  CardUniverse universe) {
+    super(rand, rules, universe);
     this.lastCanvasCardNumber = -1;
     this.playedToCanvasSinceLastDraw = false;
   }
@@ -41,6 +84,7 @@ public class AdvancedSoloRedGameModel extends SoloRedGameModel {
       throw new IllegalStateException("The game has not started or is over.");
     }
 
+    pushDrawUndo();
     int winningPaletteSize = palettes.get(winningPaletteIndex()).size();
     int cardsToDraw;
     if (playedToCanvasSinceLastDraw && lastCanvasCardNumber > winningPaletteSize) {
@@ -50,7 +94,7 @@ public class AdvancedSoloRedGameModel extends SoloRedGameModel {
     }
 
     for (int i = 0; i < cardsToDraw && hand.size() < this.maxHandSize && !deck.isEmpty(); i++) {
-      hand.add(deck.remove(0));
+      hand.add(deck.draw());
     }
 
     playedToCanvasSinceLastDraw = false;
@@ -59,6 +103,28 @@ public class AdvancedSoloRedGameModel extends SoloRedGameModel {
     canPlayToCanvas = true;
   }
 
+  /**
+   * Saves the number of the last card played to the canvas and whether it was played since the
+   * last draw, so undoing an operation restores them.
+   *
+   * @return the packed extra state
+   */
+  @Override
+  protected int saveExtraState() {
+    return (lastCanvasCardNumber + 1) | (playedToCanvasSinceLastDraw ? PLAYED_TO_CANVAS : 0);
+  }
+
+  /**
+   * Restores the state saved by saveExtraState.
+   *
+   * @param state the packed extra state
+   */
+  @Override
+  protected void restoreExtraState(int state) {
+    lastCanvasCardNumber = (state & (PLAYED_TO_CANVAS - 1)) - 1;
+    playedToCanvasSinceLastDraw = (state & PLAYED_TO_CANVAS) != 0;
+  }
+
   /**
    * Plays a card to a player's palette in the advanced game.
    *
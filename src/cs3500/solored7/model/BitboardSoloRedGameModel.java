@@ -0,0 +1,682 @@
+package cs3500.solored.model.hw04;
+
+import cs3500.solored.model.hw02.CardImpl;
+import cs3500.solored.model.hw02.Color;
+import cs3500.solored.model.hw02.CanvasRules;
+import cs3500.solored.model.hw02.PaletteScoreBoard;
+import cs3500.solored.model.hw02.Moves;
+import cs3500.solored.model.hw02.ObservableRedGameModel;
+import cs3500.solored.model.hw02.SearchableRedGameModel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Implementation of the RedGameModel for the SoloRed game that plays by the same rules as
+ * SoloRedGameModel, but stores the game state as primitive arrays and bitmasks over card
+ * ordinals instead of lists of cards.
+ * Every set of cards (the hand, each palette, and the cards dealt so far) is a single long,
+ * with bit i set when the card with ordinal i is in the set. The order of the hand and of
+ * each palette is kept alongside as ordinals in byte arrays, and the deck is a byte array
+ * with a cursor to the next card to deal.
+ * Palettes are scored straight from their masks, under every rule at once, by a
+ * {@link PaletteScoreBoard}.
+ */
+public class BitboardSoloRedGameModel implements SearchableRedGameModel<CardImpl>,
+        ObservableRedGameModel<CardImpl> {
+  private static final int NUM_COLORS = Color.values().length;
+  private static final int MAX_NUMBER = 7;
+  private static final int INITIAL_CANVAS = CardImpl.of(Color.R, 0).ordinal();
+  // Every undo record is UNDO_RECORD ints: the kind of operation and the flags before it,
+  // an operation-specific value, and the index in the hand
+  private static final int UNDO_RECORD = 3;
+  private static final int UNDO_PALETTE = 0;
+  private static final int UNDO_CANVAS = 1;
+  private static final int UNDO_DRAW = 2;
+  private static final int FLAG_CAN_PLAY_TO_CANVAS = 1 << 4;
+  private static final int FLAG_GAME_OVER = 1 << 5;
+  private static final int FLAG_GAME_WON = 1 << 6;
+
+  private final RandomGenerator random;
+  private final PaletteScoreBoard scoreBoard;
+  private byte[] deck;
+  private int deckCursor;
+  private byte[] hand;
+  private int handSize;
+  private long handMask;
+  private byte[][] palettes;
+  private int[] paletteSizes;
+  private long dealtMask;
+  private int canvas;
+  private boolean gameStarted;
+  private boolean gameOver;
+  private boolean gameWon;
+  private boolean canPlayToCanvas;
+  private int maxHandSize;
+  private int cachedWinningIndex;
+  private int[] undoStack;
+  private int undoSize;
+
+  /**
+   * Default constructor initializes the model in a state ready to start the game.
+   */
+  public BitboardSoloRedGameModel() {
+    this(new SplittableRandom());
+  }
+
+  /**
+   * Constructor that initializes the model with a specific random generator for shuffling.
+   * Given the same seed, this model deals the same game as SoloRedGameModel.
+   *
+   * @param rand the random generator used for shuffling
+   * @throws IllegalArgumentException if rand is null
+   */
+  public BitboardSoloRedGameModel(RandomGenerator rand) {
+    this(rand, new CanvasRules());
+  }
+
+  /**
+   * Constructor that initializes the model with a specific random generator for shuffling and
+   * the canvas rules to score palettes with. The rules are copied, so registering a rule in
+   * the given registry later has no effect on this model.
+   *
+   * @param rand  the random generator used for shuffling
+   * @param rules the rule selected by each canvas color
+   * @throws IllegalArgumentException if rand or rules is null
+   */
+  public BitboardSoloRedGameModel(RandomGenerator rand, CanvasRules rules) {
+    if (rand == null) {
+      throw new IllegalArgumentException("Random generator cannot be null.");
+    }
+    if (rules == null) {
+      throw new IllegalArgumentException("Canvas rules cannot be null.");
+    }
+    this.random = rand;
+    this.scoreBoard = new PaletteScoreBoard(rules);
+    this.gameStarted = false;
+    this.gameOver = false;
+    this.gameWon = false;
+    this.canPlayToCanvas = true;
+    this.maxHandSize = 0;
+    this.cachedWinningIndex = -1;
+    this.undoStack = new int[16 * UNDO_RECORD];
+    this.undoSize = 0;
+  }
+
+  /**
+   * Copy constructor. The copy shares no mutable state with the original, so moves made on
+   * one have no effect on the other. Both models share the same random generator.
+   *
+   * @param other the model to copy
+   * @throws IllegalArgumentException if other is null
+   */
+  public BitboardSoloRedGameModel(BitboardSoloRedGameModel other) {
+    if (other == null) {
+      throw new IllegalArgumentException("Model to copy cannot be null.");
+    }
+    this.random = other.random;
+    this.scoreBoard = new PaletteScoreBoard(other.scoreBoard);
+    this.gameStarted = other.gameStarted;
+    this.gameOver = other.gameOver;
+    this.gameWon = other.gameWon;
+    this.canPlayToCanvas = other.canPlayToCanvas;
+    this.maxHandSize = other.maxHandSize;
+    this.cachedWinningIndex = other.cachedWinningIndex;
+    this.undoStack = other.undoStack.clone();
+    this.undoSize = other.undoSize;
+    if (other.gameStarted) {
+      this.deck = other.deck.clone();
+      this.deckCursor = other.deckCursor;
+      this.hand = other.hand.clone();
+      this.handSize = other.handSize;
+      this.handMask = other.handMask;
+      this.palettes = new byte[other.palettes.length][];
+      for (int i = 0; i < palettes.length; i++) {
+        this.palettes[i] = other.palettes[i].clone();
+      }
+      this.paletteSizes = other.paletteSizes.clone();
+      this.dealtMask = other.dealtMask;
+      this.canvas = other.canvas;
+    }
+  }
+
+  @Override
+  public void startGame(List<CardImpl> deck, boolean shuffle, int numPalettes, int handSize) {
+    if (deck == null) {
+      throw new IllegalArgumentException("Deck cannot be null.");
+    }
+    if (gameStarted) {
+      throw new IllegalArgumentException("The game has already started.");
+    }
+    if (numPalettes < 2 || handSize <= 0) {
+      throw new IllegalArgumentException("Invalid number of palettes or hand size.");
+    }
+    if (deck.size() < numPalettes + handSize) {
+      throw new IllegalArgumentException("Not enough cards in the deck to start the game.");
+    }
+
+    byte[] order = new byte[deck.size()];
+    long seen = 0L;
+    for (int i = 0; i < order.length; i++) {
+      CardImpl card = deck.get(i);
+      if (card != null && card.ordinal() >= CardImpl.ORDINAL_COUNT) {
+        throw new IllegalArgumentException("Deck contains cards outside the standard universe.");
+      }
+      if (card == null || (seen & (1L << card.ordinal())) != 0) {
+        throw new IllegalArgumentException("Deck contains duplicate or null cards.");
+      }
+      seen |= 1L << card.ordinal();
+      order[i] = (byte) card.ordinal();
+    }
+    if (shuffle) {
+      // Same swaps as Collections.shuffle, so a seeded game matches SoloRedGameModel
+      for (int i = order.length; i > 1; i--) {
+        int j = random.nextInt(i);
+        byte tmp = order[i - 1];
+        order[i - 1] = order[j];
+        order[j] = tmp;
+      }
+    }
+
+    this.maxHandSize = handSize;
+    this.deck = order;
+    this.deckCursor = 0;
+    this.dealtMask = 0L;
+
+    this.palettes = new byte[numPalettes][CardImpl.ORDINAL_COUNT];
+    this.paletteSizes = new int[numPalettes];
+    this.scoreBoard.reset(numPalettes);
+    for (int i = 0; i < numPalettes; i++) {
+      appendToPalette(i, dealCard());
+    }
+
+    this.hand = new byte[handSize];
+    this.handSize = 0;
+    this.handMask = 0L;
+    fillHand(handSize);
+
+    this.canvas = INITIAL_CANVAS;
+    this.cachedWinningIndex = -1;
+    this.undoSize = 0;
+
+    this.gameStarted = true;
+    this.gameOver = false;
+    this.gameWon = false;
+    this.canPlayToCanvas = true;
+  }
+
+  @Override
+  public void drawForHand() {
+    if (!gameStarted || gameOver) {
+      throw new IllegalStateException("The game has not started or is over.");
+    }
+    pushUndo(UNDO_DRAW, handSize, 0);
+    fillHand(maxHandSize - handSize);
+    canPlayToCanvas = true;
+  }
+
+  @Override
+  public void playToPalette(int paletteIdx, int cardIdxInHand) {
+    if (!gameStarted || gameOver) {
+      throw new IllegalStateException("The game has not started or is over.");
+    }
+    if (paletteIdx < 0 || paletteIdx >= palettes.length) {
+      throw new IllegalArgumentException("Invalid palette index.");
+    }
+    if (cardIdxInHand < 0 || cardIdxInHand >= handSize) {
+      throw new IllegalArgumentException("Invalid card index in hand.");
+    }
+    if (paletteIdx == winningPaletteIndex()) {
+      throw new IllegalStateException("Cannot play to a winning palette.");
+    }
+
+    pushUndo(UNDO_PALETTE, paletteIdx, cardIdxInHand);
+    appendToPalette(paletteIdx, removeFromHand(cardIdxInHand));
+    cachedWinningIndex = -1;
+
+    if (winningPaletteIndex() != paletteIdx) {
+      gameOver = true;
+      gameWon = false;
+      return;
+    }
+
+    canPlayToCanvas = true;
+
+    updateGameOverStatus();
+  }
+
+  @Override
+  public void playToCanvas(int cardIdxInHand) {
+    if (!gameStarted || gameOver) {
+      throw new IllegalStateException("The game has not started or is over.");
+    }
+    if (cardIdxInHand < 0 || cardIdxInHand >= handSize) {
+      throw new IllegalArgumentException("Invalid card index in hand.");
+    }
+    if (!canPlayToCanvas) {
+      throw new IllegalStateException("Cannot play to the canvas at this time.");
+    }
+    if (handSize == 1) {
+      throw new IllegalStateException("Cannot play to the canvas when only one card remains in "
+              + "hand.");
+    }
+
+    pushUndo(UNDO_CANVAS, canvas, cardIdxInHand);
+    canvas = removeFromHand(cardIdxInHand);
+    canPlayToCanvas = false;
+    cachedWinningIndex = -1;
+
+    updateGameOverStatus();
+  }
+
+  @Override
+  public boolean canPlayToPalette(int paletteIdx, int cardIdxInHand) {
+    return gameStarted && !gameOver
+            && paletteIdx >= 0 && paletteIdx < palettes.length
+            && cardIdxInHand >= 0 && cardIdxInHand < handSize
+            && paletteIdx != winningPaletteIndex();
+  }
+
+  @Override
+  public boolean canPlayToCanvas(int cardIdxInHand) {
+    return gameStarted && !gameOver && canPlayToCanvas
+            && cardIdxInHand >= 0 && cardIdxInHand < handSize
+            && handSize > 1;
+  }
+
+  @Override
+  public int legalMoves(int[] moves) {
+    if (!gameStarted || gameOver) {
+      return 0;
+    }
+    boolean canvasOpen = canPlayToCanvas && handSize > 1;
+    if (moves.length < (palettes.length - 1) * handSize + (canvasOpen ? handSize : 0)) {
+      throw new IllegalArgumentException("Move buffer is too small.");
+    }
+
+    int count = 0;
+    int winningIndex = winningPaletteIndex();
+    for (int p = 0; p < palettes.length; p++) {
+      if (p != winningIndex) {
+        for (int c = 0; c < handSize; c++) {
+          moves[count++] = Moves.palette(p, c);
+        }
+      }
+    }
+    if (canvasOpen) {
+      for (int c = 0; c < handSize; c++) {
+        moves[count++] = Moves.canvas(c);
+      }
+    }
+    return count;
+  }
+
+  @Override
+  public void undo() {
+    if (!gameStarted) {
+      throw new IllegalStateException("The game has not started.");
+    }
+    if (undoSize == 0) {
+      throw new IllegalStateException("There is no move to undo.");
+    }
+
+    undoSize -= UNDO_RECORD;
+    int header = undoStack[undoSize];
+    int value = undoStack[undoSize + 1];
+    int handIdx = undoStack[undoSize + 2];
+    switch (header & 0xF) {
+      case UNDO_PALETTE:
+        int played = palettes[value][--paletteSizes[value]];
+        scoreBoard.removeCard(value, played);
+        insertIntoHand(handIdx, played);
+        break;
+      case UNDO_CANVAS:
+        insertIntoHand(handIdx, canvas);
+        canvas = value;
+        break;
+      case UNDO_DRAW:
+        while (handSize > value) {
+          long bit = 1L << hand[--handSize];
+          handMask &= ~bit;
+          dealtMask &= ~bit;
+          deckCursor--;
+        }
+        break;
+      default:
+        throw new IllegalStateException("Corrupt undo record.");
+    }
+    cachedWinningIndex = -1;
+    canPlayToCanvas = (header & FLAG_CAN_PLAY_TO_CANVAS) != 0;
+    gameOver = (header & FLAG_GAME_OVER) != 0;
+    gameWon = (header & FLAG_GAME_WON) != 0;
+  }
+
+  @Override
+  public int undoDepth() {
+    if (!gameStarted) {
+      throw new IllegalStateException("The game has not started.");
+    }
+    return undoSize / UNDO_RECORD;
+  }
+
+  @Override
+  public int numOfCardsInDeck() {
+    if (!gameStarted) {
+      throw new IllegalStateException("The game has not started.");
+    }
+    return deck.length - deckCursor;
+  }
+
+  @Override
+  public int numPalettes() {
+    if (!gameStarted) {
+      throw new IllegalStateException("The game has not started.");
+    }
+    return palettes.length;
+  }
+
+  @Override
+  public int winningPaletteIndex() {
+    if (!gameStarted) {
+      throw new IllegalStateException("The game has not started.");
+    }
+    if (cachedWinningIndex < 0) {
+      cachedWinningIndex = scoreBoard.winner(canvasColor());
+    }
+    return cachedWinningIndex;
+  }
+
+  @Override
+  public boolean isGameOver() {
+    if (!gameStarted) {
+      throw new IllegalStateException("The game has not started.");
+    }
+    return gameOver;
+  }
+
+  @Override
+  public boolean isGameWon() {
+    if (!gameStarted) {
+      throw new IllegalStateException("The game has not started.");
+    }
+    if (!gameOver) {
+      throw new IllegalStateException("The game is not over yet.");
+    }
+    return gameWon;
+  }
+
+  @Override
+  public List<CardImpl> getHand() {
+    if (!gameStarted) {
+      throw new IllegalStateException("The game has not started.");
+    }
+    return toCards(hand, handSize);
+  }
+
+  @Override
+  public List<CardImpl> getPalette(int paletteNum) {
+    checkPalette(paletteNum);
+    return toCards(palettes[paletteNum], paletteSizes[paletteNum]);
+  }
+
+  /**
+   * Checks that the game has started and has a palette with the given number.
+   *
+   * @param paletteNum a 0-index number representing which palette
+   * @throws IllegalStateException    if the game has not started
+   * @throws IllegalArgumentException if the palette number is out of range
+   */
+  private void checkPalette(int paletteNum) {
+    if (!gameStarted) {
+      throw new IllegalStateException("The game has not started.");
+    }
+    if (paletteNum < 0 || paletteNum >= palettes.length) {
+      throw new IllegalArgumentException("Invalid palette number.");
+    }
+  }
+
+  @Override
+  public int handSize() {
+    if (!gameStarted) {
+      throw new IllegalStateException("The game has not started.");
+    }
+    return handSize;
+  }
+
+  @Override
+  public CardImpl handCard(int cardIdxInHand) {
+    if (!gameStarted) {
+      throw new IllegalStateException("The game has not started.");
+    }
+    if (cardIdxInHand < 0 || cardIdxInHand >= handSize) {
+      throw new IllegalArgumentException("Invalid card index in hand.");
+    }
+    return CardImpl.fromOrdinal(hand[cardIdxInHand]);
+  }
+
+  @Override
+  public int paletteSize(int paletteNum) {
+    checkPalette(paletteNum);
+    return paletteSizes[paletteNum];
+  }
+
+  @Override
+  public CardImpl paletteCard(int paletteNum, int cardIdx) {
+    checkPalette(paletteNum);
+    if (cardIdx < 0 || cardIdx >= paletteSizes[paletteNum]) {
+      throw new IllegalArgumentException("Invalid card index in palette.");
+    }
+    return CardImpl.fromOrdinal(palettes[paletteNum][cardIdx]);
+  }
+
+  @Override
+  public CardImpl getCanvas() {
+    if (!gameStarted) {
+      throw new IllegalStateException("The game has not started.");
+    }
+    return CardImpl.fromOrdinal(canvas);
+  }
+
+  @Override
+  public List<CardImpl> getAllCards() {
+    List<CardImpl> allCards = new ArrayList<>();
+    for (Color color : Color.values()) {
+      for (int num = 1; num <= MAX_NUMBER; num++) {
+        allCards.add(CardImpl.of(color, num));
+      }
+    }
+    return allCards;
+  }
+
+  /**
+   * Returns the index of the palette that would win if a card of the given color were on the
+   * canvas, without changing the game. This only compares the stored scores of the palettes.
+   *
+   * @param canvasColor the color of the hypothetical canvas
+   * @return the 0-based index of the palette that would win
+   * @throws IllegalStateException    if the game has not started
+   * @throws IllegalArgumentException if canvasColor is null
+   */
+  public int winningPaletteIndexFor(Color canvasColor) {
+    if (!gameStarted) {
+      throw new IllegalStateException("The game has not started.");
+    }
+    if (canvasColor == null) {
+      throw new IllegalArgumentException("Canvas color cannot be null.");
+    }
+    return scoreBoard.winner(canvasColor);
+  }
+
+  /**
+   * Returns the set of cards currently in the hand.
+   *
+   * @return a bitmask with bit i set if the card with ordinal i is in the hand
+   * @throws IllegalStateException if the game has not started
+   */
+  public long handMask() {
+    if (!gameStarted) {
+      throw new IllegalStateException("The game has not started.");
+    }
+    return handMask;
+  }
+
+  /**
+   * Returns the set of cards in the specified palette.
+   *
+   * @param paletteNum 0-based index of a particular palette
+   * @return a bitmask with bit i set if the card with ordinal i is in the palette
+   * @throws IllegalStateException    if the game has not started
+   * @throws IllegalArgumentException if paletteNum is not a valid palette index
+   */
+  public long paletteMask(int paletteNum) {
+    if (!gameStarted) {
+      throw new IllegalStateException("The game has not started.");
+    }
+    if (paletteNum < 0 || paletteNum >= palettes.length) {
+      throw new IllegalArgumentException("Invalid palette number.");
+    }
+    return scoreBoard.mask(paletteNum);
+  }
+
+  /**
+   * Returns the set of cards that have been dealt from the deck so far, wherever they are now.
+   *
+   * @return a bitmask with bit i set if the card with ordinal i has left the deck
+   * @throws IllegalStateException if the game has not started
+   */
+  public long dealtMask() {
+    if (!gameStarted) {
+      throw new IllegalStateException("The game has not started.");
+    }
+    return dealtMask;
+  }
+
+  /**
+   * Removes the next card from the deck and records it as dealt.
+   *
+   * @return the ordinal of the dealt card
+   */
+  private int dealCard() {
+    int card = deck[deckCursor++];
+    dealtMask |= 1L << card;
+    return card;
+  }
+
+  /**
+   * Deals up to the given number of cards from the deck to the end of the hand.
+   *
+   * @param count the most cards to deal
+   */
+  private void fillHand(int count) {
+    for (int i = 0; i < count && deckCursor < deck.length; i++) {
+      int card = dealCard();
+      hand[handSize++] = (byte) card;
+      handMask |= 1L << card;
+    }
+  }
+
+  /**
+   * Removes the card at the given position of the hand, keeping the order of the others.
+   *
+   * @param cardIdxInHand the position of the card in the hand
+   * @return the ordinal of the removed card
+   */
+  private int removeFromHand(int cardIdxInHand) {
+    int card = hand[cardIdxInHand];
+    System.arraycopy(hand, cardIdxInHand + 1, hand, cardIdxInHand,
+            handSize - cardIdxInHand - 1);
+    handSize--;
+    handMask &= ~(1L << card);
+    return card;
+  }
+
+  /**
+   * Puts a card back into the hand at the given position, shifting later cards right.
+   *
+   * @param cardIdxInHand the position of the card in the hand
+   * @param card          the ordinal of the card
+   */
+  private void insertIntoHand(int cardIdxInHand, int card) {
+    System.arraycopy(hand, cardIdxInHand, hand, cardIdxInHand + 1, handSize - cardIdxInHand);
+    hand[cardIdxInHand] = (byte) card;
+    handSize++;
+    handMask |= 1L << card;
+  }
+
+  /**
+   * Records the state an operation is about to change, so undo can restore it.
+   *
+   * @param kind    which operation is recorded
+   * @param value   the changed palette, the previous canvas, or the hand size before drawing
+   * @param handIdx the index in the hand of the card being played
+   */
+  private void pushUndo(int kind, int value, int handIdx) {
+    if (undoSize == undoStack.length) {
+      undoStack = Arrays.copyOf(undoStack, undoStack.length * 2);
+    }
+    int header = kind;
+    if (canPlayToCanvas) {
+      header |= FLAG_CAN_PLAY_TO_CANVAS;
+    }
+    if (gameOver) {
+      header |= FLAG_GAME_OVER;
+    }
+    if (gameWon) {
+      header |= FLAG_GAME_WON;
+    }
+    undoStack[undoSize] = header;
+    undoStack[undoSize + 1] = value;
+    undoStack[undoSize + 2] = handIdx;
+    undoSize += UNDO_RECORD;
+  }
+
+  /**
+   * Adds a card to the far right of a palette.
+   *
+   * @param paletteIdx the index of the palette
+   * @param card       the ordinal of the card
+   */
+  private void appendToPalette(int paletteIdx, int card) {
+    palettes[paletteIdx][paletteSizes[paletteIdx]++] = (byte) card;
+    scoreBoard.addCard(paletteIdx, card);
+  }
+
+  /**
+   * Returns the color of the card on the canvas.
+   *
+   * @return the color of the canvas
+   */
+  private Color canvasColor() {
+    return Color.fromRank(canvas % NUM_COLORS + 1);
+  }
+
+  /**
+   * Updates the game state to check if the game is over.
+   * The game ends when both the hand and deck are empty, and the game is won if palette 0 is
+   * the winner.
+   */
+  private void updateGameOverStatus() {
+    if (handSize == 0 && deckCursor == deck.length) {
+      gameOver = true;
+      gameWon = winningPaletteIndex() == 0;
+    }
+  }
+
+  /**
+   * Converts the first count ordinals of an array to a new list of cards.
+   *
+   * @param ordinals the ordinals of the cards
+   * @param count    how many ordinals to convert
+   * @return a new list of the canonical cards
+   */
+  private static List<CardImpl> toCards(byte[] ordinals, int count) {
+    List<CardImpl> cards = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      cards.add(CardImpl.fromOrdinal(ordinals[i]));
+    }
+    return cards;
+  }
+}
@@ -0,0 +1,59 @@
+package cs3500.solored.model.hw02;
+
+/**
+ * A scoring rule selected by the color of the card on the canvas.
+ * A rule scores one palette at a time, given as a mask of card ordinals (bit i is set when the
+ * card with ordinal i is in the palette), and returns a packed score as described in
+ * {@link PaletteScorer}: the palette with the greatest score wins, and the first palette wins
+ * among equal scores.
+ */
+public interface CanvasRule {
+
+  /**
+   * Scores a palette of the standard numbers under this rule.
+   *
+   * @param paletteMask the cards in the palette
+   * @return the packed score of the palette
+   */
+  long score(long paletteMask);
+
+  /**
+   * Scores a palette of any card universe under this rule. The palette is a bitset over card
+   * ordinals held in {@code universe.words()} longs of an array, from the given offset.
+   * By default this defers to {@link #score(long)} for universes with the standard numbers,
+   * and rejects any other universe; rules that can score larger universes override it.
+   *
+   * @param paletteBits the array holding the palette's bitset
+   * @param offset      the index of the palette's first word in the array
+   * @param universe    the card universe of the game
+   * @return the packed score of the palette
+   * @throws IllegalStateException if this rule cannot score the given universe
+   */
+  default long score(long[] paletteBits, int offset, CardUniverse universe) {
+    if (!universe.hasStandardNumbers()) {
+      throw new IllegalStateException("This rule only scores palettes of the standard numbers.");
+    }
+    return score(paletteBits[offset]);
+  }
+
+  /**
+   * Returns which of the given cards would each bring a palette of the standard numbers to at
+   * least the given score, if it alone were added to the palette. By default this scores the
+   * palette once with each card; rules that can find the cards faster override it.
+   *
+   * @param paletteMask the cards in the palette
+   * @param cards       the cards to try, as a mask over card ordinals
+   * @param threshold   the packed score to reach
+   * @return the cards of {@code cards} that reach the threshold
+   */
+  default long cardsReaching(long paletteMask, long cards, long threshold) {
+    long reaching = 0L;
+    for (long rest = cards; rest != 0L; rest &= rest - 1) {
+      long card = Long.lowestOneBit(rest);
+      if (score(paletteMask | card) >= threshold) {
+        reaching |= card;
+      }
+    }
+    return reaching;
+  }
+}
@@ -0,0 +1,60 @@
+package cs3500.solored.model.hw02;
+
+/**
+ * A registry mapping each canvas color to the rule it selects, indexed by color ordinal.
+ * A new registry holds the standard rules, and any of them can be replaced with
+ * {@link #register}. Models copy the registry they are given when they are constructed, so
+ * registering a rule afterwards does not change a running game.
+ */
+public final class CanvasRules {
+  private final CanvasRule[] rules;
+
+  /**
+   * Constructs a registry holding the standard rule for every color.
+   */
+  public CanvasRules() {
+    this.rules = new CanvasRule[Color.values().length];
+    for (Color color : Color.values()) {
+      this.rules[color.ordinal()] = StandardCanvasRule.forColor(color);
+    }
+  }
+
+  /**
+   * Constructs a registry with the same rules as another one.
+   *
+   * @param other the registry to copy
+   * @throws IllegalArgumentException if other is null
+   */
+  public CanvasRules(CanvasRules other) {
+    if (other == null) {
+      throw new IllegalArgumentException("Rules cannot be null.");
+    }
+    this.rules = other.rules.clone();
+  }
+
+  /**
+   * Replaces the rule selected by the given color.
+   *
+   * @param color the color of the canvas
+   * @param rule  the rule to use for that color
+   * @return this registry, for chaining
+   * @throws IllegalArgumentException if color or rule is null
+   */
+  public CanvasRules register(Color color, CanvasRule rule) {
+    if (color == null || rule == null) {
+      throw new IllegalArgumentException("Color and rule cannot be null.");
+    }
+    rules[color.ordinal()] = rule;
+    return this;
+  }
+
+  /**
+   * Returns the rule selected by the given color.
+   *
+   * @param color the color of the canvas
+   * @return the rule registered for that color
+   */
+  public CanvasRule get(Color color) {
+    return rules[color.ordinal()];
+  }
+}
@@ -9,7 +9,7 @@ public interface Card {
 
   /**
    * Prints the color and number of the card.
-   * The colors are printed R, O, B, I, or V.
+   * The colors are printed R, O, B, I, or V, as named by {@link Color}.
    * The numbers are printed as 1-7.
    * As an example, a blue 5 is printed as B5.
    *
@@ -3,10 +3,36 @@ package cs3500.solored.model.hw02;
 /**
  * Concrete implementation of a card in the SoloRed game.
  * Each card has a color and a number.
+ *
+ * <p>Every legal card also has a dense ordinal, ordered by card strength: a higher number
+ * always has a higher ordinal, and equal numbers are ordered by rainbow rank (violet lowest,
+ * red highest). Canonical instances for every ordinal are shared through {@link #of} and
+ * {@link #fromOrdinal}, so callers should prefer those over the constructors.
+ *
+ * <p>The constructors and factories only make cards numbered up to 7, the numbers of the
+ * standard game. Cards of larger {@link CardUniverse}s come from {@link CardUniverse#card} and
+ * {@link CardUniverse#fromOrdinal}, which check them against the universe.
  */
 public class CardImpl implements Card {
-  private final String color;
+  /**
+   * The number of distinct ordinals of the standard card universe, including the
+   * "non-playable" cards numbered 0. Every card numbered 7 or less has an ordinal below it.
+   */
+  public static final int ORDINAL_COUNT = 40;
+
+  private static final int NUM_COLORS = Color.values().length;
+  private static final CardImpl[] CANONICAL = new CardImpl[ORDINAL_COUNT];
+
+  static {
+    for (int ordinal = 0; ordinal < ORDINAL_COUNT; ordinal++) {
+      CANONICAL[ordinal] = new CardImpl(Color.fromRank(ordinal % NUM_COLORS + 1),
+              ordinal / NUM_COLORS);
+    }
+  }
+
+  private final Color color;
   private final int number;
+  private final int ordinal;
 
   /**
    * Constructor to initialize a Card with a specific color and number.
@@ -14,19 +40,95 @@ public class CardImpl implements Card {
    * @param number the number of the card
    * @throws IllegalArgumentException if the color or number are invalid
    */
-  public CardImpl(String color, int number) {
-    if (!isValidColor(color) || !isValidNumber(number)) {
+  public CardImpl(Color color, int number) {
+    if (color == null || !isValidNumber(number)) {
       throw new IllegalArgumentException("Invalid card color or number.");
     }
     this.color = color;
     this.number = number;
+    this.ordinal = ordinalOf(color, number);
+  }
+
+  /**
+   * Constructor for a card of a larger universe, which has already checked the number.
+   * @param color the color of the card
+   * @param number the number of the card
+   * @param ordinal the ordinal of the card
+   */
+  private CardImpl(Color color, int number, int ordinal) {
+    this.color = color;
+    this.number = number;
+    this.ordinal = ordinal;
+  }
+
+  /**
+   * Constructor to initialize a Card from the symbol of its color and its number.
+   * @param color the symbol of the color of the card, such as "R"
+   * @param number the number of the card
+   * @throws IllegalArgumentException if the color or number are invalid
+   */
+  public CardImpl(String color, int number) {
+    this(Color.fromSymbol(color), number);
+  }
+
+  /**
+   * Returns the canonical card with the given color and number.
+   * @param color the color of the card
+   * @param number the number of the card
+   * @return the shared instance for that card
+   * @throws IllegalArgumentException if the color or number are invalid
+   */
+  public static CardImpl of(Color color, int number) {
+    if (color == null || !isValidNumber(number)) {
+      throw new IllegalArgumentException("Invalid card color or number.");
+    }
+    return CANONICAL[ordinalOf(color, number)];
+  }
+
+  /**
+   * Returns the canonical card with the given color symbol and number.
+   * @param color the symbol of the color of the card, such as "R"
+   * @param number the number of the card
+   * @return the shared instance for that card
+   * @throws IllegalArgumentException if the color or number are invalid
+   */
+  public static CardImpl of(String color, int number) {
+    return of(Color.fromSymbol(color), number);
+  }
+
+  /**
+   * Returns the canonical card with the given ordinal.
+   * @param ordinal the ordinal of the card
+   * @return the shared instance for that card
+   * @throws IllegalArgumentException if the ordinal is outside [0, ORDINAL_COUNT)
+   */
+  public static CardImpl fromOrdinal(int ordinal) {
+    if (ordinal < 0 || ordinal >= ORDINAL_COUNT) {
+      throw new IllegalArgumentException("Invalid card ordinal.");
+    }
+    return CANONICAL[ordinal];
+  }
+
+  /**
+   * Returns a card of any number that a {@link CardUniverse} has checked: the canonical
+   * instance if the number is at most 7, and otherwise a new one for the universe to share.
+   * @param color the color of the card
+   * @param number the number of the card, which must not be negative
+   * @return the card
+   */
+  static CardImpl ofUniverse(Color color, int number) {
+    int ordinal = ordinalOf(color, number);
+    if (ordinal < ORDINAL_COUNT) {
+      return CANONICAL[ordinal];
+    }
+    return new CardImpl(color, number, ordinal);
   }
 
   /**
    * Returns the color of the card.
    * @return the color of the card
    */
-  public String getColor() {
+  public Color getColor() {
     return color;
   }
 
@@ -39,13 +141,12 @@ public class CardImpl implements Card {
   }
 
   /**
-   * Checks if the given color is a valid color in the game.
-   * @param color the color to check
-   * @return true if the color is valid, false otherwise
+   * Returns the dense ordinal of the card. A card with a higher ordinal beats a card with a
+   * lower one under the red rule.
+   * @return the ordinal of the card, below the ordinalCount of its universe
    */
-  private boolean isValidColor(String color) {
-    return color.equals("R") || color.equals("O") || color.equals("B")
-            || color.equals("I") || color.equals("V");
+  public int ordinal() {
+    return ordinal;
   }
 
   /**
@@ -53,16 +154,26 @@ public class CardImpl implements Card {
    * @param number the number to check
    * @return true if the number is between 0 and 7, false otherwise
    */
-  private boolean isValidNumber(int number) {
+  private static boolean isValidNumber(int number) {
     return number >= 0 && number <= 7; // Allows 0 for special "non-playable" cards.
   }
 
+  /**
+   * Computes the ordinal of an already validated color and number.
+   * @param color the color of the card
+   * @param number the number of the card
+   * @return the ordinal of the card
+   */
+  private static int ordinalOf(Color color, int number) {
+    return number * NUM_COLORS + color.rank() - 1;
+  }
+
   @Override
   public String toString() {
     if (number == 0) {
-      return color;
+      return color.toString();
     }
-    return color + number;
+    return color.toString() + number;
   }
 
   @Override
@@ -73,14 +184,11 @@ public class CardImpl implements Card {
     if (obj == null || getClass() != obj.getClass()) {
       return false;
     }
-    CardImpl card = (CardImpl) obj;
-    return number == card.number && color.equals(card.color);
+    return ordinal == ((CardImpl) obj).ordinal;
   }
 
   @Override
   public int hashCode() {
-    int result = color.hashCode();
-    result = 31 * result + number;
-    return result;
+    return ordinal;
   }
-}
\ No newline at end of file
+}
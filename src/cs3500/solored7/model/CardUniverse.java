@@ -0,0 +1,250 @@
+package cs3500.solored.model.hw02;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The set of cards a game is played with: the first few colors in declaration order (red,
+ * orange, blue, indigo, violet) crossed with the numbers 1 up to some highest number. The
+ * standard game uses all five colors and the numbers 1 to 7.
+ *
+ * <p>The canvas rules scale with the universe. Indigo runs can span any range of numbers, and
+ * Violet counts the cards below {@link #violetThreshold}, the lower half of the numbers, which
+ * is 4 in the standard game. Sets of cards fit in one long mask over card ordinals while
+ * {@link #ordinalCount} is at most 64, and take {@link #words} longs beyond that.
+ *
+ * <p>Cards numbered above 7 are made only by the universes that have them, through
+ * {@link #card} and {@link #fromOrdinal}. A universe builds its cards and its table of them by
+ * ordinal the first time they are asked for, and shares them from then on.
+ */
+public final class CardUniverse {
+  // Declared before STANDARD, which needs it to list its cards
+  private static final Color[] COLORS = Color.values();
+
+  /**
+   * The universe of the standard game: five colors and the numbers 1 to 7.
+   */
+  public static final CardUniverse STANDARD = new CardUniverse(COLORS.length, 7);
+
+  /**
+   * The highest number a universe can have.
+   */
+  public static final int MAX_NUMBER = 999;
+
+  private final int numColors;
+  private final int maxNumber;
+  // Built together on first use; byOrdinal is written last, so seeing it means both are set
+  private List<CardImpl> cards;
+  private volatile CardImpl[] byOrdinal;
+
+  private CardUniverse(int numColors, int maxNumber) {
+    this.numColors = numColors;
+    this.maxNumber = maxNumber;
+  }
+
+  /**
+   * Returns the universe of the given number of colors and numbers.
+   *
+   * @param numColors the number of colors, from 1 to 5
+   * @param maxNumber the highest number, from 1 to {@link #MAX_NUMBER}
+   * @return the universe
+   * @throws IllegalArgumentException if either size is out of range
+   */
+  public static CardUniverse of(int numColors, int maxNumber) {
+    if (numColors < 1 || numColors > COLORS.length) {
+      throw new IllegalArgumentException("Invalid number of colors: " + numColors);
+    }
+    if (maxNumber < 1 || maxNumber > MAX_NUMBER) {
+      throw new IllegalArgumentException("Invalid highest number: " + maxNumber);
+    }
+    if (numColors == STANDARD.numColors && maxNumber == STANDARD.maxNumber) {
+      return STANDARD;
+    }
+    return new CardUniverse(numColors, maxNumber);
+  }
+
+  /**
+   * Returns the number of colors in this universe.
+   *
+   * @return the number of colors
+   */
+  public int numColors() {
+    return numColors;
+  }
+
+  /**
+   * Returns the highest number in this universe.
+   *
+   * @return the highest number
+   */
+  public int maxNumber() {
+    return maxNumber;
+  }
+
+  /**
+   * Returns the number of cards in this universe.
+   *
+   * @return the number of cards
+   */
+  public int size() {
+    return numColors * maxNumber;
+  }
+
+  /**
+   * Returns every card of this universe, grouped by color in declaration order and then by
+   * number.
+   *
+   * @return an unmodifiable list of the shared card instances
+   */
+  public List<CardImpl> cards() {
+    table();
+    return cards;
+  }
+
+  /**
+   * Returns the shared card of this universe with the given color and number.
+   *
+   * @param color  the color of the card
+   * @param number the number of the card, from 0 for the "non-playable" cards up to the
+   *               highest number
+   * @return the card
+   * @throws IllegalArgumentException if color is null or not in this universe, or number is
+   *                                  out of range
+   */
+  public CardImpl card(Color color, int number) {
+    if (color == null || color.ordinal() >= numColors || number < 0 || number > maxNumber) {
+      throw new IllegalArgumentException("Card is outside the card universe.");
+    }
+    return table()[number * COLORS.length + color.rank() - 1];
+  }
+
+  /**
+   * Returns the shared card of this universe with the given ordinal.
+   *
+   * @param ordinal the ordinal of the card
+   * @return the card
+   * @throws IllegalArgumentException if no card of this universe has that ordinal
+   */
+  public CardImpl fromOrdinal(int ordinal) {
+    CardImpl[] table = table();
+    if (ordinal < 0 || ordinal >= table.length || table[ordinal] == null) {
+      throw new IllegalArgumentException("Invalid card ordinal for the card universe.");
+    }
+    return table[ordinal];
+  }
+
+  /**
+   * Returns whether a card belongs to this universe.
+   *
+   * @param card the card
+   * @return true if its color and number are in this universe
+   */
+  public boolean contains(CardImpl card) {
+    return card != null && card.getColor().ordinal() < numColors
+            && card.getNumber() >= 1 && card.getNumber() <= maxNumber;
+  }
+
+  /**
+   * Returns whether a card has a color of this universe and a number from 0 to the highest
+   * number, which is every card a game of this universe can hold, canvas cards included.
+   *
+   * @param card the card, which must not be null
+   * @return true if a game of this universe can hold the card
+   */
+  boolean allows(CardImpl card) {
+    return card.getColor().ordinal() < numColors && card.ordinal() < ordinalCount();
+  }
+
+  /**
+   * Returns one more than the highest ordinal of a card numbered up to the highest number of
+   * this universe, counting every color and the cards numbered 0.
+   *
+   * @return the number of ordinals a set of cards of this universe ranges over
+   */
+  public int ordinalCount() {
+    return (maxNumber + 1) * COLORS.length;
+  }
+
+  /**
+   * Returns the number of longs a set of cards of this universe takes as a bitset.
+   *
+   * @return the number of 64-bit words, 1 while ordinalCount is at most 64
+   */
+  public int words() {
+    return (ordinalCount() + Long.SIZE - 1) / Long.SIZE;
+  }
+
+  /**
+   * Returns the number the Violet rule counts cards below: the cards in the lower half of the
+   * numbers count, so the threshold is 4 in the standard game.
+   *
+   * @return the Violet threshold
+   */
+  public int violetThreshold() {
+    return (maxNumber + 2) / 2;
+  }
+
+  /**
+   * Returns whether the standard canvas rules score this universe exactly as they score the
+   * standard one, so palettes can be scored as single long masks by any {@link CanvasRule}.
+   *
+   * @return true if the highest number is that of the standard game
+   */
+  public boolean hasStandardNumbers() {
+    return maxNumber == STANDARD.maxNumber;
+  }
+
+  /**
+   * Returns the table of this universe's cards by ordinal, building it and the list of cards
+   * the first time. Ordinals of colors outside the universe have no card.
+   *
+   * @return the table, indexed by ordinal up to ordinalCount
+   */
+  private CardImpl[] table() {
+    CardImpl[] table = byOrdinal;
+    if (table == null) {
+      synchronized (this) {
+        table = byOrdinal;
+        if (table == null) {
+          table = new CardImpl[ordinalCount()];
+          List<CardImpl> all = new ArrayList<>(size());
+          for (int c = 0; c < numColors; c++) {
+            for (int num = 0; num <= maxNumber; num++) {
+              CardImpl card = CardImpl.ofUniverse(COLORS[c], num);
+              table[card.ordinal()] = card;
+              if (num > 0) {
+                all.add(card);
+              }
+            }
+          }
+          cards = Collections.unmodifiableList(all);
+          byOrdinal = table;
+        }
+      }
+    }
+    return table;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof CardUniverse)) {
+      return false;
+    }
+    CardUniverse other = (CardUniverse) obj;
+    return numColors == other.numColors && maxNumber == other.maxNumber;
+  }
+
+  @Override
+  public int hashCode() {
+    return numColors * 31 + maxNumber;
+  }
+
+  @Override
+  public String toString() {
+    return numColors + " colors x " + maxNumber + " numbers";
+  }
+}
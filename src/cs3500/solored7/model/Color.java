@@ -0,0 +1,75 @@
+package cs3500.solored.model.hw02;
+
+/**
+ * The five card colors of the SoloRed game, declared in rainbow order.
+ * Each color has a rank used to break ties between cards of equal number (red highest,
+ * violet lowest), and a card of that color on the canvas selects the color's scoring rule:
+ * <ul>
+ *   <li>R: the palette with the highest card wins</li>
+ *   <li>O: the palette with the most of one number wins</li>
+ *   <li>B: the palette with the most different colors wins</li>
+ *   <li>I: the palette with the longest run of consecutive numbers wins</li>
+ *   <li>V: the palette with the most cards below 4 wins</li>
+ * </ul>
+ * The name of each constant is the one-letter symbol used when printing cards.
+ */
+public enum Color {
+  R(5), O(4), B(3), I(2), V(1);
+
+  private static final Color[] BY_RANK = {V, I, B, O, R};
+
+  private final int rank;
+
+  Color(int rank) {
+    this.rank = rank;
+  }
+
+  /**
+   * Returns the rainbow rank of this color, from 1 for violet up to 5 for red.
+   *
+   * @return the rank of the color
+   */
+  public int rank() {
+    return rank;
+  }
+
+  /**
+   * Returns the color with the given rainbow rank.
+   *
+   * @param rank the rank, from 1 to 5
+   * @return the color with that rank
+   * @throws IllegalArgumentException if the rank is out of range
+   */
+  public static Color fromRank(int rank) {
+    if (rank < 1 || rank > BY_RANK.length) {
+      throw new IllegalArgumentException("Invalid color rank: " + rank);
+    }
+    return BY_RANK[rank - 1];
+  }
+
+  /**
+   * Returns the color printed with the given one-letter symbol.
+   *
+   * @param symbol the symbol of the color, such as "R"
+   * @return the matching color, or null if the symbol is not a color
+   */
+  public static Color fromSymbol(String symbol) {
+    if (symbol == null || symbol.length() != 1) {
+      return null;
+    }
+    switch (symbol.charAt(0)) {
+      case 'R':
+        return R;
+      case 'O':
+        return O;
+      case 'B':
+        return B;
+      case 'I':
+        return I;
+      case 'V':
+        return V;
+      default:
+        return null;
+    }
+  }
+}
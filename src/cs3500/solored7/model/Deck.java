@@ -0,0 +1,146 @@
+package cs3500.solored.model.hw02;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * The draw pile of a game, kept as an array of cards and a cursor to the next card to draw.
+ * Drawing only moves the cursor, so dealing a deck of n cards takes O(n) time instead of
+ * the O(n^2) of removing the first card of a list over and over. The cards before the cursor
+ * stay in place, which lets the last draw be taken back by moving the cursor back.
+ */
+public final class Deck {
+  private final CardImpl[] cards;
+  private int cursor;
+
+  /**
+   * Constructs a deck that deals the given cards in order.
+   *
+   * @param cards the cards of the deck, first card to draw first
+   * @throws IllegalArgumentException if cards is null
+   */
+  public Deck(List<CardImpl> cards) {
+    if (cards == null) {
+      throw new IllegalArgumentException("Deck cannot be null.");
+    }
+    this.cards = cards.toArray(new CardImpl[0]);
+    this.cursor = 0;
+  }
+
+  /**
+   * Constructs a deck that deals the given cards in order, after checking in one pass over
+   * them that none is null, repeated, or outside the given card universe. Repeats are found
+   * with a bitset indexed by card ordinal. The universe's own list of cards, and an unchanged
+   * list of them from getAllCards, are known to be valid, so they are copied without being
+   * checked.
+   *
+   * @param cards    the cards of the deck, first card to draw first
+   * @param universe the card universe of the game
+   * @return the deck
+   * @throws IllegalArgumentException if cards or universe is null, or cards has null or
+   *                                  repeated cards or cards outside the universe
+   */
+  public static Deck validated(List<CardImpl> cards, CardUniverse universe) {
+    if (universe == null) {
+      throw new IllegalArgumentException("Card universe cannot be null.");
+    }
+    Deck deck = new Deck(cards);
+    if (cards == universe.cards() || (cards instanceof UniverseCardList
+            && ((UniverseCardList) cards).isUnchangedListOf(universe))) {
+      return deck;
+    }
+    long[] seen = new long[universe.words()];
+    for (CardImpl card : deck.cards) {
+      if (card == null) {
+        throw new IllegalArgumentException("Deck contains duplicate or null cards.");
+      }
+      if (!universe.allows(card)) {
+        throw new IllegalArgumentException("Deck contains cards outside the card universe.");
+      }
+      int ordinal = card.ordinal();
+      int word = ordinal / Long.SIZE;
+      long bit = 1L << ordinal;
+      if ((seen[word] & bit) != 0) {
+        throw new IllegalArgumentException("Deck contains duplicate or null cards.");
+      }
+      seen[word] |= bit;
+    }
+    return deck;
+  }
+
+  /**
+   * Shuffles the cards that have not been drawn yet in place. The swaps are the same as
+   * those of Collections.shuffle, so a seeded java.util.Random deals the same order.
+   *
+   * @param random the random generator to shuffle with
+   * @throws IllegalArgumentException if random is null
+   */
+  public void shuffle(RandomGenerator random) {
+    if (random == null) {
+      throw new IllegalArgumentException("Random generator cannot be null.");
+    }
+    for (int i = cards.length - cursor; i > 1; i--) {
+      int j = cursor + random.nextInt(i);
+      CardImpl tmp = cards[cursor + i - 1];
+      cards[cursor + i - 1] = cards[j];
+      cards[j] = tmp;
+    }
+  }
+
+  /**
+   * Draws the next card.
+   *
+   * @return the card that was on top of the deck
+   * @throws IllegalStateException if the deck is empty
+   */
+  public CardImpl draw() {
+    if (cursor == cards.length) {
+      throw new IllegalStateException("The deck is empty.");
+    }
+    return cards[cursor++];
+  }
+
+  /**
+   * Puts the most recently drawn card back on top of the deck.
+   *
+   * @return the card that was put back
+   * @throws IllegalStateException if no card has been drawn
+   */
+  public CardImpl undraw() {
+    if (cursor == 0) {
+      throw new IllegalStateException("No card has been drawn.");
+    }
+    return cards[--cursor];
+  }
+
+  /**
+   * Returns the number of cards left to draw.
+   *
+   * @return the number of cards left
+   */
+  public int remaining() {
+    return cards.length - cursor;
+  }
+
+  /**
+   * Returns whether every card has been drawn.
+   *
+   * @return true if no cards are left
+   */
+  public boolean isEmpty() {
+    return cursor == cards.length;
+  }
+
+  /**
+   * Returns the cards left to draw, in the order they will be drawn. Later draws have no
+   * effect on the returned list.
+   *
+   * @return an unmodifiable copy of the cards left
+   */
+  public List<CardImpl> snapshot() {
+    return Collections.unmodifiableList(
+            Arrays.asList(Arrays.copyOfRange(cards, cursor, cards.length)));
+  }
+}
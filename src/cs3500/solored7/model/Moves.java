@@ -0,0 +1,132 @@
+package cs3500.solored.model.hw02;
+
+/**
+ * Encodes moves of the SoloRed game as single ints, so move lists can be kept in reusable
+ * int arrays. A palette move stores the palette index plus one in the high 16 bits and the
+ * card index in the low 16 bits; a canvas move stores only the card index, so its high bits
+ * are zero. Drawing is encoded as {@link #DRAW}, which is negative so it is never mistaken
+ * for a play.
+ */
+public final class Moves {
+  private static final int CARD_BITS = 16;
+  private static final int CARD_MASK = (1 << CARD_BITS) - 1;
+
+  /**
+   * The encoded move that draws cards for the hand.
+   */
+  public static final int DRAW = -1;
+
+  private Moves() {
+  }
+
+  /**
+   * Encodes playing a card from the hand to a palette.
+   *
+   * @param paletteIdx    the 0-based index of the palette
+   * @param cardIdxInHand the 0-based index of the card in the hand
+   * @return the encoded move
+   */
+  public static int palette(int paletteIdx, int cardIdxInHand) {
+    return ((paletteIdx + 1) << CARD_BITS) | cardIdxInHand;
+  }
+
+  /**
+   * Encodes playing a card from the hand to the canvas.
+   *
+   * @param cardIdxInHand the 0-based index of the card in the hand
+   * @return the encoded move
+   */
+  public static int canvas(int cardIdxInHand) {
+    return cardIdxInHand;
+  }
+
+  /**
+   * Returns whether an encoded move draws cards for the hand.
+   *
+   * @param move the encoded move
+   * @return true for {@link #DRAW}, false for a play
+   */
+  public static boolean isDraw(int move) {
+    return move == DRAW;
+  }
+
+  /**
+   * Returns whether an encoded move plays to the canvas.
+   *
+   * @param move the encoded move
+   * @return true for a canvas move, false for a palette move or a draw
+   */
+  public static boolean isCanvas(int move) {
+    return (move >>> CARD_BITS) == 0;
+  }
+
+  /**
+   * Returns the palette an encoded palette move plays to.
+   *
+   * @param move the encoded move
+   * @return the 0-based index of the palette, or -1 for a canvas move or a draw
+   */
+  public static int paletteIndex(int move) {
+    if (isDraw(move)) {
+      return -1;
+    }
+    return (move >>> CARD_BITS) - 1;
+  }
+
+  /**
+   * Returns the card an encoded move plays from the hand.
+   *
+   * @param move the encoded move
+   * @return the 0-based index of the card in the hand
+   */
+  public static int cardIndex(int move) {
+    return move & CARD_MASK;
+  }
+
+  /**
+   * Plays an encoded move on a game, calling playToPalette, playToCanvas or drawForHand.
+   *
+   * @param game the game to play on
+   * @param move the encoded move
+   * @throws IllegalStateException    if the move is illegal in the current state
+   * @throws IllegalArgumentException if the move refers to a palette or card that does not exist
+   */
+  public static void play(RedGameModel<?> game, int move) {
+    if (isDraw(move)) {
+      game.drawForHand();
+    } else if (isCanvas(move)) {
+      game.playToCanvas(cardIndex(move));
+    } else {
+      game.playToPalette(paletteIndex(move), cardIndex(move));
+    }
+  }
+
+  /**
+   * Returns the most moves that can be legal at once in a game with the given settings, which
+   * is a safe size for a move buffer.
+   *
+   * @param numPalettes the number of palettes in the game
+   * @param handSize    the maximum number of cards in the hand
+   * @return the size of a move buffer that can hold every legal move
+   */
+  public static int maxMoveCount(int numPalettes, int handSize) {
+    return (numPalettes + 1) * handSize;
+  }
+
+  /**
+   * Returns a readable form of an encoded move, using the 1-based indices of the text
+   * controller, such as "palette 2 1", "canvas 3" or "draw".
+   *
+   * @param move the encoded move
+   * @return the move as a command
+   */
+  public static String toString(int move) {
+    if (isDraw(move)) {
+      return "draw";
+    }
+    if (isCanvas(move)) {
+      return "canvas " + (cardIndex(move) + 1);
+    }
+    return "palette " + (paletteIndex(move) + 1) + " " + (cardIndex(move) + 1);
+  }
+}
@@ -0,0 +1,53 @@
+package cs3500.solored.model.hw02;
+
+/**
+ * Behaviors for a game of RedSeven that views and automated players can read without copying.
+ * getHand and getPalette of {@link RedGameModel} return a new list on every call; the
+ * accessors here read single cards of the hand and palettes in place instead, so rendering a
+ * frame or loading a game into a search allocates nothing. They see every later move, and
+ * agree with the copying methods at all times: handCard(j) is getHand().get(j), and
+ * paletteCard(i, j) is getPalette(i).get(j).
+ *
+ * @param <C> the type of cards used
+ */
+public interface ObservableRedGameModel<C extends Card> extends RedGameModel<C> {
+
+  /**
+   * Returns the number of cards in the hand.
+   *
+   * @return the size of the hand
+   * @throws IllegalStateException if the game has not started
+   */
+  int handSize();
+
+  /**
+   * Returns a card of the hand.
+   *
+   * @param cardIdxInHand a 0-index number representing the card in the hand
+   * @return the card
+   * @throws IllegalStateException    if the game has not started
+   * @throws IllegalArgumentException if the index is out of range
+   */
+  C handCard(int cardIdxInHand);
+
+  /**
+   * Returns the number of cards in a palette.
+   *
+   * @param paletteNum a 0-index number representing which palette
+   * @return the size of the palette
+   * @throws IllegalStateException    if the game has not started
+   * @throws IllegalArgumentException if the palette number is out of range
+   */
+  int paletteSize(int paletteNum);
+
+  /**
+   * Returns a card of a palette, in the order the cards were played.
+   *
+   * @param paletteNum a 0-index number representing which palette
+   * @param cardIdx    a 0-index number representing the card in the palette
+   * @return the card
+   * @throws IllegalStateException    if the game has not started
+   * @throws IllegalArgumentException if either index is out of range
+   */
+  C paletteCard(int paletteNum, int cardIdx);
+}
@@ -0,0 +1,359 @@
+package cs3500.solored.model.hw02;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The running scores of every palette in a game under all five canvas rules at once.
+ * Each palette is kept as a mask of card ordinals, which is enough to answer every rule:
+ * its highest set bit is the highest card, its groups of five bits are the number histogram,
+ * and folding it gives the color mask, number mask and count of cards below 4.
+ * Adding or removing a card rescores only that palette, so changing the canvas, or asking
+ * which palette would win under another canvas, only compares the stored scores.
+ *
+ * <p>A palette of the standard card universe is a single long. For a larger
+ * {@link CardUniverse} every palette takes {@code universe.words()} longs of one flat array,
+ * and is scored by the rules' bitset kernels instead.
+ *
+ * <p>With few palettes the winner is found by scanning the scores. From
+ * {@link #DEFAULT_TREE_THRESHOLD} palettes on, the board keeps a tournament tree of the
+ * palettes for every rule it has been asked about instead: the winner is read from the root,
+ * and a rescored palette replays only the matches on its path to the root of each tree. The
+ * first question about a rule builds its tree in O(P), so a canvas change costs O(P) once per
+ * rule rather than once per change.
+ */
+public final class PaletteScoreBoard {
+  /**
+   * The number of palettes from which a board tracks the winner with a tournament tree rather
+   * than a scan, the crossover measured by WinnerTrackingBenchmark.
+   */
+  public static final int DEFAULT_TREE_THRESHOLD = 128;
+
+  private static final int NUM_RULES = Color.values().length;
+
+  private final CanvasRule[] rules;
+  private final CardUniverse universe;
+  private final int words;
+  private final boolean standardNumbers;
+  private final int treeThreshold;
+  private long[] masks;
+  private long[] scores;
+  // trees[rule][1] is the winner under that rule, or trees[rule] is null if it is not kept;
+  // the palettes are the leaves from index treeLeaves, padded with -1
+  private final int[][] trees;
+  private int treeLeaves;
+
+  /**
+   * Constructs an empty score board that scores palettes of the standard card universe with
+   * the given rules. The rules are copied, so registering a rule in the given registry later
+   * has no effect on this board.
+   *
+   * @param rules the rule selected by each canvas color
+   * @throws IllegalArgumentException if rules is null
+   */
+  public PaletteScoreBoard(CanvasRules rules) {
+    this(rules, CardUniverse.STANDARD);
+  }
+
+  /**
+   * Constructs an empty score board that scores palettes of the given card universe with the
+   * given rules. The rules are copied, so registering a rule in the given registry later has
+   * no effect on this board.
+   *
+   * @param rules    the rule selected by each canvas color
+   * @param universe the card universe of the game
+   * @throws IllegalArgumentException if rules or universe is null
+   */
+  public PaletteScoreBoard(CanvasRules rules, CardUniverse universe) {
+    this(rules, universe, DEFAULT_TREE_THRESHOLD);
+  }
+
+  /**
+   * Constructs an empty score board that scores palettes of the given card universe with the
+   * given rules, and tracks the winner with a tournament tree from the given number of
+   * palettes on.
+   *
+   * @param rules         the rule selected by each canvas color
+   * @param universe      the card universe of the game
+   * @param treeThreshold the number of palettes from which to use a tournament tree
+   * @throws IllegalArgumentException if rules or universe is null
+   */
+  public PaletteScoreBoard(CanvasRules rules, CardUniverse universe, int treeThreshold) {
+    if (rules == null) {
+      throw new IllegalArgumentException("Canvas rules cannot be null.");
+    }
+    if (universe == null) {
+      throw new IllegalArgumentException("Card universe cannot be null.");
+    }
+    this.rules = new CanvasRule[NUM_RULES];
+    for (Color color : Color.values()) {
+      this.rules[color.ordinal()] = rules.get(color);
+    }
+    this.universe = universe;
+    this.words = universe.words();
+    this.standardNumbers = universe.hasStandardNumbers();
+    this.treeThreshold = treeThreshold;
+    this.masks = new long[0];
+    this.scores = new long[0];
+    this.trees = new int[NUM_RULES][];
+  }
+
+  /**
+   * Constructs a score board with the same rules and palettes as another one.
+   *
+   * @param other the score board to copy
+   * @throws IllegalArgumentException if other is null
+   */
+  public PaletteScoreBoard(PaletteScoreBoard other) {
+    if (other == null) {
+      throw new IllegalArgumentException("Score board cannot be null.");
+    }
+    this.rules = other.rules;
+    this.universe = other.universe;
+    this.words = other.words;
+    this.standardNumbers = other.standardNumbers;
+    this.treeThreshold = other.treeThreshold;
+    this.masks = other.masks.clone();
+    this.scores = other.scores.clone();
+    this.trees = new int[NUM_RULES][];
+    for (int rule = 0; rule < NUM_RULES; rule++) {
+      if (other.trees[rule] != null) {
+        this.trees[rule] = other.trees[rule].clone();
+      }
+    }
+    this.treeLeaves = other.treeLeaves;
+  }
+
+  /**
+   * Makes this board hold the same palettes and scores as another one, reusing its arrays when
+   * the number of palettes is the same. Both boards should score with the same rules and
+   * card universe.
+   *
+   * @param other the score board to copy
+   * @throws IllegalArgumentException if other is null
+   */
+  public void copyFrom(PaletteScoreBoard other) {
+    if (other == null) {
+      throw new IllegalArgumentException("Score board cannot be null.");
+    }
+    if (masks.length != other.masks.length) {
+      this.masks = new long[other.masks.length];
+      this.scores = new long[other.scores.length];
+    }
+    System.arraycopy(other.masks, 0, masks, 0, masks.length);
+    System.arraycopy(other.scores, 0, scores, 0, scores.length);
+    dropTrees();
+  }
+
+  /**
+   * Clears the board to the given number of empty palettes.
+   *
+   * @param numPalettes the number of palettes
+   */
+  public void reset(int numPalettes) {
+    this.masks = new long[numPalettes * words];
+    this.scores = new long[numPalettes * NUM_RULES];
+    dropTrees();
+    for (int i = 0; i < numPalettes; i++) {
+      rescore(i);
+    }
+  }
+
+  /**
+   * Returns the number of palettes on the board.
+   *
+   * @return the number of palettes
+   */
+  public int size() {
+    return masks.length / words;
+  }
+
+  /**
+   * Replaces the cards of a palette and rescores it under every rule.
+   *
+   * @param paletteIdx the index of the palette
+   * @param mask       the cards now in the palette
+   * @throws IllegalStateException if palettes of this board do not fit in a long
+   */
+  public void setPalette(int paletteIdx, long mask) {
+    checkSingleWord();
+    masks[paletteIdx] = mask;
+    rescore(paletteIdx);
+  }
+
+  /**
+   * Replaces the cards of a palette with the given cards and rescores it under every rule.
+   * This works for palettes of any card universe.
+   *
+   * @param paletteIdx the index of the palette
+   * @param cards      the cards now in the palette
+   */
+  public void setPalette(int paletteIdx, List<CardImpl> cards) {
+    int offset = paletteIdx * words;
+    Arrays.fill(masks, offset, offset + words, 0L);
+    for (int i = 0; i < cards.size(); i++) {
+      int ordinal = cards.get(i).ordinal();
+      masks[offset + ordinal / Long.SIZE] |= 1L << ordinal;
+    }
+    rescore(paletteIdx);
+  }
+
+  /**
+   * Adds a card to a palette and rescores it under every rule.
+   *
+   * @param paletteIdx the index of the palette
+   * @param ordinal    the ordinal of the card
+   */
+  public void addCard(int paletteIdx, int ordinal) {
+    masks[paletteIdx * words + ordinal / Long.SIZE] |= 1L << ordinal;
+    rescore(paletteIdx);
+  }
+
+  /**
+   * Removes a card from a palette and rescores it under every rule.
+   *
+   * @param paletteIdx the index of the palette
+   * @param ordinal    the ordinal of the card
+   */
+  public void removeCard(int paletteIdx, int ordinal) {
+    masks[paletteIdx * words + ordinal / Long.SIZE] &= ~(1L << ordinal);
+    rescore(paletteIdx);
+  }
+
+  /**
+   * Returns the cards in a palette.
+   *
+   * @param paletteIdx the index of the palette
+   * @return a mask with bit i set when the card with ordinal i is in the palette
+   * @throws IllegalStateException if palettes of this board do not fit in a long
+   */
+  public long mask(int paletteIdx) {
+    checkSingleWord();
+    return masks[paletteIdx];
+  }
+
+  /**
+   * Returns the packed score of a palette under the rule of the given canvas color.
+   *
+   * @param paletteIdx the index of the palette
+   * @param rule       the color of the canvas
+   * @return the packed score of the palette
+   */
+  public long score(int paletteIdx, Color rule) {
+    return scores[paletteIdx * NUM_RULES + rule.ordinal()];
+  }
+
+  /**
+   * Returns the palette that wins under the rule of the given canvas color. Among palettes
+   * with equal scores, the first one wins.
+   *
+   * @param rule the color of the canvas
+   * @return the index of the winning palette, or -1 if there are no palettes
+   */
+  public int winner(Color rule) {
+    int palettes = scores.length / NUM_RULES;
+    if (palettes >= treeThreshold) {
+      int[] tree = trees[rule.ordinal()];
+      if (tree == null) {
+        tree = buildTree(rule.ordinal(), palettes);
+      }
+      return tree[1];
+    }
+    long highestScore = 0L;
+    int winningIndex = -1;
+    for (int i = rule.ordinal(), p = 0; i < scores.length; i += NUM_RULES, p++) {
+      if (winningIndex < 0 || scores[i] > highestScore) {
+        highestScore = scores[i];
+        winningIndex = p;
+      }
+    }
+    return winningIndex;
+  }
+
+  /**
+   * Rescores a palette under every rule.
+   *
+   * @param paletteIdx the index of the palette
+   */
+  private void rescore(int paletteIdx) {
+    int base = paletteIdx * NUM_RULES;
+    if (standardNumbers) {
+      long mask = masks[paletteIdx];
+      for (int rule = 0; rule < NUM_RULES; rule++) {
+        scores[base + rule] = rules[rule].score(mask);
+      }
+    } else {
+      int offset = paletteIdx * words;
+      for (int rule = 0; rule < NUM_RULES; rule++) {
+        scores[base + rule] = rules[rule].score(masks, offset, universe);
+      }
+    }
+    for (int rule = 0; rule < NUM_RULES; rule++) {
+      int[] tree = trees[rule];
+      if (tree != null) {
+        for (int node = (treeLeaves + paletteIdx) >> 1; node > 0; node >>= 1) {
+          tree[node] = match(rule, tree[2 * node], tree[2 * node + 1]);
+        }
+      }
+    }
+  }
+
+  /**
+   * Builds and keeps the tournament tree of every palette under a rule.
+   *
+   * @param rule     the ordinal of the rule
+   * @param palettes the number of palettes
+   * @return the tree
+   */
+  private int[] buildTree(int rule, int palettes) {
+    treeLeaves = palettes <= 1 ? 1 : Integer.highestOneBit(palettes - 1) << 1;
+    int[] tree = new int[2 * treeLeaves];
+    for (int i = 0; i < treeLeaves; i++) {
+      tree[treeLeaves + i] = i < palettes ? i : -1;
+    }
+    for (int node = treeLeaves - 1; node > 0; node--) {
+      tree[node] = match(rule, tree[2 * node], tree[2 * node + 1]);
+    }
+    trees[rule] = tree;
+    return tree;
+  }
+
+  /**
+   * Stops keeping every tournament tree, after the palettes were replaced wholesale.
+   */
+  private void dropTrees() {
+    for (int rule = 0; rule < NUM_RULES; rule++) {
+      trees[rule] = null;
+    }
+  }
+
+  /**
+   * Plays one match of a tournament tree. The left palette always has the lower index, so it
+   * wins ties, as the first palette does in a scan.
+   *
+   * @param rule  the ordinal of the rule of the tree
+   * @param left  the winner of the left subtree, or -1 if it has no palettes
+   * @param right the winner of the right subtree, or -1 if it has no palettes
+   * @return the winner of the match
+   */
+  private int match(int rule, int left, int right) {
+    if (right < 0) {
+      return left;
+    }
+    if (left < 0) {
+      return right;
+    }
+    return scores[right * NUM_RULES + rule] > scores[left * NUM_RULES + rule] ? right : left;
+  }
+
+  /**
+   * Checks that every palette of this board is a single long.
+   *
+   * @throws IllegalStateException if palettes take more than one long
+   */
+  private void checkSingleWord() {
+    if (words != 1) {
+      throw new IllegalStateException("Palettes of this card universe do not fit in a long.");
+    }
+  }
+}
@@ -0,0 +1,494 @@
+package cs3500.solored.model.hw02;
+
+import java.util.List;
+
+/**
+ * Allocation-free scoring kernels for the five canvas rules of the SoloRed game.
+ *
+ * <p>A palette is scored as a set of card ordinals packed into a long (bit i is set when the
+ * card with ordinal i is in the palette), and every score is returned as a single packed long:
+ * the main score of the rule is in the high bits and the tie-breaker card, plus one, is in the
+ * low 16 bits. A palette beats another exactly when its packed score is greater, and a palette
+ * with no tie-breaker card only ties with palettes that have none either. Because card
+ * ordinals are ordered by strength, the tie-breaker card is always the highest set bit of the
+ * set it is chosen from.
+ *
+ * <p>Palettes of a larger {@link CardUniverse} are scored the same way from a bitset of
+ * {@code universe.words()} longs, by the kernels that also take the universe.
+ */
+public final class PaletteScorer {
+  private static final int NUM_COLORS = Color.values().length;
+  private static final int MAX_NUMBER = 7;
+  private static final long COLOR_GROUP = (1L << NUM_COLORS) - 1;
+  private static final long BELOW_FOUR = (1L << (4 * NUM_COLORS)) - 1;
+  private static final long ALL_NUMBERS = (1L << ((MAX_NUMBER + 1) * NUM_COLORS)) - 1;
+  // Bit (n * NUM_COLORS) for every number n, which spreads a color mask over every number
+  private static final long EVERY_NUMBER = ALL_NUMBERS / COLOR_GROUP;
+  private static final int TIE_BREAKER_BITS = 16;
+  private static final long TIE_BREAKER_MASK = (1L << TIE_BREAKER_BITS) - 1;
+  private static final long ONE_POINT = 1L << TIE_BREAKER_BITS;
+  private static final byte[] LONGEST_RUN = buildLongestRunTable();
+
+  private PaletteScorer() {
+  }
+
+  /**
+   * Computes the packed score of a palette under the standard rule of the given canvas color.
+   *
+   * @param rule the color of the canvas
+   * @param mask the cards in the palette
+   * @return the packed score of the palette
+   */
+  public static long score(Color rule, long mask) {
+    return StandardCanvasRule.forColor(rule).score(mask);
+  }
+
+  /**
+   * Computes the packed score of a palette under the standard rule of the given canvas color.
+   *
+   * @param rule    the color of the canvas
+   * @param palette the cards in the palette
+   * @return the packed score of the palette
+   */
+  public static long score(Color rule, List<CardImpl> palette) {
+    return score(rule, maskOf(palette));
+  }
+
+  /**
+   * Returns the set of cards in a list as a mask over card ordinals.
+   *
+   * @param cards the cards
+   * @return a mask with bit i set when the card with ordinal i is in the list
+   */
+  public static long maskOf(List<CardImpl> cards) {
+    long mask = 0L;
+    for (int i = 0; i < cards.size(); i++) {
+      mask |= 1L << cards.get(i).ordinal();
+    }
+    return mask;
+  }
+
+  /**
+   * Scores a palette under the Red rule (highest card wins).
+   *
+   * @param mask the cards in the palette
+   * @return the packed score of the palette
+   */
+  public static long scoreRed(long mask) {
+    return pack(0, mask);
+  }
+
+  /**
+   * Scores a palette under the Orange rule (most of one number wins, then the higher number).
+   *
+   * @param mask the cards in the palette
+   * @return the packed score of the palette
+   */
+  public static long scoreOrange(long mask) {
+    int maxCount = 0;
+    int maxNumber = 0;
+    // Visit only the numbers present, highest first, so the higher number keeps a tie
+    for (long rest = mask & ALL_NUMBERS; rest != 0L; ) {
+      int num = (63 - Long.numberOfLeadingZeros(rest)) / NUM_COLORS;
+      int count = Long.bitCount(rest & numberGroup(num));
+      rest &= ~numberGroup(num);
+      if (count > maxCount) {
+        maxCount = count;
+        maxNumber = num;
+      }
+    }
+    return pack(maxCount * (MAX_NUMBER + 1) + maxNumber, mask & numberGroup(maxNumber));
+  }
+
+  /**
+   * Scores a palette under the Blue rule (most different colors wins).
+   *
+   * @param mask the cards in the palette
+   * @return the packed score of the palette
+   */
+  public static long scoreBlue(long mask) {
+    return pack(Integer.bitCount(colorMask(mask)), mask);
+  }
+
+  /**
+   * Scores a palette under the Indigo rule (longest run of consecutive numbers wins).
+   *
+   * @param mask the cards in the palette
+   * @return the packed score of the palette
+   */
+  public static long scoreIndigo(long mask) {
+    return pack(LONGEST_RUN[numberMask(mask)], mask);
+  }
+
+  /**
+   * Scores a palette under the Violet rule (most cards below 4 wins).
+   *
+   * @param mask the cards in the palette
+   * @return the packed score of the palette
+   */
+  public static long scoreViolet(long mask) {
+    long belowFour = mask & BELOW_FOUR;
+    return pack(Long.bitCount(belowFour), belowFour);
+  }
+
+  /**
+   * Returns which of the given cards, each added alone, bring a palette to at least a score
+   * under the Red rule.
+   *
+   * @param mask      the cards in the palette
+   * @param cards     the cards to try
+   * @param threshold the packed score to reach
+   * @return the cards that reach the threshold
+   */
+  public static long reachingRed(long mask, long cards, long threshold) {
+    return reaching(scoreRed(mask), threshold, cards);
+  }
+
+  /**
+   * Returns which of the given cards, each added alone, bring a palette to at least a score
+   * under the Orange rule.
+   *
+   * @param mask      the cards in the palette
+   * @param cards     the cards to try
+   * @param threshold the packed score to reach
+   * @return the cards that reach the threshold
+   */
+  public static long reachingOrange(long mask, long cards, long threshold) {
+    long score = scoreOrange(mask);
+    long reaching = (score >= threshold) ? cards : 0L;
+    // A new card only changes the score when its number becomes the one counted
+    for (long rest = cards & ~mask & ALL_NUMBERS; rest != 0L; ) {
+      int num = (63 - Long.numberOfLeadingZeros(rest)) / NUM_COLORS;
+      long group = numberGroup(num);
+      long added = rest & group;
+      rest &= ~group;
+      int count = Long.bitCount(mask & group) + 1;
+      int main = count * (MAX_NUMBER + 1) + num;
+      if (main > mainScore(score)) {
+        reaching = (reaching & ~added) | reaching(pack(main, mask & group), threshold, added);
+      }
+    }
+    return reaching;
+  }
+
+  /**
+   * Returns which of the given cards, each added alone, bring a palette to at least a score
+   * under the Blue rule.
+   *
+   * @param mask      the cards in the palette
+   * @param cards     the cards to try
+   * @param threshold the packed score to reach
+   * @return the cards that reach the threshold
+   */
+  public static long reachingBlue(long mask, long cards, long threshold) {
+    long score = scoreBlue(mask);
+    long newColors = cards & ~(colorMask(mask) * EVERY_NUMBER);
+    return reaching(score, threshold, cards & ~newColors)
+            | reaching(score + ONE_POINT, threshold, newColors);
+  }
+
+  /**
+   * Returns which of the given cards, each added alone, bring a palette to at least a score
+   * under the Indigo rule.
+   *
+   * @param mask      the cards in the palette
+   * @param cards     the cards to try
+   * @param threshold the packed score to reach
+   * @return the cards that reach the threshold
+   */
+  public static long reachingIndigo(long mask, long cards, long threshold) {
+    int numbers = numberMask(mask);
+    long score = pack(LONGEST_RUN[numbers], mask);
+    long reaching = reaching(score, threshold, cards);
+    // A card of a new number may join or extend runs
+    for (long rest = cards & ~mask & ALL_NUMBERS; rest != 0L; ) {
+      int num = (63 - Long.numberOfLeadingZeros(rest)) / NUM_COLORS;
+      long group = numberGroup(num);
+      long added = rest & group;
+      rest &= ~group;
+      if ((numbers & (1 << num)) == 0) {
+        reaching = (reaching & ~added)
+                | reaching(pack(LONGEST_RUN[numbers | (1 << num)], mask), threshold, added);
+      }
+    }
+    return reaching;
+  }
+
+  /**
+   * Returns which of the given cards, each added alone, bring a palette to at least a score
+   * under the Violet rule.
+   *
+   * @param mask      the cards in the palette
+   * @param cards     the cards to try
+   * @param threshold the packed score to reach
+   * @return the cards that reach the threshold
+   */
+  public static long reachingViolet(long mask, long cards, long threshold) {
+    long score = scoreViolet(mask);
+    long added = cards & ~mask & BELOW_FOUR;
+    return ((score >= threshold) ? cards & ~added : 0L)
+            | reaching(score + ONE_POINT, threshold, added);
+  }
+
+  /**
+   * Scores a palette of any card universe under the Red rule (highest card wins).
+   *
+   * @param bits     the array holding the palette's bitset
+   * @param offset   the index of the palette's first word
+   * @param universe the card universe of the game
+   * @return the packed score of the palette
+   */
+  public static long scoreRed(long[] bits, int offset, CardUniverse universe) {
+    return packOrdinal(0, highestOrdinal(bits, offset, universe.words()));
+  }
+
+  /**
+   * Scores a palette of any card universe under the Orange rule (most of one number wins, then
+   * the higher number).
+   *
+   * @param bits     the array holding the palette's bitset
+   * @param offset   the index of the palette's first word
+   * @param universe the card universe of the game
+   * @return the packed score of the palette
+   */
+  public static long scoreOrange(long[] bits, int offset, CardUniverse universe) {
+    int maxNumber = universe.maxNumber();
+    int maxCount = 0;
+    int bestNumber = 0;
+    int bestGroup = 0;
+    for (int num = 0; num <= maxNumber; num++) {
+      int group = numberGroup(bits, offset, num);
+      int count = Integer.bitCount(group);
+      if (count > 0 && count >= maxCount) {
+        maxCount = count;
+        bestNumber = num;
+        bestGroup = group;
+      }
+    }
+    int tieBreaker = bestGroup == 0
+            ? -1 : bestNumber * NUM_COLORS + 31 - Integer.numberOfLeadingZeros(bestGroup);
+    return packOrdinal(maxCount * (maxNumber + 1) + bestNumber, tieBreaker);
+  }
+
+  /**
+   * Scores a palette of any card universe under the Blue rule (most different colors wins).
+   *
+   * @param bits     the array holding the palette's bitset
+   * @param offset   the index of the palette's first word
+   * @param universe the card universe of the game
+   * @return the packed score of the palette
+   */
+  public static long scoreBlue(long[] bits, int offset, CardUniverse universe) {
+    int colors = 0;
+    for (int num = 0; num <= universe.maxNumber(); num++) {
+      colors |= numberGroup(bits, offset, num);
+    }
+    return packOrdinal(Integer.bitCount(colors), highestOrdinal(bits, offset, universe.words()));
+  }
+
+  /**
+   * Scores a palette of any card universe under the Indigo rule (longest run of consecutive
+   * numbers wins).
+   *
+   * @param bits     the array holding the palette's bitset
+   * @param offset   the index of the palette's first word
+   * @param universe the card universe of the game
+   * @return the packed score of the palette
+   */
+  public static long scoreIndigo(long[] bits, int offset, CardUniverse universe) {
+    int longestRun = 0;
+    int run = 0;
+    for (int num = 0; num <= universe.maxNumber(); num++) {
+      run = numberGroup(bits, offset, num) == 0 ? 0 : run + 1;
+      longestRun = Math.max(longestRun, run);
+    }
+    return packOrdinal(longestRun, highestOrdinal(bits, offset, universe.words()));
+  }
+
+  /**
+   * Scores a palette of any card universe under the Violet rule (most cards below the
+   * universe's Violet threshold wins).
+   *
+   * @param bits     the array holding the palette's bitset
+   * @param offset   the index of the palette's first word
+   * @param universe the card universe of the game
+   * @return the packed score of the palette
+   */
+  public static long scoreViolet(long[] bits, int offset, CardUniverse universe) {
+    int limit = universe.violetThreshold() * NUM_COLORS;
+    int fullWords = limit / Long.SIZE;
+    int count = 0;
+    int tieBreaker = -1;
+    for (int w = 0; w < fullWords; w++) {
+      count += Long.bitCount(bits[offset + w]);
+      if (bits[offset + w] != 0) {
+        tieBreaker = w * Long.SIZE + 63 - Long.numberOfLeadingZeros(bits[offset + w]);
+      }
+    }
+    int rest = limit % Long.SIZE;
+    if (rest != 0) {
+      long last = bits[offset + fullWords] & ((1L << rest) - 1);
+      count += Long.bitCount(last);
+      if (last != 0) {
+        tieBreaker = fullWords * Long.SIZE + 63 - Long.numberOfLeadingZeros(last);
+      }
+    }
+    return packOrdinal(count, tieBreaker);
+  }
+
+  /**
+   * Returns the main score stored in a packed score.
+   *
+   * @param packedScore a score returned by this class
+   * @return the main score of the rule
+   */
+  public static int mainScore(long packedScore) {
+    return (int) (packedScore >>> TIE_BREAKER_BITS);
+  }
+
+  /**
+   * Returns the ordinal of the tie-breaker card stored in a packed score.
+   *
+   * @param packedScore a score returned by this class
+   * @return the ordinal of the tie-breaker card, or -1 if there is none
+   */
+  public static int tieBreakerOrdinal(long packedScore) {
+    return (int) (packedScore & ((1 << TIE_BREAKER_BITS) - 1)) - 1;
+  }
+
+  /**
+   * Returns the colors present in a set of cards.
+   *
+   * @param mask the cards
+   * @return a mask with bit (rank - 1) set for every color present
+   */
+  static int colorMask(long mask) {
+    // Fold the groups of five bits onto the lowest one: eight groups, then four, then two
+    long colors = mask | (mask >>> (4 * NUM_COLORS));
+    colors |= colors >>> (2 * NUM_COLORS);
+    colors |= colors >>> NUM_COLORS;
+    return (int) (colors & COLOR_GROUP);
+  }
+
+  /**
+   * Returns the numbers present in a set of cards.
+   *
+   * @param mask the cards
+   * @return a mask with bit n set for every number n present
+   */
+  static int numberMask(long mask) {
+    int numbers = 0;
+    for (long rest = mask & ALL_NUMBERS; rest != 0L; ) {
+      int num = (63 - Long.numberOfLeadingZeros(rest)) / NUM_COLORS;
+      numbers |= 1 << num;
+      rest &= ~numberGroup(num);
+    }
+    return numbers;
+  }
+
+  /**
+   * Returns the mask of all cards with the given number.
+   *
+   * @param num the number
+   * @return the mask of the five cards with that number
+   */
+  private static long numberGroup(int num) {
+    return COLOR_GROUP << (num * NUM_COLORS);
+  }
+
+  /**
+   * Returns which cards reach a threshold when each joins the tie-breaker set of a score, so
+   * that the card scores the main score of that score and the higher of its tie-breaker and
+   * the card itself.
+   *
+   * @param score     the packed score the cards join
+   * @param threshold the packed score to reach
+   * @param cards     the cards
+   * @return the cards that reach the threshold
+   */
+  private static long reaching(long score, long threshold, long cards) {
+    if (score >= threshold) {
+      return cards;
+    }
+    // Only a tie-breaker card at least this high, plus one, can reach the threshold
+    long needed = threshold - (score & ~TIE_BREAKER_MASK);
+    return (needed > Long.SIZE) ? 0L : cards & (-1L << (needed - 1));
+  }
+
+  /**
+   * Packs a main score and the highest card of a tie-breaker set into one comparable long.
+   *
+   * @param mainScore     the main score of the palette
+   * @param tieBreakerSet the cards the tie-breaker is chosen from
+   * @return the packed score
+   */
+  private static long pack(int mainScore, long tieBreakerSet) {
+    int tieBreaker = 64 - Long.numberOfLeadingZeros(tieBreakerSet);
+    return ((long) mainScore << TIE_BREAKER_BITS) | tieBreaker;
+  }
+
+  /**
+   * Returns the colors of the cards with the given number in a bitset, whose five bits may
+   * straddle two words.
+   *
+   * @param bits   the array holding the bitset
+   * @param offset the index of the bitset's first word
+   * @param num    the number
+   * @return a mask with bit (rank - 1) set for every color present with that number
+   */
+  private static int numberGroup(long[] bits, int offset, int num) {
+    int first = num * NUM_COLORS;
+    int word = offset + first / Long.SIZE;
+    int shift = first % Long.SIZE;
+    long group = bits[word] >>> shift;
+    if (shift > Long.SIZE - NUM_COLORS) {
+      group |= bits[word + 1] << (Long.SIZE - shift);
+    }
+    return (int) (group & COLOR_GROUP);
+  }
+
+  /**
+   * Returns the highest ordinal set in a bitset.
+   *
+   * @param bits   the array holding the bitset
+   * @param offset the index of the bitset's first word
+   * @param words  the number of words in the bitset
+   * @return the highest ordinal, or -1 if the bitset is empty
+   */
+  private static int highestOrdinal(long[] bits, int offset, int words) {
+    for (int w = words - 1; w >= 0; w--) {
+      if (bits[offset + w] != 0) {
+        return w * Long.SIZE + 63 - Long.numberOfLeadingZeros(bits[offset + w]);
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Packs a main score and the ordinal of a tie-breaker card into one comparable long.
+   *
+   * @param mainScore  the main score of the palette
+   * @param tieBreaker the ordinal of the tie-breaker card, or -1 if there is none
+   * @return the packed score
+   */
+  private static long packOrdinal(int mainScore, int tieBreaker) {
+    return ((long) mainScore << TIE_BREAKER_BITS) | (tieBreaker + 1);
+  }
+
+  /**
+   * Builds the table of the longest run of consecutive set bits for every number mask.
+   *
+   * @return the lookup table, indexed by number mask
+   */
+  private static byte[] buildLongestRunTable() {
+    byte[] table = new byte[1 << (MAX_NUMBER + 1)];
+    for (int numbers = 0; numbers < table.length; numbers++) {
+      int longestRun = 0;
+      for (int run = numbers; run != 0; run &= run << 1) {
+        longestRun++;
+      }
+      table[numbers] = (byte) longestRun;
+    }
+    return table;
+  }
+}
@@ -1,9 +1,14 @@
 package cs3500.solored.model.hw04;
 
+import cs3500.solored.model.hw02.CanvasRules;
 import cs3500.solored.model.hw02.SoloRedGameModel;
 import cs3500.solored.model.hw02.CardImpl;
+import cs3500.solored.model.hw02.CardUniverse;
 import cs3500.solored.model.hw02.RedGameModel;
 
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
 /**
  * Factory class for creating different game models in the SoloRed game.
  */
@@ -12,16 +17,71 @@ public class RedGameCreator {
   /**
    * Creates a game model based on the provided game type.
    *
-   * @param type the type of game to create (BASIC or ADVANCED).
+   * @param type the type of game to create (BASIC, ADVANCED, or BITBOARD).
    * @return the created game model.
    * @throws IllegalArgumentException if the game type is unknown.
    */
   public static RedGameModel<CardImpl> createGame(GameType type) {
+    return createGame(type, new CanvasRules());
+  }
+
+  /**
+   * Creates a game model based on the provided game type that scores palettes with the given
+   * canvas rules.
+   *
+   * @param type  the type of game to create (BASIC, ADVANCED, or BITBOARD).
+   * @param rules the rule selected by each canvas color.
+   * @return the created game model.
+   * @throws IllegalArgumentException if the game type is unknown or rules is null.
+   */
+  public static RedGameModel<CardImpl> createGame(GameType type, CanvasRules rules) {
+    return createGame(type, rules, new SplittableRandom());
+  }
+
+  /**
+   * Creates a game model based on the provided game type that scores palettes with the given
+   * canvas rules and shuffles with the given random generator, so a seeded generator deals the
+   * same game every time. Any generator works, including java.util.Random; a splittable one
+   * such as SplittableRandom lets parallel simulations fork an independent stream per game.
+   *
+   * @param type   the type of game to create (BASIC, ADVANCED, or BITBOARD).
+   * @param rules  the rule selected by each canvas color.
+   * @param random the random generator used for shuffling.
+   * @return the created game model.
+   * @throws IllegalArgumentException if the game type is unknown or rules or random is null.
+   */
+  public static RedGameModel<CardImpl> createGame(GameType type, CanvasRules rules,
+                                                  RandomGenerator random) {
+    return createGame(type, rules, random, CardUniverse.STANDARD);
+  }
+
+  /**
+   * Creates a game model based on the provided game type that scores palettes with the given
+   * canvas rules, shuffles with the given random generator, and plays with the cards of the
+   * given universe.
+   *
+   * @param type     the type of game to create (BASIC, ADVANCED, or BITBOARD).
+   * @param rules    the rule selected by each canvas color.
+   * @param random   the random generator used for shuffling.
+   * @param universe the card universe to play with.
+   * @return the created game model.
+   * @throws IllegalArgumentException if the game type is unknown, any argument is null, or a
+   *                                  BITBOARD game is asked for a universe other than the
+   *                                  standard one.
+   */
+  public static RedGameModel<CardImpl> createGame(GameType type, CanvasRules rules,
+                                                  RandomGenerator random,
+                                                  CardUniverse universe) {
     switch (type) {
       case BASIC:
-        return new SoloRedGameModel();
+        return new SoloRedGameModel(random, rules, universe);
       case ADVANCED:
-        return new AdvancedSoloRedGameModel();
+        return new AdvancedSoloRedGameModel(random, rules, universe);
+      case BITBOARD:
+        if (!CardUniverse.STANDARD.equals(universe)) {
+          throw new IllegalArgumentException("Bitboard games use the standard card universe.");
+        }
+        return new BitboardSoloRedGameModel(random, rules);
       default:
         throw new IllegalArgumentException("Unknown game type");
     }
@@ -29,8 +89,9 @@ public class RedGameCreator {
 
   /**
    * Enum representing the different types of games that can be created.
+   * BITBOARD plays by the BASIC rules using a compact bitmask representation of the game.
    */
   public enum GameType {
-    BASIC, ADVANCED
+    BASIC, ADVANCED, BITBOARD
   }
 }
\ No newline at end of file
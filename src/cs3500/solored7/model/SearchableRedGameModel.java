@@ -0,0 +1,72 @@
+package cs3500.solored.model.hw02;
+
+/**
+ * Behaviors for a game of RedSeven that can be searched by automated players.
+ * The move queries here are free of side effects on the game and never throw for a move that
+ * would be illegal, so players can test and enumerate moves in tight loops instead of calling
+ * the operations of {@link RedGameModel} and catching their exceptions.
+ * Every successful operation can also be undone in place, so a search can explore a branch
+ * and back out of it without copying the game.
+ * Moves are encoded as ints by {@link Moves}.
+ *
+ * @param <C> the type of cards used
+ */
+public interface SearchableRedGameModel<C extends Card> extends RedGameModel<C> {
+
+  /**
+   * Returns whether playToPalette would succeed with the given arguments.
+   *
+   * @param paletteIdx    a 0-index number representing which palette to play to
+   * @param cardIdxInHand a 0-index number representing the card to play from the hand
+   * @return true if the move is legal, false if playToPalette would throw
+   */
+  boolean canPlayToPalette(int paletteIdx, int cardIdxInHand);
+
+  /**
+   * Returns whether playToCanvas would succeed with the given argument.
+   *
+   * @param cardIdxInHand a 0-index number representing the card to play from the hand
+   * @return true if the move is legal, false if playToCanvas would throw
+   */
+  boolean canPlayToCanvas(int cardIdxInHand);
+
+  /**
+   * Fills the given buffer with every legal palette and canvas move in the current state,
+   * palette moves first. Drawing is not listed, since drawForHand is legal whenever the game
+   * has started and is not over.
+   *
+   * @param moves the buffer to fill, at least {@link Moves#maxMoveCount} long
+   * @return the number of moves written to the start of the buffer, 0 if the game has not
+   *         started or is over
+   * @throws IllegalArgumentException if the buffer is too small to hold every legal move
+   */
+  int legalMoves(int[] moves);
+
+  /**
+   * Plays an encoded move, as playToPalette, playToCanvas or drawForHand would.
+   *
+   * @param move the move, encoded by {@link Moves}
+   * @throws IllegalStateException    if the move is illegal in the current state
+   * @throws IllegalArgumentException if the move refers to a palette or card that does not exist
+   */
+  default void makeMove(int move) {
+    Moves.play(this, move);
+  }
+
+  /**
+   * Reverts the most recent successful call to playToPalette, playToCanvas or drawForHand,
+   * restoring the hand, palettes, canvas, deck and game over status exactly as they were
+   * before that call. Calls can be undone one after another back to the start of the game.
+   *
+   * @throws IllegalStateException if the game has not started or there is nothing to undo
+   */
+  void undo();
+
+  /**
+   * Returns how many operations can currently be undone.
+   *
+   * @return the number of operations since the start of the game that have not been undone
+   * @throws IllegalStateException if the game has not started
+   */
+  int undoDepth();
+}
@@ -1,22 +1,31 @@
 package cs3500.solored.model.hw02;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.Random;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Implementation of the RedGameModel for the SoloRed game.
  * Handles the game state and operations.
  */
-public class SoloRedGameModel implements RedGameModel<CardImpl> {
-  protected final Random random;
-  protected List<CardImpl> deck;
+public class SoloRedGameModel implements SearchableRedGameModel<CardImpl>,
+        ObservableRedGameModel<CardImpl> {
+  // Every undo record is UNDO_RECORD ints: the kind of operation and the flags before it,
+  // an operation-specific value, the index in the hand, and the subclass's extra state
+  private static final int UNDO_RECORD = 4;
+  private static final int UNDO_PALETTE = 0;
+  private static final int UNDO_CANVAS = 1;
+  private static final int UNDO_DRAW = 2;
+  private static final int FLAG_CAN_PLAY_TO_CANVAS = 1 << 4;
+  private static final int FLAG_GAME_OVER = 1 << 5;
+  private static final int FLAG_GAME_WON = 1 << 6;
+
+  protected final RandomGenerator random;
+  private final CardUniverse universe;
+  private final PaletteScoreBoard scoreBoard;
+  protected Deck deck;
   protected List<List<CardImpl>> palettes;
   protected List<CardImpl> hand;
   protected CardImpl canvas;
@@ -25,30 +34,73 @@ public class SoloRedGameModel implements RedGameModel<CardImpl> {
   protected boolean gameWon;
   protected boolean canPlayToCanvas;
   protected int maxHandSize;
+  private int cachedWinningIndex;
+  private long scoreCacheHits;
+  private long scoreCacheMisses;
+  private int[] undoStack;
+  private int undoSize;
 
   /**
    * Default constructor initializes the model in a state ready to start the game.
    */
   public SoloRedGameModel() {
-    this(new Random());
+    this(new SplittableRandom());
   }
 
   /**
-   * Constructor that initializes the model with a specific Random object for shuffling.
+   * Constructor that initializes the model with a specific random generator for shuffling.
    *
-   * @param rand the Random object used for shuffling
+   * @param rand the random generator used for shuffling
    * @throws IllegalArgumentException if rand is null
    */
-  public SoloRedGameModel(Random rand) {
+  public SoloRedGameModel(RandomGenerator rand) {
+    this(rand, new CanvasRules());
+  }
+
+  /**
+   * Constructor that initializes the model with a specific random generator for shuffling and
+   * the canvas rules to score palettes with. The rules are copied, so registering a rule in
+   * the given registry later has no effect on this model.
+   *
+   * @param rand  the random generator used for shuffling
+   * @param rules the rule selected by each canvas color
+   * @throws IllegalArgumentException if rand or rules is null
+   */
+  public SoloRedGameModel(RandomGenerator rand, CanvasRules rules) {
+    this(rand, rules, CardUniverse.STANDARD);
+  }
+
+  /**
+   * Constructor that initializes the model with a specific random generator for shuffling,
+   * the canvas rules to score palettes with, and the card universe to play with. The rules are
+   * copied, so registering a rule in the given registry later has no effect on this model.
+   *
+   * @param rand     the random generator used for shuffling
+   * @param rules    the rule selected by each canvas color
+   * @param universe the cards getAllCards returns and the canvas rules are scaled to
+   * @throws IllegalArgumentException if rand, rules or universe is null
+   */
+  public SoloRedGameModel(RandomGenerator rand, CanvasRules rules, CardUniverse universe) {
     if (rand == null) {
-      throw new IllegalArgumentException("Random object cannot be null.");
+      throw new IllegalArgumentException("Random generator cannot be null.");
+    }
+    if (rules == null) {
+      throw new IllegalArgumentException("Canvas rules cannot be null.");
     }
+    if (universe == null) {
+      throw new IllegalArgumentException("Card universe cannot be null.");
+    }
+    this.universe = universe;
+    this.scoreBoard = new PaletteScoreBoard(rules, universe);
     this.gameStarted = false;
     this.gameOver = false;
     this.gameWon = false;
     this.canPlayToCanvas = true;
     this.random = rand;
     this.maxHandSize = 0;
+    this.cachedWinningIndex = -1;
+    this.undoStack = new int[16 * UNDO_RECORD];
+    this.undoSize = 0;
   }
 
   @Override
@@ -68,31 +120,28 @@ public class SoloRedGameModel implements RedGameModel<CardImpl> {
       throw new IllegalArgumentException("Not enough cards in the deck to start the game.");
     }
 
-    Set<CardImpl> cardSet = new HashSet<>(deck);
-    if (deck.size() != cardSet.size() || deck.contains(null)) {
-      throw new IllegalArgumentException("Deck contains duplicate or null cards.");
-    }
-
+    Deck validDeck = Deck.validated(deck, universe);
     this.maxHandSize = handSize;
-
-    this.deck = new ArrayList<>(deck);
+    this.deck = validDeck;
     if (shuffle) {
-      Collections.shuffle(this.deck, this.random);
+      this.deck.shuffle(this.random);
     }
 
     this.palettes = new ArrayList<>();
     for (int i = 0; i < numPalettes; i++) {
       List<CardImpl> palette = new ArrayList<>();
-      palette.add(this.deck.remove(0));
+      palette.add(this.deck.draw());
       this.palettes.add(palette);
     }
 
     this.hand = new ArrayList<>();
     for (int i = 0; i < handSize && !this.deck.isEmpty(); i++) {
-      this.hand.add(this.deck.remove(0));
+      this.hand.add(this.deck.draw());
     }
 
-    this.canvas = new CardImpl("R", 0);
+    this.canvas = CardImpl.of(Color.R, 0);
+    invalidateAllScores();
+    this.undoSize = 0;
 
     this.gameStarted = true;
     this.gameOver = false;
@@ -106,10 +155,11 @@ public class SoloRedGameModel implements RedGameModel<CardImpl> {
       throw new IllegalStateException("The game has not started or is over.");
     }
 
+    pushUndo(UNDO_DRAW, hand.size(), 0);
     int cardsToDraw = maxHandSize - hand.size();
 
     for (int i = 0; i < cardsToDraw && !deck.isEmpty(); i++) {
-      hand.add(deck.remove(0));
+      hand.add(deck.draw());
     }
 
     canPlayToCanvas = true;
@@ -130,8 +180,11 @@ public class SoloRedGameModel implements RedGameModel<CardImpl> {
       throw new IllegalStateException("Cannot play to a winning palette.");
     }
 
+    pushUndo(UNDO_PALETTE, paletteIdx, cardIdxInHand);
     CardImpl cardToPlay = hand.remove(cardIdxInHand);
     palettes.get(paletteIdx).add(cardToPlay);
+    scoreBoard.addCard(paletteIdx, cardToPlay.ordinal());
+    cachedWinningIndex = -1;
 
     if (winningPaletteIndex() != paletteIdx) {
       gameOver = true;
@@ -160,18 +213,112 @@ public class SoloRedGameModel implements RedGameModel<CardImpl> {
               + "hand.");
     }
 
+    pushUndo(UNDO_CANVAS, canvas.ordinal(), cardIdxInHand);
     canvas = hand.remove(cardIdxInHand);
     canPlayToCanvas = false;
+    // Every palette is already scored under the new rule, only the winner changes
+    cachedWinningIndex = -1;
 
     updateGameOverStatus();
   }
 
+  @Override
+  public boolean canPlayToPalette(int paletteIdx, int cardIdxInHand) {
+    return gameStarted && !gameOver
+            && paletteIdx >= 0 && paletteIdx < palettes.size()
+            && cardIdxInHand >= 0 && cardIdxInHand < hand.size()
+            && paletteIdx != winningPaletteIndex();
+  }
+
+  @Override
+  public boolean canPlayToCanvas(int cardIdxInHand) {
+    return gameStarted && !gameOver && canPlayToCanvas
+            && cardIdxInHand >= 0 && cardIdxInHand < hand.size()
+            && hand.size() > 1;
+  }
+
+  @Override
+  public int legalMoves(int[] moves) {
+    if (!gameStarted || gameOver) {
+      return 0;
+    }
+    int handSize = hand.size();
+    boolean canvasOpen = canPlayToCanvas && handSize > 1;
+    if (moves.length < (palettes.size() - 1) * handSize + (canvasOpen ? handSize : 0)) {
+      throw new IllegalArgumentException("Move buffer is too small.");
+    }
+
+    int count = 0;
+    int winningIndex = winningPaletteIndex();
+    for (int p = 0; p < palettes.size(); p++) {
+      if (p != winningIndex) {
+        for (int c = 0; c < handSize; c++) {
+          moves[count++] = Moves.palette(p, c);
+        }
+      }
+    }
+    if (canvasOpen) {
+      for (int c = 0; c < handSize; c++) {
+        moves[count++] = Moves.canvas(c);
+      }
+    }
+    return count;
+  }
+
+  @Override
+  public void undo() {
+    if (!gameStarted) {
+      throw new IllegalStateException("The game has not started.");
+    }
+    if (undoSize == 0) {
+      throw new IllegalStateException("There is no move to undo.");
+    }
+
+    undoSize -= UNDO_RECORD;
+    int header = undoStack[undoSize];
+    int value = undoStack[undoSize + 1];
+    int handIdx = undoStack[undoSize + 2];
+    switch (header & 0xF) {
+      case UNDO_PALETTE:
+        List<CardImpl> palette = palettes.get(value);
+        CardImpl played = palette.remove(palette.size() - 1);
+        hand.add(handIdx, played);
+        scoreBoard.removeCard(value, played.ordinal());
+        break;
+      case UNDO_CANVAS:
+        hand.add(handIdx, canvas);
+        canvas = universe.fromOrdinal(value);
+        break;
+      case UNDO_DRAW:
+        while (hand.size() > value) {
+          hand.remove(hand.size() - 1);
+          deck.undraw();
+        }
+        break;
+      default:
+        throw new IllegalStateException("Corrupt undo record.");
+    }
+    cachedWinningIndex = -1;
+    canPlayToCanvas = (header & FLAG_CAN_PLAY_TO_CANVAS) != 0;
+    gameOver = (header & FLAG_GAME_OVER) != 0;
+    gameWon = (header & FLAG_GAME_WON) != 0;
+    restoreExtraState(undoStack[undoSize + 3]);
+  }
+
+  @Override
+  public int undoDepth() {
+    if (!gameStarted) {
+      throw new IllegalStateException("The game has not started.");
+    }
+    return undoSize / UNDO_RECORD;
+  }
+
   @Override
   public int numOfCardsInDeck() {
     if (!gameStarted) {
       throw new IllegalStateException("The game has not started.");
     }
-    return deck.size();
+    return deck.remaining();
   }
 
   @Override
@@ -188,23 +335,14 @@ public class SoloRedGameModel implements RedGameModel<CardImpl> {
       throw new IllegalStateException("The game has not started.");
     }
 
-    List<PaletteScore> scores = new ArrayList<>();
-
-    for (List<CardImpl> palette : palettes) {
-      PaletteScore score = computePaletteScore(palette);
-      scores.add(score);
-    }
-
-    PaletteScore highestScore = null;
-    int winningIndex = -1;
-    for (int i = 0; i < scores.size(); i++) {
-      if (highestScore == null || scores.get(i).compareTo(highestScore) > 0) {
-        highestScore = scores.get(i);
-        winningIndex = i;
-      }
+    if (cachedWinningIndex >= 0) {
+      scoreCacheHits++;
+      return cachedWinningIndex;
     }
+    scoreCacheMisses++;
 
-    return winningIndex;
+    cachedWinningIndex = scoreBoard.winner(canvas.getColor());
+    return cachedWinningIndex;
   }
 
   @Override
@@ -236,13 +374,61 @@ public class SoloRedGameModel implements RedGameModel<CardImpl> {
 
   @Override
   public List<CardImpl> getPalette(int paletteNum) {
+    if (!gameStarted) {
+      throw new IllegalStateException("The game has not started.");
+    }
+    return new ArrayList<>(paletteOf(paletteNum));
+  }
+
+  /**
+   * Returns the list of cards of a palette itself, without copying it.
+   *
+   * @param paletteNum a 0-index number representing which palette
+   * @return the palette
+   * @throws IllegalStateException    if the game has not started
+   * @throws IllegalArgumentException if the palette number is out of range
+   */
+  private List<CardImpl> paletteOf(int paletteNum) {
     if (!gameStarted) {
       throw new IllegalStateException("The game has not started.");
     }
     if (paletteNum < 0 || paletteNum >= palettes.size()) {
       throw new IllegalArgumentException("Invalid palette number.");
     }
-    return new ArrayList<>(palettes.get(paletteNum));
+    return palettes.get(paletteNum);
+  }
+
+  @Override
+  public int handSize() {
+    if (!gameStarted) {
+      throw new IllegalStateException("The game has not started.");
+    }
+    return hand.size();
+  }
+
+  @Override
+  public CardImpl handCard(int cardIdxInHand) {
+    if (!gameStarted) {
+      throw new IllegalStateException("The game has not started.");
+    }
+    if (cardIdxInHand < 0 || cardIdxInHand >= hand.size()) {
+      throw new IllegalArgumentException("Invalid card index in hand.");
+    }
+    return hand.get(cardIdxInHand);
+  }
+
+  @Override
+  public int paletteSize(int paletteNum) {
+    return paletteOf(paletteNum).size();
+  }
+
+  @Override
+  public CardImpl paletteCard(int paletteNum, int cardIdx) {
+    List<CardImpl> palette = paletteOf(paletteNum);
+    if (cardIdx < 0 || cardIdx >= palette.size()) {
+      throw new IllegalArgumentException("Invalid card index in palette.");
+    }
+    return palette.get(cardIdx);
   }
 
   @Override
@@ -255,248 +441,135 @@ public class SoloRedGameModel implements RedGameModel<CardImpl> {
 
   @Override
   public List<CardImpl> getAllCards() {
-    List<CardImpl> allCards = new ArrayList<>();
-    for (String color : new String[]{"R", "O", "B", "I", "V"}) {
-      for (int num = 1; num <= 7; num++) {
-        allCards.add(new CardImpl(color, num));
-      }
-    }
-    return allCards;
+    return new UniverseCardList(universe);
   }
 
   /**
-   * Updates the game state to check if the game is over.
-   * The game ends when both the hand and deck are empty, and the game is won if player 0 is the
-   * winner.
+   * Returns how many calls to winningPaletteIndex were answered from the cached winner.
+   *
+   * @return the number of score cache hits since this model was created
    */
-  protected void updateGameOverStatus() {
-    if (hand.isEmpty() && deck.isEmpty()) {
-      gameOver = true;
-      gameWon = winningPaletteIndex() == 0;
-    }
+  public long getScoreCacheHits() {
+    return scoreCacheHits;
   }
 
   /**
-   * Computes the score of a palette based on the current canvas rule.
+   * Returns how many calls to winningPaletteIndex had to compare the palettes again.
    *
-   * @param palette the palette to compute the score for
-   * @return the computed PaletteScore
+   * @return the number of score cache misses since this model was created
    */
-  private PaletteScore computePaletteScore(List<CardImpl> palette) {
-    switch (canvas.getColor()) {
-      case "R":
-        return computeRedScore(palette);
-      case "O":
-        return computeOrangeScore(palette);
-      case "B":
-        return computeBlueScore(palette);
-      case "I":
-        return computeIndigoScore(palette);
-      case "V":
-        return computeVioletScore(palette);
-      default:
-        throw new IllegalStateException("Unknown canvas rule.");
-    }
+  public long getScoreCacheMisses() {
+    return scoreCacheMisses;
   }
 
   /**
-   * Determines if card c1 is higher than card c2 according to the Red rule.
+   * Returns the index of the palette that would win if a card of the given color were on the
+   * canvas, without changing the game. This only compares the stored scores of the palettes.
    *
-   * @param c1 the first card
-   * @param c2 the second card
-   * @return true if c1 is higher than c2, false otherwise
+   * @param canvasColor the color of the hypothetical canvas
+   * @return the 0-based index of the palette that would win
+   * @throws IllegalStateException    if the game has not started
+   * @throws IllegalArgumentException if canvasColor is null
    */
-  private boolean isHigherCard(CardImpl c1, CardImpl c2) {
-    if (c1.getNumber() > c2.getNumber()) {
-      return true;
+  public int winningPaletteIndexFor(Color canvasColor) {
+    if (!gameStarted) {
+      throw new IllegalStateException("The game has not started.");
     }
-    if (c1.getNumber() < c2.getNumber()) {
-      return false;
+    if (canvasColor == null) {
+      throw new IllegalArgumentException("Canvas color cannot be null.");
     }
-    // If numbers are equal, compare colors based on rainbow order
-    return getColorRank(c1.getColor()) > getColorRank(c2.getColor());
+    return scoreBoard.winner(canvasColor);
   }
 
   /**
-   * Assigns a rank to each color based on the rainbow order.
+   * Rescores one palette from its cards and forgets the cached winner.
+   * Must be called whenever a subclass changes that palette directly.
    *
-   * @param color the color of the card
-   * @return the rank of the color
+   * @param paletteIdx the index of the palette that changed
    */
-  private int getColorRank(String color) {
-    switch (color) {
-      case "V":
-        return 1;
-      case "I":
-        return 2;
-      case "B":
-        return 3;
-      case "O":
-        return 4;
-      case "R":
-        return 5;
-      default:
-        throw new IllegalArgumentException("Unknown card color: " + color);
-    }
+  protected void invalidatePaletteScore(int paletteIdx) {
+    scoreBoard.setPalette(paletteIdx, palettes.get(paletteIdx));
+    cachedWinningIndex = -1;
   }
 
   /**
-   * Computes the score of a palette under the Red rule (highest card wins).
-   *
-   * @param palette the palette to compute the score for
-   * @return the computed PaletteScore
+   * Rescores every palette from its cards and forgets the cached winner.
+   * Must be called whenever the palettes are rebuilt.
    */
-  private PaletteScore computeRedScore(List<CardImpl> palette) {
-    CardImpl highestCard = null;
-    for (CardImpl card : palette) {
-      if (highestCard == null || isHigherCard(card, highestCard)) {
-        highestCard = card;
-      }
+  protected void invalidateAllScores() {
+    scoreBoard.reset(palettes.size());
+    for (int i = 0; i < palettes.size(); i++) {
+      scoreBoard.setPalette(i, palettes.get(i));
     }
-    int score = highestCard != null ?
-            highestCard.getNumber() * 100 + getColorRank(highestCard.getColor()) : 0;
-    return new PaletteScore(score, highestCard);
+    cachedWinningIndex = -1;
   }
 
   /**
-   * Computes the score of a palette under the Orange rule (most of one number).
+   * Records the state an operation is about to change, so undo can restore it. Operations
+   * call this after validating their arguments and before changing anything. The stack only
+   * grows when a game goes deeper than ever before, so searching allocates nothing.
    *
-   * @param palette the palette to compute the score for
-   * @return the computed PaletteScore
+   * @param kind    which operation is recorded
+   * @param value   the changed palette, the previous canvas, or the hand size before drawing
+   * @param handIdx the index in the hand of the card being played
    */
-  private PaletteScore computeOrangeScore(List<CardImpl> palette) {
-    Map<Integer, Integer> numberCounts = new HashMap<>();
-    for (CardImpl card : palette) {
-      int num = card.getNumber();
-      numberCounts.put(num, numberCounts.getOrDefault(num, 0) + 1);
-    }
-    int maxCount = 0;
-    int numberWithMaxCount = 0;
-    for (Map.Entry<Integer, Integer> entry : numberCounts.entrySet()) {
-      int num = entry.getKey();
-      int count = entry.getValue();
-      if (count > maxCount || (count == maxCount && num > numberWithMaxCount)) {
-        maxCount = count;
-        numberWithMaxCount = num;
-      }
+  private void pushUndo(int kind, int value, int handIdx) {
+    if (undoSize == undoStack.length) {
+      undoStack = Arrays.copyOf(undoStack, undoStack.length * 2);
     }
-    CardImpl tieBreakerCard = null;
-    for (CardImpl card : palette) {
-      if (card.getNumber() == numberWithMaxCount) {
-        if (tieBreakerCard == null || isHigherCard(card, tieBreakerCard)) {
-          tieBreakerCard = card;
-        }
-      }
+    int header = kind;
+    if (canPlayToCanvas) {
+      header |= FLAG_CAN_PLAY_TO_CANVAS;
     }
-    int score = maxCount * 100 + numberWithMaxCount;
-    return new PaletteScore(score, tieBreakerCard);
+    if (gameOver) {
+      header |= FLAG_GAME_OVER;
+    }
+    if (gameWon) {
+      header |= FLAG_GAME_WON;
+    }
+    undoStack[undoSize] = header;
+    undoStack[undoSize + 1] = value;
+    undoStack[undoSize + 2] = handIdx;
+    undoStack[undoSize + 3] = saveExtraState();
+    undoSize += UNDO_RECORD;
   }
 
   /**
-   * Computes the score of a palette under the Blue rule (most unique colors).
-   *
-   * @param palette the palette to compute the score for
-   * @return the computed PaletteScore
+   * Records a draw that a subclass performs without calling drawForHand of this class, so it
+   * can be undone. Must be called before any card is drawn.
    */
-  private PaletteScore computeBlueScore(List<CardImpl> palette) {
-    Set<String> uniqueColors = new HashSet<>();
-    for (CardImpl card : palette) {
-      uniqueColors.add(card.getColor());
-    }
-    int score = uniqueColors.size() * 100;
-    CardImpl tieBreakerCard = null;
-    for (CardImpl card : palette) {
-      if (tieBreakerCard == null || isHigherCard(card, tieBreakerCard)) {
-        tieBreakerCard = card;
-      }
-    }
-    return new PaletteScore(score, tieBreakerCard);
+  protected void pushDrawUndo() {
+    pushUndo(UNDO_DRAW, hand.size(), 0);
   }
 
   /**
-   * Computes the score of a palette under the Indigo rule (longest run).
+   * Returns any extra state a subclass needs restored when an operation is undone, packed
+   * into an int. This class has none.
    *
-   * @param palette the palette to compute the score for
-   * @return the computed PaletteScore
+   * @return the packed extra state
    */
-  private PaletteScore computeIndigoScore(List<CardImpl> palette) {
-    List<Integer> numbers =
-            palette.stream().map(CardImpl::getNumber).distinct()
-                    .sorted().collect(Collectors.toList());
-    int longestRun = 1;
-    int currentRun = 1;
-    for (int i = 1; i < numbers.size(); i++) {
-      if (numbers.get(i) == numbers.get(i - 1) + 1) {
-        currentRun++;
-        longestRun = Math.max(longestRun, currentRun);
-      } else {
-        currentRun = 1;
-      }
-    }
-    int score = longestRun * 100;
-    CardImpl tieBreakerCard = null;
-    for (CardImpl card : palette) {
-      if (tieBreakerCard == null || isHigherCard(card, tieBreakerCard)) {
-        tieBreakerCard = card;
-      }
-    }
-    return new PaletteScore(score, tieBreakerCard);
+  protected int saveExtraState() {
+    return 0;
   }
 
   /**
-   * Computes the score of a palette under the Violet rule (most cards below 4).
+   * Restores extra state saved by saveExtraState when an operation is undone.
    *
-   * @param palette the palette to compute the score for
-   * @return the computed PaletteScore
+   * @param state the packed extra state
    */
-  private PaletteScore computeVioletScore(List<CardImpl> palette) {
-    List<CardImpl> belowFourCards = new ArrayList<>();
-    for (CardImpl card : palette) {
-      if (card.getNumber() < 4) {
-        belowFourCards.add(card);
-      }
-    }
-    int score = belowFourCards.size() * 100;
-    CardImpl tieBreakerCard = null;
-    for (CardImpl card : belowFourCards) {
-      if (tieBreakerCard == null || isHigherCard(card, tieBreakerCard)) {
-        tieBreakerCard = card;
-      }
-    }
-    return new PaletteScore(score, tieBreakerCard);
+  protected void restoreExtraState(int state) {
+    // No extra state in the basic game
   }
 
   /**
-   * Private class to hold the score of a palette according to the current rule.
+   * Updates the game state to check if the game is over.
+   * The game ends when both the hand and deck are empty, and the game is won if player 0 is the
+   * winner.
    */
-  private class PaletteScore implements Comparable<PaletteScore> {
-    int mainScore;
-    CardImpl tieBreakerCard;
-
-    /**
-     * Constructs a PaletteScore with the given main score and tie-breaker card.
-     *
-     * @param mainScore      the main score of the palette
-     * @param tieBreakerCard the card used for tie-breaking
-     */
-    public PaletteScore(int mainScore, CardImpl tieBreakerCard) {
-      this.mainScore = mainScore;
-      this.tieBreakerCard = tieBreakerCard;
-    }
-
-    @Override
-    public int compareTo(PaletteScore o) {
-      if (this.mainScore != o.mainScore) {
-        return Integer.compare(this.mainScore, o.mainScore);
-      }
-      if (this.tieBreakerCard != null && o.tieBreakerCard != null) {
-        if (isHigherCard(this.tieBreakerCard, o.tieBreakerCard)) {
-          return 1;
-        } else if (isHigherCard(o.tieBreakerCard, this.tieBreakerCard)) {
-          return -1;
-        }
-      }
-      return 0;
+  protected void updateGameOverStatus() {
+    if (hand.isEmpty() && deck.isEmpty()) {
+      gameOver = true;
+      gameWon = winningPaletteIndex() == 0;
     }
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,124 @@
+package cs3500.solored.model.hw02;
+
+/**
+ * The five canvas rules of the standard SoloRed game, one per color.
+ */
+public enum StandardCanvasRule implements CanvasRule {
+  /**
+   * The palette with the highest card wins.
+   */
+  RED {
+    @Override
+    public long score(long paletteMask) {
+      return PaletteScorer.scoreRed(paletteMask);
+    }
+
+    @Override
+    public long score(long[] paletteBits, int offset, CardUniverse universe) {
+      return PaletteScorer.scoreRed(paletteBits, offset, universe);
+    }
+
+    @Override
+    public long cardsReaching(long paletteMask, long cards, long threshold) {
+      return PaletteScorer.reachingRed(paletteMask, cards, threshold);
+    }
+  },
+
+  /**
+   * The palette with the most of one number wins.
+   */
+  ORANGE {
+    @Override
+    public long score(long paletteMask) {
+      return PaletteScorer.scoreOrange(paletteMask);
+    }
+
+    @Override
+    public long score(long[] paletteBits, int offset, CardUniverse universe) {
+      return PaletteScorer.scoreOrange(paletteBits, offset, universe);
+    }
+
+    @Override
+    public long cardsReaching(long paletteMask, long cards, long threshold) {
+      return PaletteScorer.reachingOrange(paletteMask, cards, threshold);
+    }
+  },
+
+  /**
+   * The palette with the most different colors wins.
+   */
+  BLUE {
+    @Override
+    public long score(long paletteMask) {
+      return PaletteScorer.scoreBlue(paletteMask);
+    }
+
+    @Override
+    public long score(long[] paletteBits, int offset, CardUniverse universe) {
+      return PaletteScorer.scoreBlue(paletteBits, offset, universe);
+    }
+
+    @Override
+    public long cardsReaching(long paletteMask, long cards, long threshold) {
+      return PaletteScorer.reachingBlue(paletteMask, cards, threshold);
+    }
+  },
+
+  /**
+   * The palette with the longest run of consecutive numbers wins.
+   */
+  INDIGO {
+    @Override
+    public long score(long paletteMask) {
+      return PaletteScorer.scoreIndigo(paletteMask);
+    }
+
+    @Override
+    public long score(long[] paletteBits, int offset, CardUniverse universe) {
+      return PaletteScorer.scoreIndigo(paletteBits, offset, universe);
+    }
+
+    @Override
+    public long cardsReaching(long paletteMask, long cards, long threshold) {
+      return PaletteScorer.reachingIndigo(paletteMask, cards, threshold);
+    }
+  },
+
+  /**
+   * The palette with the most cards below 4 wins, or below the Violet threshold of a larger
+   * card universe.
+   */
+  VIOLET {
+    @Override
+    public long score(long paletteMask) {
+      return PaletteScorer.scoreViolet(paletteMask);
+    }
+
+    @Override
+    public long score(long[] paletteBits, int offset, CardUniverse universe) {
+      return PaletteScorer.scoreViolet(paletteBits, offset, universe);
+    }
+
+    @Override
+    public long cardsReaching(long paletteMask, long cards, long threshold) {
+      return PaletteScorer.reachingViolet(paletteMask, cards, threshold);
+    }
+  };
+
+  // Declared in the same order as Color
+  private static final StandardCanvasRule[] BY_COLOR = values();
+
+  /**
+   * Returns the standard rule selected by a canvas of the given color.
+   *
+   * @param color the color of the canvas
+   * @return the standard rule for that color
+   * @throws IllegalArgumentException if color is null
+   */
+  public static StandardCanvasRule forColor(Color color) {
+    if (color == null) {
+      throw new IllegalArgumentException("Color cannot be null.");
+    }
+    return BY_COLOR[color.ordinal()];
+  }
+}
@@ -0,0 +1,54 @@
+package cs3500.solored.model.hw02;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A new list of every card of a universe, as getAllCards hands out. It notes any change made
+ * to it, so that {@link Deck#validated} can skip checking a deck that is still exactly the
+ * cards of its universe, while a caller stays free to edit or shuffle the list it was given.
+ *
+ * <p>Structural changes, sorting and replaceAll show in modCount. Replacing one element does
+ * not, so set is overridden to note it, which also covers list iterators and the swaps of
+ * Collections.shuffle. A sublist writes to the list directly, so taking one counts as a change.
+ */
+final class UniverseCardList extends ArrayList<CardImpl> {
+  private static final long serialVersionUID = 1L;
+
+  private final transient CardUniverse universe;
+  private final int initialModCount;
+  private boolean replaced;
+
+  /**
+   * Constructs a list of the cards of the given universe, in its order.
+   *
+   * @param universe the card universe
+   */
+  UniverseCardList(CardUniverse universe) {
+    super(universe.cards());
+    this.universe = universe;
+    this.initialModCount = modCount;
+  }
+
+  /**
+   * Returns whether this list still holds exactly the cards of the given universe, in order.
+   *
+   * @param universe the card universe
+   * @return true if this list was made for universe and has not been changed since
+   */
+  boolean isUnchangedListOf(CardUniverse universe) {
+    return this.universe == universe && !replaced && modCount == initialModCount;
+  }
+
+  @Override
+  public CardImpl set(int index, CardImpl element) {
+    replaced = true;
+    return super.set(index, element);
+  }
+
+  @Override
+  public List<CardImpl> subList(int fromIndex, int toIndex) {
+    replaced = true;
+    return super.subList(fromIndex, toIndex);
+  }
+}
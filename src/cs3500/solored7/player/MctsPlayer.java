@@ -0,0 +1,467 @@
+package cs3500.solored.player;
+
+import cs3500.solored.model.hw02.CanvasRules;
+import cs3500.solored.model.hw02.CardImpl;
+import cs3500.solored.model.hw02.Moves;
+import cs3500.solored.model.hw02.RedGameModel;
+import cs3500.solored.model.hw04.RedGameCreator;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * A player that chooses moves by Monte Carlo tree search.
+ * The order of the deck is hidden, so every iteration first determinizes the game: it deals
+ * a random deck from the cards the player has not seen, then walks down the search tree with
+ * UCT, adds one new move to the tree, and finishes the game with a playout chosen by a
+ * {@link RolloutPolicy}. The moves of the tree are keyed by card rather than by hand index,
+ * since the same index holds different cards in different deals; a move is only offered at a
+ * node when it is legal in the current deal, and each child counts how often it was offered,
+ * which replaces the visit count of its parent in the UCT bound.
+ * A won playout is worth 1; a lost one is worth up to one half, by how many of the cards left
+ * at the root it managed to play, so the search still learns from deals it cannot win.
+ * The tree is kept in parallel primitive arrays of a fixed capacity that are reused for every
+ * move, so a long session does not grow the heap; once the arrays are full the search keeps
+ * running playouts from the existing leaves.
+ */
+public final class MctsPlayer implements RedGamePlayer {
+  /**
+   * The default number of iterations for each move.
+   */
+  public static final int DEFAULT_ITERATIONS = 10_000;
+
+  /**
+   * The default most nodes the search tree may hold.
+   */
+  public static final int DEFAULT_MAX_NODES = 1 << 16;
+
+  private static final double EXPLORATION = 0.7;
+  private static final int TIME_CHECK_INTERVAL = 64;
+  // Math.log of the small counts, which the UCT bound of nearly every child needs
+  private static final double[] LOGS = buildLogTable(1 << 14);
+
+  private final boolean advancedDraw;
+  private final RolloutPolicy rollout;
+  private final int maxIterations;
+  private final long maxNanos;
+  private final RandomGenerator random;
+  private final SimulatedGame root;
+  private final SimulatedGame sim;
+
+  // The search tree: every node is an index into these arrays, and node 0 is the root
+  private final int[] nodeMove;
+  private final int[] firstChild;
+  private final int[] nextSibling;
+  private final int[] visits;
+  private final int[] available;
+  private final double[] totalReward;
+  private int nodeCount;
+
+  private final byte[] unseen;
+  private int numUnseen;
+  private int deckSize;
+  private int rootRemaining;
+  private final int[] path;
+  private int[] moves;
+  // The children of the node being visited by the slot of their key, otherwise all -1
+  private int[] childBySlot;
+  private long rolloutCount;
+
+  // What the player knows about the game it is playing from the moves it chose
+  private RedGameModel<CardImpl> lastGame;
+  private int lastDeckSize;
+  private int maxHandSize;
+  private long seenCanvases;
+  private boolean canPlayToCanvas;
+  private boolean playedToCanvas;
+
+  /**
+   * Constructs a player for the given type of game with the default budget, random playouts
+   * and the standard canvas rules.
+   *
+   * @param type the type of game the player plays
+   * @throws IllegalArgumentException if type is null
+   */
+  public MctsPlayer(RedGameCreator.GameType type) {
+    this(type, new CanvasRules(), new RandomRolloutPolicy(), DEFAULT_ITERATIONS, 0,
+            DEFAULT_MAX_NODES, new SplittableRandom());
+  }
+
+  /**
+   * Constructs a player with the given settings. The search for a move stops when either
+   * budget runs out.
+   *
+   * @param type          the type of game the player plays; BITBOARD plays by the BASIC rules
+   * @param rules         the rule selected by each canvas color
+   * @param rollout       the policy that picks the moves of playouts
+   * @param maxIterations the most iterations for each move, or 0 for no limit
+   * @param maxMillis     the most time for each move in milliseconds, or 0 for no limit
+   * @param maxNodes      the most nodes the search tree may hold
+   * @param random        the source of randomness for deals and playouts
+   * @throws IllegalArgumentException if any object is null, a budget is negative, both budgets
+   *                                  are 0, or maxNodes is less than 2
+   */
+  public MctsPlayer(RedGameCreator.GameType type, CanvasRules rules, RolloutPolicy rollout,
+                    int maxIterations, long maxMillis, int maxNodes, RandomGenerator random) {
+    if (type == null || rules == null || rollout == null || random == null) {
+      throw new IllegalArgumentException("Player settings cannot be null.");
+    }
+    if (maxIterations < 0 || maxMillis < 0 || (maxIterations == 0 && maxMillis == 0)) {
+      throw new IllegalArgumentException("Invalid search budget.");
+    }
+    if (maxNodes < 2) {
+      throw new IllegalArgumentException("The search tree must hold at least two nodes.");
+    }
+    this.advancedDraw = type == RedGameCreator.GameType.ADVANCED;
+    this.rollout = rollout;
+    this.maxIterations = maxIterations;
+    this.maxNanos = maxMillis * 1_000_000L;
+    this.random = random;
+    this.root = new SimulatedGame(advancedDraw, rules);
+    this.sim = new SimulatedGame(advancedDraw, rules);
+    this.nodeMove = new int[maxNodes];
+    this.firstChild = new int[maxNodes];
+    this.nextSibling = new int[maxNodes];
+    this.visits = new int[maxNodes];
+    this.available = new int[maxNodes];
+    this.totalReward = new double[maxNodes];
+    this.unseen = new byte[CardImpl.ORDINAL_COUNT];
+    // Every play uses up a card, and every draw either deals a card or follows a canvas play
+    this.path = new int[3 * CardImpl.ORDINAL_COUNT + 2];
+    this.moves = new int[0];
+    this.childBySlot = new int[0];
+  }
+
+  @Override
+  public int chooseMove(RedGameModel<CardImpl> game) {
+    if (game == null) {
+      throw new IllegalArgumentException("Game cannot be null.");
+    }
+    if (game.isGameOver()) {
+      throw new IllegalStateException("The game is over.");
+    }
+    observe(game);
+    root.load(game, maxHandSize, canPlayToCanvas, playedToCanvas);
+    findUnseenCards(game);
+    // Only the size of the root's deck matters, since every iteration deals its own
+    root.dealDeck(unseen, numUnseen, deckSize, random);
+    rootRemaining = root.handSize() + deckSize;
+    int moveBufferSize = Moves.maxMoveCount(root.numPalettes(), maxHandSize) + 1;
+    if (moves.length < moveBufferSize) {
+      moves = new int[moveBufferSize];
+    }
+    int numSlots = 1 + (root.numPalettes() + 1) * CardImpl.ORDINAL_COUNT;
+    if (childBySlot.length < numSlots) {
+      childBySlot = new int[numSlots];
+      Arrays.fill(childBySlot, -1);
+    }
+
+    int count = root.legalMoves(moves);
+    int move;
+    if (count == 0) {
+      // Every move loses, so play any card to any palette that is not winning
+      move = Moves.palette(root.winningPaletteIndex() == 0 ? 1 : 0, 0);
+    } else if (count == 1) {
+      move = moves[0];
+    } else {
+      move = search(game);
+    }
+    remember(move);
+    return move;
+  }
+
+  /**
+   * Returns the number of playouts run by this player so far.
+   *
+   * @return the number of playouts
+   */
+  public long getRolloutCount() {
+    return rolloutCount;
+  }
+
+  /**
+   * Runs the search from the loaded root and returns the most visited move.
+   *
+   * @param game the game being played
+   * @return the chosen move, with its card as an index into the hand of game
+   */
+  private int search(RedGameModel<CardImpl> game) {
+    nodeCount = 1;
+    firstChild[0] = -1;
+    nextSibling[0] = -1;
+    visits[0] = 0;
+    totalReward[0] = 0;
+
+    long start = System.nanoTime();
+    for (int i = 0; maxIterations == 0 || i < maxIterations; i++) {
+      if (maxNanos > 0 && i % TIME_CHECK_INTERVAL == 0
+              && System.nanoTime() - start >= maxNanos) {
+        break;
+      }
+      iterate();
+    }
+
+    int best = -1;
+    for (int child = firstChild[0]; child >= 0; child = nextSibling[child]) {
+      if (best < 0 || visits[child] > visits[best]) {
+        best = child;
+      }
+    }
+    return toModelMove(nodeMove[best], game.getHand());
+  }
+
+  /**
+   * Runs one iteration: deals a deck, selects down the tree, expands one node, plays out the
+   * rest of the game and updates every node on the path.
+   */
+  private void iterate() {
+    sim.copyFrom(root);
+    sim.dealDeck(unseen, numUnseen, deckSize, random);
+    int node = 0;
+    int pathLength = 0;
+    path[pathLength++] = node;
+    double reward;
+    while (true) {
+      int count = sim.legalMoves(moves);
+      if (count == 0) {
+        reward = lossReward();
+        break;
+      }
+      int best = -1;
+      int bestIndex = -1;
+      double bestValue = Double.NEGATIVE_INFINITY;
+      int newIndex = -1;
+      int numNew = 0;
+      for (int child = firstChild[node]; child >= 0; child = nextSibling[child]) {
+        childBySlot[slotOf(nodeMove[child])] = child;
+      }
+      for (int i = 0; i < count; i++) {
+        int child = childBySlot[slotOf(keyOf(moves[i]))];
+        if (child < 0) {
+          // Pick uniformly among the moves not yet in the tree
+          numNew++;
+          if (random.nextInt(numNew) == 0) {
+            newIndex = i;
+          }
+        } else {
+          available[child]++;
+          double value = totalReward[child] / visits[child]
+                  + EXPLORATION * Math.sqrt(log(available[child]) / visits[child]);
+          if (value > bestValue) {
+            bestValue = value;
+            best = child;
+            bestIndex = i;
+          }
+        }
+      }
+
+      for (int child = firstChild[node]; child >= 0; child = nextSibling[child]) {
+        childBySlot[slotOf(nodeMove[child])] = -1;
+      }
+
+      if (newIndex >= 0 && nodeCount < nodeMove.length) {
+        int child = addChild(node, keyOf(moves[newIndex]));
+        path[pathLength++] = child;
+        int outcome = sim.play(moves[newIndex]);
+        reward = outcome == SimulatedGame.ONGOING ? playOut() : outcomeReward(outcome);
+        break;
+      }
+      if (best < 0) {
+        reward = playOut();
+        break;
+      }
+      path[pathLength++] = best;
+      node = best;
+      int outcome = sim.play(moves[bestIndex]);
+      if (outcome != SimulatedGame.ONGOING) {
+        reward = outcomeReward(outcome);
+        break;
+      }
+    }
+
+    for (int i = 0; i < pathLength; i++) {
+      visits[path[i]]++;
+      totalReward[path[i]] += reward;
+    }
+  }
+
+  /**
+   * Returns the natural logarithm of a count, from the table while it is small.
+   *
+   * @param n a positive count
+   * @return Math.log(n)
+   */
+  private static double log(int n) {
+    return n < LOGS.length ? LOGS[n] : Math.log(n);
+  }
+
+  /**
+   * Builds the table of logarithms of the counts below the given size.
+   *
+   * @param size the number of counts
+   * @return the lookup table, indexed by count
+   */
+  private static double[] buildLogTable(int size) {
+    double[] logs = new double[size];
+    for (int n = 0; n < size; n++) {
+      logs[n] = Math.log(n);
+    }
+    return logs;
+  }
+
+  /**
+   * Finishes the simulated game with moves from the rollout policy.
+   *
+   * @return the reward of the finished game
+   */
+  private double playOut() {
+    rolloutCount++;
+    int outcome = SimulatedGame.ONGOING;
+    while (outcome == SimulatedGame.ONGOING) {
+      int move = rollout.chooseMove(sim, random);
+      if (move == SimulatedGame.NO_MOVE) {
+        return lossReward();
+      }
+      outcome = sim.play(move);
+    }
+    return outcomeReward(outcome);
+  }
+
+  private double outcomeReward(int outcome) {
+    return outcome == SimulatedGame.WON ? 1.0 : lossReward();
+  }
+
+  /**
+   * Returns the reward of a lost game, which grows with how many of the cards left at the
+   * root were played.
+   *
+   * @return a reward between 0 and one half
+   */
+  private double lossReward() {
+    int remaining = sim.handSize() + sim.deckSize();
+    return 0.5 * (rootRemaining - remaining) / rootRemaining;
+  }
+
+  /**
+   * Returns the key of a simulated move in the tree, which names its card by ordinal.
+   *
+   * @param move a move of the simulated game
+   * @return the key of the move
+   */
+  private int keyOf(int move) {
+    if (Moves.isDraw(move)) {
+      return move;
+    }
+    int card = sim.handCard(Moves.cardIndex(move));
+    return Moves.isCanvas(move) ? Moves.canvas(card) : Moves.palette(Moves.paletteIndex(move),
+            card);
+  }
+
+  /**
+   * Returns a small index that is different for every key: 0 for drawing, then one slot for
+   * every card on the canvas, then one for every card on each palette.
+   *
+   * @param key the key of a move
+   * @return the index of the key in childBySlot
+   */
+  private static int slotOf(int key) {
+    if (Moves.isDraw(key)) {
+      return 0;
+    }
+    return 1 + (Moves.paletteIndex(key) + 1) * CardImpl.ORDINAL_COUNT + Moves.cardIndex(key);
+  }
+
+  private int addChild(int node, int key) {
+    int child = nodeCount++;
+    nodeMove[child] = key;
+    firstChild[child] = -1;
+    nextSibling[child] = firstChild[node];
+    firstChild[node] = child;
+    visits[child] = 0;
+    available[child] = 1;
+    totalReward[child] = 0;
+    return child;
+  }
+
+  /**
+   * Converts the key of a move at the root back to a move on the given hand.
+   *
+   * @param key  the key of the move
+   * @param hand the hand of the game
+   * @return the move with its card as an index into hand
+   */
+  private static int toModelMove(int key, List<CardImpl> hand) {
+    if (Moves.isDraw(key)) {
+      return key;
+    }
+    int card = Moves.cardIndex(key);
+    int cardIdxInHand = 0;
+    while (hand.get(cardIdxInHand).ordinal() != card) {
+      cardIdxInHand++;
+    }
+    return Moves.isCanvas(key) ? Moves.canvas(cardIdxInHand)
+            : Moves.palette(Moves.paletteIndex(key), cardIdxInHand);
+  }
+
+  /**
+   * Updates what the player knows about the game before choosing a move. A different game,
+   * or a deck that has grown, means a new game has started.
+   *
+   * @param game the game being played
+   */
+  private void observe(RedGameModel<CardImpl> game) {
+    int currentDeckSize = game.numOfCardsInDeck();
+    if (game != lastGame || currentDeckSize > lastDeckSize) {
+      lastGame = game;
+      maxHandSize = 0;
+      seenCanvases = 0L;
+      canPlayToCanvas = true;
+      playedToCanvas = false;
+    }
+    lastDeckSize = currentDeckSize;
+    maxHandSize = Math.max(maxHandSize, game.getHand().size());
+    seenCanvases |= 1L << game.getCanvas().ordinal();
+  }
+
+  /**
+   * Updates the turn flags for the chosen move, which the caller is expected to play.
+   *
+   * @param move the chosen move
+   */
+  private void remember(int move) {
+    if (Moves.isDraw(move)) {
+      canPlayToCanvas = true;
+      playedToCanvas = false;
+    } else if (Moves.isCanvas(move)) {
+      canPlayToCanvas = false;
+      playedToCanvas = advancedDraw;
+    } else {
+      canPlayToCanvas = true;
+    }
+  }
+
+  /**
+   * Collects the cards that could still be in the deck: every card of the game that is not in
+   * the hand, a palette, or on the canvas now or before.
+   *
+   * @param game the game being played
+   */
+  private void findUnseenCards(RedGameModel<CardImpl> game) {
+    long seen = seenCanvases;
+    for (int i = 0; i < root.handSize(); i++) {
+      seen |= 1L << root.handCard(i);
+    }
+    for (int p = 0; p < root.numPalettes(); p++) {
+      seen |= root.paletteMask(p);
+    }
+    numUnseen = 0;
+    for (CardImpl card : game.getAllCards()) {
+      if ((seen & (1L << card.ordinal())) == 0) {
+        unseen[numUnseen++] = (byte) card.ordinal();
+      }
+    }
+    deckSize = Math.min(game.numOfCardsInDeck(), numUnseen);
+  }
+}
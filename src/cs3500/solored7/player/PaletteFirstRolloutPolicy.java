@@ -0,0 +1,17 @@
+package cs3500.solored.player;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * A rollout policy that plays a random card to a palette whenever it can, and otherwise picks
+ * uniformly among the canvas moves and drawing. When no palette move is legal, those are the
+ * only legal moves, so a uniformly random legal move is one of them.
+ */
+public final class PaletteFirstRolloutPolicy implements RolloutPolicy {
+
+  @Override
+  public int chooseMove(SimulatedGame game, RandomGenerator random) {
+    int move = game.randomPaletteMove(random);
+    return move != SimulatedGame.NO_MOVE ? move : game.randomMove(random);
+  }
+}
@@ -0,0 +1,63 @@
+package cs3500.solored.player;
+
+import cs3500.solored.model.hw02.CardImpl;
+import cs3500.solored.model.hw02.Moves;
+import cs3500.solored.model.hw02.ObservableRedGameModel;
+import cs3500.solored.model.hw02.RedGameModel;
+import cs3500.solored.model.hw02.SearchableRedGameModel;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * A player that picks uniformly among the legal moves, as a baseline for other players.
+ * On a {@link SearchableRedGameModel} it chooses among every palette and canvas move; on any
+ * other model it only plays cards to palettes that are not winning. It draws only when its
+ * hand is empty.
+ */
+public final class RandomPlayer implements RedGamePlayer {
+  private final RandomGenerator random;
+  private int[] moves;
+
+  /**
+   * Constructs a player that picks moves with the given random generator.
+   *
+   * @param random the source of randomness
+   * @throws IllegalArgumentException if random is null
+   */
+  public RandomPlayer(RandomGenerator random) {
+    if (random == null) {
+      throw new IllegalArgumentException("Random generator cannot be null.");
+    }
+    this.random = random;
+    this.moves = new int[0];
+  }
+
+  @Override
+  public int chooseMove(RedGameModel<CardImpl> game) {
+    if (game == null) {
+      throw new IllegalArgumentException("Game cannot be null.");
+    }
+    if (game.isGameOver()) {
+      throw new IllegalStateException("The game is over.");
+    }
+    int handSize = game instanceof ObservableRedGameModel
+            ? ((ObservableRedGameModel<CardImpl>) game).handSize() : game.getHand().size();
+    if (handSize == 0) {
+      return Moves.DRAW;
+    }
+    if (game instanceof SearchableRedGameModel) {
+      int size = Moves.maxMoveCount(game.numPalettes(), handSize);
+      if (moves.length < size) {
+        moves = new int[size];
+      }
+      int count = ((SearchableRedGameModel<CardImpl>) game).legalMoves(moves);
+      return moves[random.nextInt(count)];
+    }
+    int winningIndex = game.winningPaletteIndex();
+    int paletteIdx = random.nextInt(game.numPalettes() - 1);
+    if (paletteIdx >= winningIndex) {
+      paletteIdx++;
+    }
+    return Moves.palette(paletteIdx, random.nextInt(handSize));
+  }
+}
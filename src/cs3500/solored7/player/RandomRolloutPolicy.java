@@ -0,0 +1,14 @@
+package cs3500.solored.player;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * A rollout policy that picks uniformly among the legal moves.
+ */
+public final class RandomRolloutPolicy implements RolloutPolicy {
+
+  @Override
+  public int chooseMove(SimulatedGame game, RandomGenerator random) {
+    return game.randomMove(random);
+  }
+}
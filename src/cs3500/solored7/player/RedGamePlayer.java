@@ -0,0 +1,24 @@
+package cs3500.solored.player;
+
+import cs3500.solored.model.hw02.CardImpl;
+import cs3500.solored.model.hw02.RedGameModel;
+
+/**
+ * An automated player of the SoloRed game, which picks a move for a game in progress.
+ * Moves are encoded as ints by {@link cs3500.solored.model.hw02.Moves}, and can be played with
+ * {@link cs3500.solored.model.hw02.Moves#play}.
+ */
+public interface RedGamePlayer {
+
+  /**
+   * Chooses the next move to play in the given game. The game is not changed.
+   * A player may remember the moves it chose, expecting each one to be played before it is
+   * asked for the next move of the same game.
+   *
+   * @param game a game that has started and is not over
+   * @return the chosen move, encoded by Moves
+   * @throws IllegalStateException    if the game has not started or is over
+   * @throws IllegalArgumentException if game is null
+   */
+  int chooseMove(RedGameModel<CardImpl> game);
+}
@@ -0,0 +1,23 @@
+package cs3500.solored.player;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Picks the moves of the random playouts a Monte Carlo player uses to estimate how good a
+ * position is. A policy is called for every move of every playout, so it should be fast and
+ * should not allocate. Listing every legal move costs more than choosing one, so a policy
+ * picks its move through the sampling queries of the game, such as
+ * {@link SimulatedGame#randomMove}.
+ */
+public interface RolloutPolicy {
+
+  /**
+   * Chooses one of the legal moves of a simulated game.
+   *
+   * @param game   the simulated game, which must not be changed
+   * @param random the source of randomness to use
+   * @return the chosen move, encoded by {@link cs3500.solored.model.hw02.Moves} with an index
+   *         into the hand of game, or {@link SimulatedGame#NO_MOVE} if no move is legal
+   */
+  int chooseMove(SimulatedGame game, RandomGenerator random);
+}
@@ -0,0 +1,593 @@
+package cs3500.solored.player;
+
+import cs3500.solored.model.hw02.CanvasRule;
+import cs3500.solored.model.hw02.CanvasRules;
+import cs3500.solored.model.hw02.CardImpl;
+import cs3500.solored.model.hw02.Color;
+import cs3500.solored.model.hw02.Moves;
+import cs3500.solored.model.hw02.ObservableRedGameModel;
+import cs3500.solored.model.hw02.RedGameModel;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * A fast copy of a game in progress that a Monte Carlo player plays out many times.
+ * The hand is kept in the same order as in the model it was loaded from, as card ordinals,
+ * so the moves of a simulated game use the same hand indices as the model. The order of the
+ * deck is not known to the player, so it is filled in by {@link #dealDeck} from the cards
+ * that have not been seen. Loading from another simulated game reuses every array, so a
+ * player can restart a playout any number of times without allocating.
+ * Only moves that do not lose on the spot are legal here, and drawing is only legal when it
+ * would change the game, so every playout ends.
+ *
+ * <p>A palette move is legal when the card makes its palette win, that is when the palette
+ * scores at least a threshold set by the palettes before and after it. The game keeps, for
+ * every palette, which cards of the hand reach its threshold under the current rule, found
+ * for the whole hand at once by {@link CanvasRule#cardsReaching}. Finding the palette moves
+ * then only tests what a move made stale: a draw tests the new cards, and a palette move or
+ * a canvas move of another color retests only the palettes whose threshold or rule changed.
+ * Palettes are only scored under the colors the canvas takes, and those scores are kept
+ * until the palette changes. Playouts do not need the whole list, only one random legal
+ * move, which {@link #randomMove} picks from the cached tests without building it.
+ * The deck is shuffled as it is drawn from, so a playout that ends early does not pay for
+ * the cards it never reaches.
+ */
+public final class SimulatedGame {
+  static final int ONGOING = 0;
+  static final int WON = 1;
+  static final int LOST = 2;
+
+  /**
+   * The move returned by {@link #randomMove} and {@link #randomPaletteMove} when there is no
+   * move to return. It is neither a play nor {@link Moves#DRAW}.
+   */
+  public static final int NO_MOVE = -2;
+
+  private static final int NUM_COLORS = Color.values().length;
+
+  private final boolean advancedDraw;
+  // The rule of each color by its rank minus one, which is the card ordinal modulo NUM_COLORS
+  private final CanvasRule[] rules;
+  private final byte[] deck;
+  private byte[] hand;
+  private int handSize;
+  private int maxHandSize;
+  private int deckCursor;
+  private int deckEnd;
+  private int numUndealt;
+  private int canvas;
+  private boolean canPlayToCanvas;
+  private boolean playedToCanvas;
+  private long handMask;
+  private RandomGenerator random;
+  private int numPalettes;
+  private long[] masks;
+  // The score of palette p under rule c is scores[p * NUM_COLORS + c] when bit c of
+  // scoredColors[p] is set
+  private long[] scores;
+  private int[] scoredColors;
+  // Under rule testedRule, card k makes palette p reach winThresholds[p] when bit k
+  // of winningCards[p] is set, for the cards of testedCards[p]
+  private long[] testedCards;
+  private long[] winningCards;
+  private long[] winThresholds;
+  private long[] bestBefore;
+  private int testedRule;
+  // The thresholds and the winning palette stay known until a palette or the rule changes
+  private boolean thresholdsKnown;
+  private int knownWinningIndex;
+
+  /**
+   * Constructs an empty simulated game.
+   *
+   * @param advancedDraw true to draw by the rules of AdvancedSoloRedGameModel, false to draw
+   *                     by the rules of SoloRedGameModel
+   * @param rules        the rule selected by each canvas color
+   */
+  SimulatedGame(boolean advancedDraw, CanvasRules rules) {
+    this.advancedDraw = advancedDraw;
+    this.rules = new CanvasRule[NUM_COLORS];
+    for (Color color : Color.values()) {
+      this.rules[color.rank() - 1] = rules.get(color);
+    }
+    this.deck = new byte[CardImpl.ORDINAL_COUNT];
+    this.hand = new byte[0];
+    this.masks = new long[0];
+    this.scores = new long[0];
+    this.scoredColors = new int[0];
+    this.testedCards = new long[0];
+    this.winningCards = new long[0];
+    this.winThresholds = new long[0];
+    this.bestBefore = new long[0];
+    this.testedRule = -1;
+  }
+
+  /**
+   * Loads the visible state of a model. The deck is left empty until {@link #dealDeck}.
+   *
+   * @param game            a game that has started
+   * @param maxHandSize     the maximum number of cards in the hand
+   * @param canPlayToCanvas whether a card may be played to the canvas this turn
+   * @param playedToCanvas  whether a card was played to the canvas since the last draw
+   * @throws IllegalArgumentException if the game has cards outside the standard universe
+   */
+  void load(RedGameModel<CardImpl> game, int maxHandSize, boolean canPlayToCanvas,
+            boolean playedToCanvas) {
+    for (CardImpl card : game.getAllCards()) {
+      if (card.ordinal() >= CardImpl.ORDINAL_COUNT) {
+        throw new IllegalArgumentException("Only games of the standard universe can be played.");
+      }
+    }
+    this.maxHandSize = maxHandSize;
+    if (hand.length < maxHandSize) {
+      hand = new byte[maxHandSize];
+    }
+    ensurePalettes(game.numPalettes());
+    if (game instanceof ObservableRedGameModel) {
+      // Read the cards in place instead of copying the hand and every palette
+      ObservableRedGameModel<CardImpl> observable = (ObservableRedGameModel<CardImpl>) game;
+      handSize = observable.handSize();
+      for (int i = 0; i < handSize; i++) {
+        hand[i] = (byte) observable.handCard(i).ordinal();
+      }
+      for (int p = 0; p < numPalettes; p++) {
+        long mask = 0L;
+        for (int j = 0; j < observable.paletteSize(p); j++) {
+          mask |= 1L << observable.paletteCard(p, j).ordinal();
+        }
+        masks[p] = mask;
+      }
+    } else {
+      List<CardImpl> cards = game.getHand();
+      handSize = cards.size();
+      for (int i = 0; i < handSize; i++) {
+        hand[i] = (byte) cards.get(i).ordinal();
+      }
+      for (int p = 0; p < numPalettes; p++) {
+        long mask = 0L;
+        for (CardImpl card : game.getPalette(p)) {
+          mask |= 1L << card.ordinal();
+        }
+        masks[p] = mask;
+      }
+    }
+    this.handMask = 0L;
+    for (int i = 0; i < handSize; i++) {
+      handMask |= 1L << hand[i];
+    }
+    this.canvas = game.getCanvas().ordinal();
+    this.canPlayToCanvas = canPlayToCanvas;
+    this.playedToCanvas = playedToCanvas;
+    this.deckCursor = 0;
+    this.deckEnd = 0;
+    this.numUndealt = 0;
+    Arrays.fill(scoredColors, 0, numPalettes, 0);
+    this.testedRule = -1;
+    this.thresholdsKnown = false;
+  }
+
+  /**
+   * Makes this game the same as another one, reusing its arrays.
+   *
+   * @param other the game to copy, with the same rules as this one
+   */
+  void copyFrom(SimulatedGame other) {
+    if (hand.length != other.hand.length) {
+      hand = new byte[other.hand.length];
+    }
+    System.arraycopy(other.hand, 0, hand, 0, other.handSize);
+    handSize = other.handSize;
+    handMask = other.handMask;
+    maxHandSize = other.maxHandSize;
+    System.arraycopy(other.deck, 0, deck, 0, other.numUndealt);
+    deckCursor = other.deckCursor;
+    deckEnd = other.deckEnd;
+    numUndealt = other.numUndealt;
+    random = other.random;
+    canvas = other.canvas;
+    canPlayToCanvas = other.canPlayToCanvas;
+    playedToCanvas = other.playedToCanvas;
+    ensurePalettes(other.numPalettes);
+    System.arraycopy(other.masks, 0, masks, 0, numPalettes);
+    System.arraycopy(other.scores, 0, scores, 0, numPalettes * NUM_COLORS);
+    System.arraycopy(other.scoredColors, 0, scoredColors, 0, numPalettes);
+    System.arraycopy(other.testedCards, 0, testedCards, 0, numPalettes);
+    System.arraycopy(other.winningCards, 0, winningCards, 0, numPalettes);
+    System.arraycopy(other.winThresholds, 0, winThresholds, 0, numPalettes);
+    testedRule = other.testedRule;
+    thresholdsKnown = other.thresholdsKnown;
+    knownWinningIndex = other.knownWinningIndex;
+  }
+
+  /**
+   * Replaces the deck with a random ordered sample of the given candidate cards. Each card is
+   * picked from the candidates left when it is drawn, so only the cards drawn use the source
+   * of randomness.
+   *
+   * @param candidates the ordinals of the cards the deck may hold
+   * @param numCandidates the number of candidates at the start of candidates
+   * @param deckSize   the number of cards to put in the deck, at most numCandidates
+   * @param random     the source of randomness, kept until the next deal
+   */
+  void dealDeck(byte[] candidates, int numCandidates, int deckSize, RandomGenerator random) {
+    System.arraycopy(candidates, 0, deck, 0, numCandidates);
+    this.random = random;
+    deckCursor = 0;
+    deckEnd = deckSize;
+    numUndealt = numCandidates;
+  }
+
+  /**
+   * Returns the number of cards in the hand.
+   *
+   * @return the number of cards in the hand
+   */
+  public int handSize() {
+    return handSize;
+  }
+
+  /**
+   * Returns the card at a position in the hand.
+   *
+   * @param cardIdxInHand the 0-based index of the card in the hand
+   * @return the ordinal of the card
+   */
+  public int handCard(int cardIdxInHand) {
+    return hand[cardIdxInHand];
+  }
+
+  /**
+   * Returns the number of cards left in the deck.
+   *
+   * @return the number of cards in the deck
+   */
+  public int deckSize() {
+    return deckEnd - deckCursor;
+  }
+
+  /**
+   * Returns the number of palettes.
+   *
+   * @return the number of palettes
+   */
+  public int numPalettes() {
+    return numPalettes;
+  }
+
+  /**
+   * Returns the cards in a palette.
+   *
+   * @param paletteIdx the 0-based index of the palette
+   * @return a mask with bit i set when the card with ordinal i is in the palette
+   */
+  public long paletteMask(int paletteIdx) {
+    return masks[paletteIdx];
+  }
+
+  /**
+   * Returns the card on the canvas.
+   *
+   * @return the ordinal of the card on the canvas
+   */
+  public int canvas() {
+    return canvas;
+  }
+
+  /**
+   * Returns the palette that is currently winning.
+   *
+   * @return the 0-based index of the winning palette
+   */
+  public int winningPaletteIndex() {
+    int rule = canvas % NUM_COLORS;
+    long highestScore = 0L;
+    int winningIndex = -1;
+    for (int p = 0; p < numPalettes; p++) {
+      long score = score(p, rule);
+      if (winningIndex < 0 || score > highestScore) {
+        highestScore = score;
+        winningIndex = p;
+      }
+    }
+    return winningIndex;
+  }
+
+  /**
+   * Fills the given buffer with every move that does not lose on the spot: palette moves
+   * first, then canvas moves, then drawing if it would change the game.
+   *
+   * @param moves the buffer to fill, at least Moves.maxMoveCount(numPalettes, maxHandSize) + 1
+   *              long
+   * @return the number of moves written to the start of the buffer
+   */
+  int legalMoves(int[] moves) {
+    int count = 0;
+    int winningIndex = updateThresholds();
+    long playable = 0L;
+    for (int p = 0; p < numPalettes; p++) {
+      if (p != winningIndex) {
+        testHand(p);
+        playable |= handMask & winningCards[p];
+      }
+    }
+
+    if (playable != 0L) {
+      for (int i = 0; i < handSize; i++) {
+        long bit = 1L << hand[i];
+        if ((playable & bit) != 0L) {
+          for (int p = 0; p < numPalettes; p++) {
+            if (p != winningIndex && (winningCards[p] & bit) != 0L) {
+              moves[count++] = Moves.palette(p, i);
+            }
+          }
+        }
+      }
+    }
+    for (int i = 0; i < canvasMoveCount(); i++) {
+      moves[count++] = Moves.canvas(i);
+    }
+    if (canDraw(winningIndex)) {
+      moves[count++] = Moves.DRAW;
+    }
+    return count;
+  }
+
+  /**
+   * Returns a uniformly random move among the moves {@link #legalMoves} would list.
+   *
+   * @param random the source of randomness
+   * @return the move, or {@link #NO_MOVE} if no move is legal
+   */
+  public int randomMove(RandomGenerator random) {
+    int winningIndex = updateThresholds();
+    return pick(winningIndex, canvasMoveCount() + (canDraw(winningIndex) ? 1 : 0), random);
+  }
+
+  /**
+   * Returns a uniformly random palette move among the moves {@link #legalMoves} would list.
+   *
+   * @param random the source of randomness
+   * @return the move, or {@link #NO_MOVE} if no palette move is legal
+   */
+  public int randomPaletteMove(RandomGenerator random) {
+    return pick(updateThresholds(), 0, random);
+  }
+
+  /**
+   * Plays a move from {@link #legalMoves}, {@link #randomMove} or {@link #randomPaletteMove}.
+   *
+   * @param move a legal move
+   * @return WON or LOST if the move ends the game, otherwise ONGOING
+   */
+  int play(int move) {
+    if (Moves.isDraw(move)) {
+      int count = cardsToDraw(updateThresholds());
+      for (int i = 0; i < count; i++) {
+        int j = deckCursor + random.nextInt(numUndealt - deckCursor);
+        byte card = deck[j];
+        deck[j] = deck[deckCursor];
+        deck[deckCursor++] = card;
+        hand[handSize++] = card;
+        handMask |= 1L << card;
+      }
+      canPlayToCanvas = true;
+      playedToCanvas = false;
+      return ONGOING;
+    }
+    int card = removeFromHand(Moves.cardIndex(move));
+    if (Moves.isCanvas(move)) {
+      canvas = card;
+      canPlayToCanvas = false;
+      playedToCanvas = advancedDraw;
+      return ONGOING;
+    }
+    int paletteIdx = Moves.paletteIndex(move);
+    addToPalette(paletteIdx, card);
+    int winningIndex = updateThresholds();
+    if (winningIndex != paletteIdx) {
+      return LOST;
+    }
+    canPlayToCanvas = true;
+    if (handSize == 0 && deckCursor == deckEnd) {
+      return winningIndex == 0 ? WON : LOST;
+    }
+    return ONGOING;
+  }
+
+  /**
+   * Picks a uniformly random legal move among the legal palette moves and the given number of
+   * canvas moves and drawing, testing every card of the hand on every palette that is not
+   * winning.
+   *
+   * @param winningIndex the index of the winning palette
+   * @param others       how many other moves to pick from, counted as by {@link #otherMove}
+   * @param random       the source of randomness
+   * @return the move, or NO_MOVE if no move is legal
+   */
+  private int pick(int winningIndex, int others, RandomGenerator random) {
+    int legalPairs = 0;
+    for (int p = 0; p < numPalettes; p++) {
+      if (p != winningIndex) {
+        testHand(p);
+        legalPairs += Long.bitCount(handMask & winningCards[p]);
+      }
+    }
+    if (legalPairs + others == 0) {
+      return NO_MOVE;
+    }
+    int k = random.nextInt(legalPairs + others);
+    if (k >= legalPairs) {
+      return otherMove(k - legalPairs);
+    }
+    for (int i = 0; ; i++) {
+      long bit = 1L << hand[i];
+      for (int p = 0; p < numPalettes; p++) {
+        if (p != winningIndex && (winningCards[p] & bit) != 0L && k-- == 0) {
+          return Moves.palette(p, i);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns a canvas move or drawing by its position among them.
+   *
+   * @param index the position, counting the canvas moves first
+   * @return the move
+   */
+  private int otherMove(int index) {
+    return index < canvasMoveCount() ? Moves.canvas(index) : Moves.DRAW;
+  }
+
+  /**
+   * Returns how many canvas moves are legal, which is every card unless the canvas cannot be
+   * played to or the hand would be left empty.
+   *
+   * @return the number of canvas moves
+   */
+  private int canvasMoveCount() {
+    return canPlayToCanvas && handSize > 1 ? handSize : 0;
+  }
+
+  /**
+   * Returns whether drawing is legal, which is when it would change the game.
+   *
+   * @param winningIndex the index of the winning palette
+   * @return true if drawing is legal
+   */
+  private boolean canDraw(int winningIndex) {
+    return !canPlayToCanvas || playedToCanvas || cardsToDraw(winningIndex) > 0;
+  }
+
+  /**
+   * Finds the threshold of every palette under the rule of the canvas, and forgets which cards
+   * reach the thresholds that changed. Nothing is rescored while neither a palette nor the rule
+   * has changed since the last call.
+   *
+   * @return the index of the winning palette
+   */
+  private int updateThresholds() {
+    int rule = canvas % NUM_COLORS;
+    if (testedRule == rule && thresholdsKnown) {
+      return knownWinningIndex;
+    }
+    if (testedRule != rule) {
+      testedRule = rule;
+      Arrays.fill(testedCards, 0, numPalettes, 0L);
+    }
+    // A palette wins with a score greater than every earlier palette's and at least every
+    // later palette's, so its threshold is found from the best score on each side
+    long best = -1L;
+    for (int p = 0; p < numPalettes; p++) {
+      bestBefore[p] = best;
+      best = Math.max(best, score(p, rule));
+    }
+    best = -1L;
+    int winningIndex = -1;
+    for (int p = numPalettes - 1; p >= 0; p--) {
+      long score = scores[p * NUM_COLORS + rule];
+      long threshold = Math.max(bestBefore[p] + 1, best);
+      best = Math.max(best, score);
+      if (score >= threshold) {
+        winningIndex = p;
+      } else if (winThresholds[p] != threshold) {
+        winThresholds[p] = threshold;
+        testedCards[p] = 0L;
+      }
+    }
+    thresholdsKnown = true;
+    knownWinningIndex = winningIndex;
+    return winningIndex;
+  }
+
+  /**
+   * Finds which cards of the hand make a palette that is not winning reach its threshold,
+   * testing only the cards that were not tested since the threshold or the rule changed.
+   *
+   * @param paletteIdx the index of the palette
+   */
+  private void testHand(int paletteIdx) {
+    long untested = handMask & ~testedCards[paletteIdx];
+    if (untested != 0L) {
+      long winning = (testedCards[paletteIdx] == 0L) ? 0L : winningCards[paletteIdx];
+      winningCards[paletteIdx] = winning | rules[testedRule].cardsReaching(masks[paletteIdx],
+              untested, winThresholds[paletteIdx]);
+      testedCards[paletteIdx] |= untested;
+    }
+  }
+
+  /**
+   * Returns the score of a palette under a rule, scoring it if it was not scored under that
+   * rule since it last changed.
+   *
+   * @param paletteIdx the index of the palette
+   * @param rule       the index of the rule, the rank of its color minus one
+   * @return the packed score of the palette
+   */
+  private long score(int paletteIdx, int rule) {
+    int index = paletteIdx * NUM_COLORS + rule;
+    if ((scoredColors[paletteIdx] & (1 << rule)) == 0) {
+      scores[index] = rules[rule].score(masks[paletteIdx]);
+      scoredColors[paletteIdx] |= 1 << rule;
+    }
+    return scores[index];
+  }
+
+  /**
+   * Adds a card to a palette, forgetting its scores and which cards reach its threshold.
+   *
+   * @param paletteIdx the index of the palette
+   * @param card       the ordinal of the card
+   */
+  private void addToPalette(int paletteIdx, int card) {
+    masks[paletteIdx] |= 1L << card;
+    scoredColors[paletteIdx] = 0;
+    testedCards[paletteIdx] = 0L;
+    thresholdsKnown = false;
+  }
+
+  /**
+   * Returns how many cards drawing would deal now.
+   *
+   * @param winningIndex the index of the winning palette
+   * @return the number of cards drawing deals
+   */
+  private int cardsToDraw(int winningIndex) {
+    int room = maxHandSize - handSize;
+    int wanted = room;
+    if (advancedDraw) {
+      int winningPaletteSize = Long.bitCount(masks[winningIndex]);
+      wanted = playedToCanvas && canvas / NUM_COLORS > winningPaletteSize ? 2 : 1;
+    }
+    return Math.min(Math.min(wanted, room), deckEnd - deckCursor);
+  }
+
+  /**
+   * Sets the number of palettes, making room for their cards and scores.
+   *
+   * @param numPalettes the number of palettes
+   */
+  private void ensurePalettes(int numPalettes) {
+    this.numPalettes = numPalettes;
+    if (masks.length < numPalettes) {
+      masks = new long[numPalettes];
+      scores = new long[numPalettes * NUM_COLORS];
+      scoredColors = new int[numPalettes];
+      testedCards = new long[numPalettes];
+      winningCards = new long[numPalettes];
+      winThresholds = new long[numPalettes];
+      bestBefore = new long[numPalettes];
+    }
+  }
+
+  private int removeFromHand(int cardIdxInHand) {
+    int card = hand[cardIdxInHand];
+    handMask &= ~(1L << card);
+    System.arraycopy(hand, cardIdxInHand + 1, hand, cardIdxInHand,
+            handSize - cardIdxInHand - 1);
+    handSize--;
+    return card;
+  }
+}
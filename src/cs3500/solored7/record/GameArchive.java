@@ -0,0 +1,285 @@
+package cs3500.solored.record;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads an archive of game records written by {@link GameArchiveWriter}, by mapping its files
+ * into memory with FileChannel.map. Fetching game n reads its offset from the fixed-width
+ * index and reads the record in place, so no earlier record is parsed or even touched.
+ *
+ * <p>Each file is mapped in segments, since one mapping holds at most 2 GB. Segments of the
+ * data file overlap by {@link #SEGMENT_OVERLAP} bytes, or half a segment if that is less, so
+ * a record that starts in a segment ends in it too unless it is larger than the overlap, in
+ * which case it is read into memory.
+ *
+ * <p>An archive shows the records that were in it when it was opened. All its reads are
+ * absolute, so any number of threads can read it at once; a scan over all games parallelizes
+ * by giving each thread its own range of ids.
+ */
+public final class GameArchive implements Closeable {
+  /**
+   * The suffix added to the path of an archive to name its data file.
+   */
+  public static final String DATA_SUFFIX = ".dat";
+
+  /**
+   * The suffix added to the path of an archive to name its index file.
+   */
+  public static final String INDEX_SUFFIX = ".idx";
+
+  /**
+   * The default number of bytes mapped by each segment of a file.
+   */
+  public static final int DEFAULT_SEGMENT_SIZE = 1 << 30;
+
+  /**
+   * The most bytes by which segments of the data file overlap.
+   */
+  public static final int SEGMENT_OVERLAP = 1 << 16;
+
+  static final int MAGIC = 0x53524741;
+  static final int VERSION = 1;
+  static final int HEADER_SIZE = 2 * Integer.BYTES;
+  static final int INDEX_ENTRY_SIZE = Long.BYTES;
+
+  private final FileChannel data;
+  private final FileChannel index;
+  private final MappedByteBuffer[] dataSegments;
+  private final MappedByteBuffer[] indexSegments;
+  private final int segmentSize;
+  private final long dataSize;
+  private final long count;
+  private final GameReplayer replayer;
+
+  /**
+   * Opens the archive at the given path for reading, mapping 1 GB segments.
+   *
+   * @param path the path of the archive, to which {@link #DATA_SUFFIX} and
+   *             {@link #INDEX_SUFFIX} are added to name its files
+   * @throws IllegalArgumentException if path is null, or the files are not an archive
+   * @throws IOException              if the files cannot be opened or mapped
+   */
+  public GameArchive(Path path) throws IOException {
+    this(path, DEFAULT_SEGMENT_SIZE);
+  }
+
+  /**
+   * Opens the archive at the given path for reading, mapping segments of the given size.
+   *
+   * @param path        the path of the archive
+   * @param segmentSize the number of bytes mapped by each segment, a positive multiple of 8 of
+   *                    at most {@link #DEFAULT_SEGMENT_SIZE}
+   * @throws IllegalArgumentException if path is null, segmentSize is invalid, or the files
+   *                                  are not an archive
+   * @throws IOException              if the files cannot be opened or mapped
+   */
+  public GameArchive(Path path, int segmentSize) throws IOException {
+    if (path == null) {
+      throw new IllegalArgumentException("Path cannot be null.");
+    }
+    if (segmentSize <= 0 || segmentSize % INDEX_ENTRY_SIZE != 0
+            || segmentSize > DEFAULT_SEGMENT_SIZE) {
+      throw new IllegalArgumentException("Invalid segment size: " + segmentSize);
+    }
+    this.segmentSize = segmentSize;
+    this.data = FileChannel.open(dataFile(path), StandardOpenOption.READ);
+    this.index = FileChannel.open(indexFile(path), StandardOpenOption.READ);
+    try {
+      this.dataSize = data.size();
+      if (dataSize < HEADER_SIZE) {
+        throw new IllegalArgumentException("Archive data file has no header.");
+      }
+      this.count = index.size() / INDEX_ENTRY_SIZE;
+      this.dataSegments = map(data, dataSize, Math.min(SEGMENT_OVERLAP, segmentSize / 2));
+      this.indexSegments = map(index, count * INDEX_ENTRY_SIZE, 0);
+      checkHeader(dataSegments[0].duplicate());
+    } catch (IOException | IllegalArgumentException e) {
+      close();
+      throw e;
+    }
+    this.replayer = new GameReplayer();
+  }
+
+  /**
+   * Returns the number of games in the archive.
+   *
+   * @return the number of games
+   */
+  public long size() {
+    return count;
+  }
+
+  /**
+   * Returns the binary record of a game, in place in the mapped file when it fits in one
+   * segment. The buffer is read-only and independent of any other returned buffer.
+   *
+   * @param id the game id
+   * @return a buffer from position 0 to the end of the record
+   * @throws IllegalArgumentException if id is not a game of the archive, or the archive is
+   *                                  corrupt
+   * @throws IllegalStateException    if a record larger than the overlap cannot be read
+   */
+  public ByteBuffer recordBytes(long id) {
+    if (id < 0 || id >= count) {
+      throw new IllegalArgumentException("Invalid game id: " + id);
+    }
+    long entry = id * INDEX_ENTRY_SIZE;
+    long offset = indexSegments[(int) (entry / segmentSize)].getLong((int) (entry % segmentSize));
+    if (offset < HEADER_SIZE || offset + Integer.BYTES > dataSize) {
+      throw new IllegalArgumentException("Corrupt archive offset for game " + id);
+    }
+    MappedByteBuffer segment = dataSegments[(int) (offset / segmentSize)];
+    int start = (int) (offset % segmentSize);
+    int length = segment.getInt(start);
+    if (length < 0 || offset + Integer.BYTES + length > dataSize) {
+      throw new IllegalArgumentException("Corrupt archive length for game " + id);
+    }
+    if (start + Integer.BYTES + length <= segment.limit()) {
+      // The mapping is read-only, and so is every slice of it
+      return segment.slice(start + Integer.BYTES, length);
+    }
+    return readRecord(offset + Integer.BYTES, length);
+  }
+
+  /**
+   * Returns the record of a game.
+   *
+   * @param id the game id
+   * @return the record
+   * @throws IllegalArgumentException if id is not a game of the archive, or its record is
+   *                                  corrupt
+   */
+  public GameRecord get(long id) {
+    ByteBuffer bytes = recordBytes(id);
+    GameRecord record = GameRecord.readFrom(bytes);
+    if (bytes.hasRemaining()) {
+      throw new IllegalArgumentException("Extra bytes after record of game " + id);
+    }
+    return record;
+  }
+
+  /**
+   * Replays a game on a new model of its type, to check that it plays out as recorded.
+   *
+   * @param id the game id
+   * @return the result of the replay
+   * @throws IllegalArgumentException if id is not a game of the archive, or its record is
+   *                                  corrupt
+   */
+  public ReplayResult replay(long id) {
+    return replayer.replay(get(id));
+  }
+
+  /**
+   * Visits the binary records of a range of games in order, each in place as
+   * {@link #recordBytes} returns it. Disjoint ranges can be scanned on separate threads.
+   *
+   * @param from    the id of the first game to visit
+   * @param to      one more than the id of the last game to visit
+   * @param visitor the visitor of each record
+   * @throws IllegalArgumentException if the range is not within the archive, or visitor is
+   *                                  null
+   */
+  public void scan(long from, long to, RecordVisitor visitor) {
+    if (from < 0 || to > count || from > to) {
+      throw new IllegalArgumentException("Invalid range of games: " + from + " to " + to);
+    }
+    if (visitor == null) {
+      throw new IllegalArgumentException("Visitor cannot be null.");
+    }
+    for (long id = from; id < to; id++) {
+      visitor.visit(id, recordBytes(id));
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      data.close();
+    } finally {
+      index.close();
+    }
+  }
+
+  /**
+   * Returns the path of the data file of an archive.
+   */
+  static Path dataFile(Path path) {
+    return path.resolveSibling(path.getFileName() + DATA_SUFFIX);
+  }
+
+  /**
+   * Returns the path of the index file of an archive.
+   */
+  static Path indexFile(Path path) {
+    return path.resolveSibling(path.getFileName() + INDEX_SUFFIX);
+  }
+
+  /**
+   * Checks the header at the position of a buffer.
+   *
+   * @throws IllegalArgumentException if it is not the header of an archive of this version
+   */
+  static void checkHeader(ByteBuffer header) {
+    if (header.getInt() != MAGIC) {
+      throw new IllegalArgumentException("Not a game archive.");
+    }
+    int version = header.getInt();
+    if (version != VERSION) {
+      throw new IllegalArgumentException("Unsupported game archive version: " + version);
+    }
+  }
+
+  /**
+   * Reads a record that runs past the end of its segment into memory.
+   */
+  private ByteBuffer readRecord(long position, int length) {
+    ByteBuffer dst = ByteBuffer.allocate(length);
+    try {
+      while (dst.hasRemaining()) {
+        if (data.read(dst, position + dst.position()) < 0) {
+          throw new IllegalArgumentException("Archive is truncated.");
+        }
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to read the archive.", e);
+    }
+    return dst.flip().asReadOnlyBuffer();
+  }
+
+  /**
+   * Maps the first bytes of a file in read-only segments that start every segmentSize bytes,
+   * each extending the given overlap into the next one.
+   */
+  private MappedByteBuffer[] map(FileChannel channel, long size, int overlap)
+          throws IOException {
+    int segments = (int) Math.max(1, (size + segmentSize - 1) / segmentSize);
+    MappedByteBuffer[] mapped = new MappedByteBuffer[segments];
+    for (int i = 0; i < segments; i++) {
+      long start = (long) i * segmentSize;
+      long length = Math.min(size - start, (long) segmentSize + overlap);
+      mapped[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.max(0, length));
+    }
+    return mapped;
+  }
+
+  /**
+   * Visits the binary records of an archive.
+   */
+  public interface RecordVisitor {
+
+    /**
+     * Visits the record of one game.
+     *
+     * @param id     the game id
+     * @param record a read-only buffer from position 0 to the end of the record
+     */
+    void visit(long id, ByteBuffer record);
+  }
+}
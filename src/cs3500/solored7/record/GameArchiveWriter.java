@@ -0,0 +1,230 @@
+package cs3500.solored.record;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends game records to an archive that {@link GameArchive} reads. An archive is two files:
+ * a data file of records, each preceded by its length as a 4-byte int, after a short header,
+ * and an index file holding the 8-byte offset in the data file of every record, in the order
+ * they were appended. The game id of a record is its position in the index.
+ *
+ * <p>Appended records are kept in buffers and written in batches, when a buffer fills or on
+ * {@link #flush} or {@link #close}; readers see them once they are written. Each batch of
+ * records is written to the data file and forced onto the storage device before their offsets
+ * are written to the index, so a crash, even of the operating system, can only leave data that
+ * is not indexed yet. Opening a writer drops such data, any partly written index entry, and
+ * any index entry whose record does not lie within the data file, before appending.
+ */
+public final class GameArchiveWriter implements Closeable {
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final FileChannel data;
+  private final FileChannel index;
+  private final ByteBuffer indexBuffer;
+  private ByteBuffer dataBuffer;
+  // The end of the data and the number of records written to the files, and appended
+  private long writtenDataEnd;
+  private long writtenCount;
+  private long dataEnd;
+  private long count;
+
+  /**
+   * Opens the archive at the given path for appending, creating it if it does not exist.
+   *
+   * @param path the path of the archive, to which {@link GameArchive#DATA_SUFFIX} and
+   *             {@link GameArchive#INDEX_SUFFIX} are added to name its files
+   * @throws IllegalArgumentException if path is null, or the files are not an archive
+   * @throws IOException              if the files cannot be opened or repaired
+   */
+  public GameArchiveWriter(Path path) throws IOException {
+    if (path == null) {
+      throw new IllegalArgumentException("Path cannot be null.");
+    }
+    this.data = FileChannel.open(GameArchive.dataFile(path), StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+    this.index = FileChannel.open(GameArchive.indexFile(path), StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+    this.indexBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+    this.dataBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+    try {
+      recover();
+    } catch (IOException | IllegalArgumentException e) {
+      close();
+      throw e;
+    }
+  }
+
+  /**
+   * Appends a record to the archive.
+   *
+   * @param record the record to append
+   * @return the game id of the record
+   * @throws IllegalArgumentException if record is null
+   * @throws IOException              if the record cannot be written
+   */
+  public long append(GameRecord record) throws IOException {
+    if (record == null) {
+      throw new IllegalArgumentException("Record cannot be null.");
+    }
+    int size = record.encodedSize();
+    if (dataBuffer.remaining() < Integer.BYTES + size || !indexBuffer.hasRemaining()) {
+      writeBuffers();
+      if (dataBuffer.capacity() < Integer.BYTES + size) {
+        dataBuffer = ByteBuffer.allocate(Integer.BYTES + size);
+      }
+    }
+    dataBuffer.putInt(size);
+    record.writeTo(dataBuffer);
+    indexBuffer.putLong(dataEnd);
+    dataEnd += Integer.BYTES + size;
+    return count++;
+  }
+
+  /**
+   * Returns the number of records in the archive, including those not written yet.
+   *
+   * @return the number of records, which is the id the next record will get
+   */
+  public long size() {
+    return count;
+  }
+
+  /**
+   * Writes every record appended so far and forces it onto the storage device.
+   *
+   * @throws IOException if the records cannot be written or forced
+   */
+  public void flush() throws IOException {
+    writeBuffers();
+    data.force(false);
+    index.force(false);
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      writeBuffers();
+    } finally {
+      try {
+        data.close();
+      } finally {
+        index.close();
+      }
+    }
+  }
+
+  /**
+   * Writes the buffered records to the data file, forces them onto the storage device, and
+   * then writes their offsets to the index.
+   *
+   * @throws IOException if the records cannot be written
+   */
+  private void writeBuffers() throws IOException {
+    if (!data.isOpen() || count == writtenCount) {
+      return;
+    }
+    dataBuffer.flip();
+    writeFully(data, dataBuffer, writtenDataEnd);
+    dataBuffer.clear();
+    data.force(false);
+    indexBuffer.flip();
+    writeFully(index, indexBuffer, writtenCount * GameArchive.INDEX_ENTRY_SIZE);
+    indexBuffer.clear();
+    writtenDataEnd = dataEnd;
+    writtenCount = count;
+  }
+
+  /**
+   * Writes the header of a new archive, or finds the end of the last indexed record of an
+   * existing one and cuts off anything after it. Index entries are dropped from the end until
+   * the last one points at a whole record in the data file, right after the record before it.
+   *
+   * @throws IOException if the files cannot be read or truncated
+   */
+  private void recover() throws IOException {
+    if (data.size() == 0) {
+      ByteBuffer header = ByteBuffer.allocate(GameArchive.HEADER_SIZE);
+      header.putInt(GameArchive.MAGIC).putInt(GameArchive.VERSION).flip();
+      writeFully(data, header, 0);
+    } else {
+      GameArchive.checkHeader(readFully(data, 0, GameArchive.HEADER_SIZE));
+    }
+    count = index.size() / GameArchive.INDEX_ENTRY_SIZE;
+    dataEnd = -1;
+    while (count > 0 && dataEnd < 0) {
+      dataEnd = recordEnd(count - 1);
+      if (dataEnd < 0) {
+        count--;
+      }
+    }
+    if (count == 0) {
+      dataEnd = GameArchive.HEADER_SIZE;
+    }
+    index.truncate(count * GameArchive.INDEX_ENTRY_SIZE);
+    data.truncate(dataEnd);
+    writtenDataEnd = dataEnd;
+    writtenCount = count;
+  }
+
+  /**
+   * Returns the end in the data file of an indexed record, or -1 if its index entry does not
+   * point at a whole record right after the record before it.
+   *
+   * @param id the game id of the record
+   * @return the offset just past the record, or -1 if the entry is invalid
+   * @throws IOException if the files cannot be read
+   */
+  private long recordEnd(long id) throws IOException {
+    long start = GameArchive.HEADER_SIZE;
+    if (id > 0) {
+      start = endOfRecordAt(readFully(index, (id - 1) * GameArchive.INDEX_ENTRY_SIZE,
+              GameArchive.INDEX_ENTRY_SIZE).getLong());
+    }
+    long offset = readFully(index, id * GameArchive.INDEX_ENTRY_SIZE,
+            GameArchive.INDEX_ENTRY_SIZE).getLong();
+    return (start < 0 || offset != start) ? -1 : endOfRecordAt(offset);
+  }
+
+  /**
+   * Returns the end in the data file of the record at the given offset, or -1 if no whole
+   * record fits there.
+   */
+  private long endOfRecordAt(long offset) throws IOException {
+    long size = data.size();
+    if (offset < GameArchive.HEADER_SIZE || offset > size - Integer.BYTES) {
+      return -1;
+    }
+    int length = readFully(data, offset, Integer.BYTES).getInt();
+    long end = offset + Integer.BYTES + length;
+    return (length < 0 || end > size) ? -1 : end;
+  }
+
+  /**
+   * Writes all of a buffer to a channel at the given position.
+   */
+  private static void writeFully(FileChannel channel, ByteBuffer src, long position)
+          throws IOException {
+    while (src.hasRemaining()) {
+      position += channel.write(src, position);
+    }
+  }
+
+  /**
+   * Reads the given number of bytes of a channel at the given position.
+   */
+  private static ByteBuffer readFully(FileChannel channel, long position, int size)
+          throws IOException {
+    ByteBuffer dst = ByteBuffer.allocate(size);
+    while (dst.hasRemaining()) {
+      if (channel.read(dst, position + dst.position()) < 0) {
+        throw new IllegalArgumentException("Archive is truncated.");
+      }
+    }
+    return dst.flip();
+  }
+}
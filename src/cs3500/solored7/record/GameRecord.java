@@ -0,0 +1,414 @@
+package cs3500.solored.record;
+
+import cs3500.solored.model.hw02.CardImpl;
+import cs3500.solored.model.hw02.CardUniverse;
+import cs3500.solored.model.hw02.Moves;
+import cs3500.solored.model.hw02.RedGameModel;
+import cs3500.solored.model.hw04.RedGameCreator;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The record of one game: its type, card universe and settings, the order of its deck, every
+ * move played, and how the game ended. A record holds everything needed to play the game
+ * again with {@link GameReplayer}. Games are recorded with the standard canvas rules.
+ *
+ * <p>In binary, a record is a version byte, a byte for the game type, and then varints (see
+ * {@link Varints}): the number of colors and highest number of the universe, the number of
+ * palettes and hand size, the deck size and the ordinal of each card, the number of moves and
+ * the code of each move, and last a byte for the outcome and the number of cards left in the
+ * deck. A move code is 0 for a draw and otherwise 1 + target * handSize + card, where target
+ * is 0 for the canvas and p + 1 for palette p, so with up to 17 targets of 7 cards every move
+ * takes one byte.
+ */
+public final class GameRecord {
+  /**
+   * The version of the binary format written by {@link #writeTo}.
+   */
+  public static final int VERSION = 1;
+
+  private static final RedGameCreator.GameType[] TYPES = RedGameCreator.GameType.values();
+  private static final Outcome[] OUTCOMES = Outcome.values();
+
+  private final RedGameCreator.GameType type;
+  private final CardUniverse universe;
+  private final int numPalettes;
+  private final int handSize;
+  private final int[] deck;
+  private final int[] moves;
+  private final Outcome outcome;
+  private final int cardsLeftInDeck;
+
+  /**
+   * Constructs the record of a game.
+   *
+   * @param type            the type of the game
+   * @param universe        the card universe of the game
+   * @param numPalettes     the number of palettes
+   * @param handSize        the maximum number of cards in the hand
+   * @param deck            the deck in the order it was dealt
+   * @param moves           the moves played, encoded by {@link Moves}
+   * @param outcome         how the game ended
+   * @param cardsLeftInDeck the number of cards left in the deck after the last move
+   * @throws IllegalArgumentException if any argument is null, the settings are invalid, the
+   *                                  deck has null cards or cards outside the universe, or a
+   *                                  move plays to a palette or card that does not exist
+   */
+  public GameRecord(RedGameCreator.GameType type, CardUniverse universe, int numPalettes,
+                    int handSize, List<CardImpl> deck, int[] moves, Outcome outcome,
+                    int cardsLeftInDeck) {
+    this(type, universe, numPalettes, handSize, ordinals(deck), checkMoves(moves, numPalettes,
+            handSize), outcome, cardsLeftInDeck);
+  }
+
+  private GameRecord(RedGameCreator.GameType type, CardUniverse universe, int numPalettes,
+                     int handSize, int[] deck, int[] moves, Outcome outcome,
+                     int cardsLeftInDeck) {
+    if (type == null || universe == null || outcome == null) {
+      throw new IllegalArgumentException("Game type, universe and outcome cannot be null.");
+    }
+    checkSettings(numPalettes, handSize);
+    if (cardsLeftInDeck < 0) {
+      throw new IllegalArgumentException("Invalid number of cards left in record.");
+    }
+    for (int ordinal : deck) {
+      // Rejects a card the universe does not have
+      universe.fromOrdinal(ordinal);
+    }
+    this.type = type;
+    this.universe = universe;
+    this.numPalettes = numPalettes;
+    this.handSize = handSize;
+    this.deck = deck;
+    this.moves = moves;
+    this.outcome = outcome;
+    this.cardsLeftInDeck = cardsLeftInDeck;
+  }
+
+  /**
+   * Returns the type of the game.
+   *
+   * @return the game type
+   */
+  public RedGameCreator.GameType getType() {
+    return type;
+  }
+
+  /**
+   * Returns the card universe of the game.
+   *
+   * @return the universe
+   */
+  public CardUniverse getUniverse() {
+    return universe;
+  }
+
+  /**
+   * Returns the number of palettes of the game.
+   *
+   * @return the number of palettes
+   */
+  public int getNumPalettes() {
+    return numPalettes;
+  }
+
+  /**
+   * Returns the maximum number of cards in the hand.
+   *
+   * @return the hand size
+   */
+  public int getHandSize() {
+    return handSize;
+  }
+
+  /**
+   * Returns the deck in the order it was dealt.
+   *
+   * @return an unmodifiable list of the cards
+   */
+  public List<CardImpl> getDeck() {
+    List<CardImpl> cards = new ArrayList<>(deck.length);
+    for (int ordinal : deck) {
+      cards.add(universe.fromOrdinal(ordinal));
+    }
+    return Collections.unmodifiableList(cards);
+  }
+
+  /**
+   * Returns the number of moves played.
+   *
+   * @return the number of moves
+   */
+  public int getMoveCount() {
+    return moves.length;
+  }
+
+  /**
+   * Returns one of the moves played.
+   *
+   * @param index the index of the move, 0 for the first
+   * @return the move, encoded by {@link Moves}
+   * @throws IllegalArgumentException if index is out of range
+   */
+  public int getMove(int index) {
+    if (index < 0 || index >= moves.length) {
+      throw new IllegalArgumentException("Invalid move index.");
+    }
+    return moves[index];
+  }
+
+  /**
+   * Returns how the game ended.
+   *
+   * @return the outcome
+   */
+  public Outcome getOutcome() {
+    return outcome;
+  }
+
+  /**
+   * Returns the number of cards that were left in the deck after the last move.
+   *
+   * @return the number of cards left in the deck
+   */
+  public int getCardsLeftInDeck() {
+    return cardsLeftInDeck;
+  }
+
+  /**
+   * Returns the number of bytes this record takes in binary.
+   *
+   * @return the size of the record in bytes
+   */
+  public int encodedSize() {
+    int size = 2 + Varints.size(universe.numColors()) + Varints.size(universe.maxNumber())
+            + Varints.size(numPalettes) + Varints.size(handSize) + Varints.size(deck.length)
+            + Varints.size(moves.length) + 1 + Varints.size(cardsLeftInDeck);
+    for (int ordinal : deck) {
+      size += Varints.size(ordinal);
+    }
+    for (int move : moves) {
+      size += Varints.size(code(move));
+    }
+    return size;
+  }
+
+  /**
+   * Writes this record in binary at the position of a buffer, advancing it by
+   * {@link #encodedSize} bytes.
+   *
+   * @param out the buffer to write to
+   * @throws java.nio.BufferOverflowException if the buffer has too little room left
+   */
+  public void writeTo(ByteBuffer out) {
+    out.put((byte) VERSION);
+    out.put((byte) type.ordinal());
+    Varints.put(out, universe.numColors());
+    Varints.put(out, universe.maxNumber());
+    Varints.put(out, numPalettes);
+    Varints.put(out, handSize);
+    Varints.put(out, deck.length);
+    for (int ordinal : deck) {
+      Varints.put(out, ordinal);
+    }
+    Varints.put(out, moves.length);
+    for (int move : moves) {
+      Varints.put(out, code(move));
+    }
+    out.put((byte) outcome.ordinal());
+    Varints.put(out, cardsLeftInDeck);
+  }
+
+  /**
+   * Returns this record in binary.
+   *
+   * @return a new array of {@link #encodedSize} bytes
+   */
+  public byte[] toBytes() {
+    byte[] bytes = new byte[encodedSize()];
+    writeTo(ByteBuffer.wrap(bytes));
+    return bytes;
+  }
+
+  /**
+   * Reads a record in binary at the position of a buffer, advancing it past the record. The
+   * bytes are read in place, so a slice of a larger buffer, such as a mapped file, is never
+   * copied.
+   *
+   * @param in the buffer to read from
+   * @return the record
+   * @throws IllegalArgumentException if the bytes are not a record of this version
+   */
+  public static GameRecord readFrom(ByteBuffer in) {
+    try {
+      int version = in.get();
+      if (version != VERSION) {
+        throw new IllegalArgumentException("Unsupported game record version: " + version);
+      }
+      int typeIndex = in.get();
+      if (typeIndex < 0 || typeIndex >= TYPES.length) {
+        throw new IllegalArgumentException("Invalid game type in record.");
+      }
+      CardUniverse universe = CardUniverse.of(Varints.get(in), Varints.get(in));
+      int numPalettes = Varints.get(in);
+      int handSize = Varints.get(in);
+      checkSettings(numPalettes, handSize);
+      int[] deck = new int[checkCount(Varints.get(in), in)];
+      for (int i = 0; i < deck.length; i++) {
+        deck[i] = Varints.get(in);
+      }
+      int[] moves = new int[checkCount(Varints.get(in), in)];
+      for (int i = 0; i < moves.length; i++) {
+        moves[i] = move(Varints.get(in), numPalettes, handSize);
+      }
+      int outcomeIndex = in.get();
+      if (outcomeIndex < 0 || outcomeIndex >= OUTCOMES.length) {
+        throw new IllegalArgumentException("Invalid outcome in record.");
+      }
+      return new GameRecord(TYPES[typeIndex], universe, numPalettes, handSize, deck, moves,
+              OUTCOMES[outcomeIndex], Varints.get(in));
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("Truncated game record.", e);
+    }
+  }
+
+  /**
+   * Reads a record from the given bytes, which must hold exactly one record.
+   *
+   * @param bytes the record in binary
+   * @return the record
+   * @throws IllegalArgumentException if bytes is null or is not exactly one record
+   */
+  public static GameRecord fromBytes(byte[] bytes) {
+    if (bytes == null) {
+      throw new IllegalArgumentException("Bytes cannot be null.");
+    }
+    ByteBuffer in = ByteBuffer.wrap(bytes);
+    GameRecord record = readFrom(in);
+    if (in.hasRemaining()) {
+      throw new IllegalArgumentException("Extra bytes after game record.");
+    }
+    return record;
+  }
+
+  /**
+   * Returns the code of a move in binary, which is small enough to fit one varint byte in
+   * most games.
+   *
+   * @param move a checked move, encoded by {@link Moves}
+   * @return the code of the move
+   */
+  private int code(int move) {
+    if (Moves.isDraw(move)) {
+      return 0;
+    }
+    int target = Moves.isCanvas(move) ? 0 : Moves.paletteIndex(move) + 1;
+    return 1 + target * handSize + Moves.cardIndex(move);
+  }
+
+  /**
+   * Returns the move of a code in binary.
+   *
+   * @param code        the code of the move
+   * @param numPalettes the number of palettes of the game
+   * @param handSize    the hand size of the game
+   * @return the move, encoded by {@link Moves}
+   * @throws IllegalArgumentException if the code is not a move of the game
+   */
+  private static int move(int code, int numPalettes, int handSize) {
+    if (code == 0) {
+      return Moves.DRAW;
+    }
+    int target = (code - 1) / handSize;
+    int card = (code - 1) % handSize;
+    if (target > numPalettes) {
+      throw new IllegalArgumentException("Invalid move in record.");
+    }
+    return (target == 0) ? Moves.canvas(card) : Moves.palette(target - 1, card);
+  }
+
+  /**
+   * Checks that a count read from a buffer cannot be more than the bytes left, since every
+   * element takes at least one byte.
+   */
+  private static int checkCount(int count, ByteBuffer in) {
+    if (count > in.remaining()) {
+      throw new IllegalArgumentException("Truncated game record.");
+    }
+    return count;
+  }
+
+  /**
+   * Checks that a game has at least two palettes and a hand, and that every move of the game
+   * has a code and can be encoded by {@link Moves}.
+   */
+  private static void checkSettings(int numPalettes, int handSize) {
+    if (numPalettes < 2 || handSize <= 0 || handSize > 0xFFFF
+            || (numPalettes + 1L) * handSize >= Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Invalid game settings in record.");
+    }
+  }
+
+  /**
+   * Returns the ordinals of the cards of a deck.
+   */
+  private static int[] ordinals(List<CardImpl> deck) {
+    if (deck == null) {
+      throw new IllegalArgumentException("Deck cannot be null.");
+    }
+    int[] ordinals = new int[deck.size()];
+    for (int i = 0; i < ordinals.length; i++) {
+      if (deck.get(i) == null) {
+        throw new IllegalArgumentException("Deck cannot have null cards.");
+      }
+      ordinals[i] = deck.get(i).ordinal();
+    }
+    return ordinals;
+  }
+
+  /**
+   * Returns a copy of the moves, checking that each one can be coded for the given settings.
+   */
+  private static int[] checkMoves(int[] moves, int numPalettes, int handSize) {
+    if (moves == null) {
+      throw new IllegalArgumentException("Moves cannot be null.");
+    }
+    checkSettings(numPalettes, handSize);
+    for (int move : moves) {
+      if (Moves.isDraw(move)) {
+        continue;
+      }
+      if (move < 0 || Moves.cardIndex(move) >= handSize
+              || Moves.paletteIndex(move) >= numPalettes) {
+        throw new IllegalArgumentException("Move " + Moves.toString(move)
+                + " does not exist in this game.");
+      }
+    }
+    return moves.clone();
+  }
+
+  /**
+   * How a recorded game ended.
+   * UNFINISHED games were stopped, for example by quitting, before the game was over.
+   */
+  public enum Outcome {
+    UNFINISHED, LOST, WON;
+
+    /**
+     * Returns how the given game stands now.
+     *
+     * @param game a game that has started
+     * @return WON or LOST if the game is over, UNFINISHED otherwise
+     */
+    public static Outcome of(RedGameModel<?> game) {
+      if (!game.isGameOver()) {
+        return UNFINISHED;
+      }
+      return game.isGameWon() ? WON : LOST;
+    }
+  }
+}
@@ -0,0 +1,92 @@
+package cs3500.solored.record;
+
+import cs3500.solored.model.hw02.CardImpl;
+import cs3500.solored.model.hw02.CardUniverse;
+import cs3500.solored.model.hw02.Moves;
+import cs3500.solored.model.hw02.RedGameModel;
+import cs3500.solored.model.hw04.RedGameCreator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Plays a game and records it. The recorder starts the game itself with the deck in the
+ * given order, so the record holds the exact deal, and then keeps every move that is played
+ * through it successfully.
+ */
+public final class GameRecorder {
+  private final RedGameModel<CardImpl> game;
+  private final RedGameCreator.GameType type;
+  private final CardUniverse universe;
+  private final List<CardImpl> deck;
+  private final int numPalettes;
+  private final int handSize;
+  private int[] moves;
+  private int moveCount;
+
+  /**
+   * Starts a game to record, dealing the deck in the given order. Shuffle the deck first for
+   * a random game.
+   *
+   * @param game        a game of the given type that has not started
+   * @param type        the type of the game
+   * @param universe    the card universe of the game
+   * @param deck        the deck, first card to deal first
+   * @param numPalettes the number of palettes
+   * @param handSize    the maximum number of cards in the hand
+   * @throws IllegalArgumentException if any argument is null, or the game cannot start with
+   *                                  the deck and settings
+   */
+  public GameRecorder(RedGameModel<CardImpl> game, RedGameCreator.GameType type,
+                      CardUniverse universe, List<CardImpl> deck, int numPalettes,
+                      int handSize) {
+    if (game == null || type == null || universe == null || deck == null) {
+      throw new IllegalArgumentException("Game, type, universe and deck cannot be null.");
+    }
+    this.deck = new ArrayList<>(deck);
+    game.startGame(this.deck, false, numPalettes, handSize);
+    this.game = game;
+    this.type = type;
+    this.universe = universe;
+    this.numPalettes = numPalettes;
+    this.handSize = handSize;
+    this.moves = new int[64];
+    this.moveCount = 0;
+  }
+
+  /**
+   * Returns the game being recorded, which should only be changed through {@link #play}.
+   *
+   * @return the game
+   */
+  public RedGameModel<CardImpl> getGame() {
+    return game;
+  }
+
+  /**
+   * Plays a move on the game and records it if it succeeds.
+   *
+   * @param move the move, encoded by {@link Moves}
+   * @throws IllegalStateException    if the move is illegal in the current state
+   * @throws IllegalArgumentException if the move refers to a palette or card that does not exist
+   */
+  public void play(int move) {
+    Moves.play(game, move);
+    if (moveCount == moves.length) {
+      moves = Arrays.copyOf(moves, moves.length * 2);
+    }
+    moves[moveCount++] = move;
+  }
+
+  /**
+   * Returns the record of the game so far, with the outcome it has now.
+   *
+   * @return the record
+   */
+  public GameRecord toRecord() {
+    GameRecord.Outcome outcome = GameRecord.Outcome.of(game);
+    return new GameRecord(type, universe, numPalettes, handSize, deck,
+            Arrays.copyOf(moves, moveCount), outcome, game.numOfCardsInDeck());
+  }
+}
@@ -0,0 +1,96 @@
+package cs3500.solored.record;
+
+import cs3500.solored.model.hw02.CanvasRules;
+import cs3500.solored.model.hw02.CardImpl;
+import cs3500.solored.model.hw02.Moves;
+import cs3500.solored.model.hw02.RedGameModel;
+import cs3500.solored.model.hw04.RedGameCreator;
+
+import java.util.SplittableRandom;
+
+/**
+ * Plays game records again and checks that each game plays out as recorded: that the deal
+ * starts, that every move is legal when it comes, and that the game ends with the recorded
+ * outcome and number of cards left in the deck. Records are replayed on a new model of their
+ * own game type, or on any model given, so a record can also be checked against another
+ * implementation of the rules.
+ */
+public final class GameReplayer {
+  private final CanvasRules rules;
+
+  /**
+   * Constructs a replayer that plays with the standard canvas rules, as games are recorded.
+   */
+  public GameReplayer() {
+    this(new CanvasRules());
+  }
+
+  /**
+   * Constructs a replayer that plays with the given canvas rules.
+   *
+   * @param rules the rule selected by each canvas color
+   * @throws IllegalArgumentException if rules is null
+   */
+  public GameReplayer(CanvasRules rules) {
+    if (rules == null) {
+      throw new IllegalArgumentException("Rules cannot be null.");
+    }
+    this.rules = rules;
+  }
+
+  /**
+   * Replays a record on a new model of its game type.
+   *
+   * @param record the record to replay
+   * @return the result of the replay
+   * @throws IllegalArgumentException if record is null, or its game type cannot play its
+   *                                  card universe
+   */
+  public ReplayResult replay(GameRecord record) {
+    if (record == null) {
+      throw new IllegalArgumentException("Record cannot be null.");
+    }
+    // The deck is dealt in recorded order, so the generator is never used
+    return replay(record, RedGameCreator.createGame(record.getType(), rules,
+            new SplittableRandom(0), record.getUniverse()));
+  }
+
+  /**
+   * Replays a record on the given model.
+   *
+   * @param record the record to replay
+   * @param game   a game that has not started, of any type that plays the record's universe
+   * @return the result of the replay
+   * @throws IllegalArgumentException if record or game is null
+   */
+  public ReplayResult replay(GameRecord record, RedGameModel<CardImpl> game) {
+    if (record == null || game == null) {
+      throw new IllegalArgumentException("Record and game cannot be null.");
+    }
+    try {
+      game.startGame(record.getDeck(), false, record.getNumPalettes(), record.getHandSize());
+    } catch (IllegalArgumentException | IllegalStateException e) {
+      return new ReplayResult(game, 0, "The deal could not start: " + e.getMessage());
+    }
+    int moveCount = record.getMoveCount();
+    for (int i = 0; i < moveCount; i++) {
+      int move = record.getMove(i);
+      try {
+        Moves.play(game, move);
+      } catch (IllegalArgumentException | IllegalStateException e) {
+        return new ReplayResult(game, i, Moves.toString(move) + " was illegal: "
+                + e.getMessage());
+      }
+    }
+    GameRecord.Outcome outcome = GameRecord.Outcome.of(game);
+    if (outcome != record.getOutcome()) {
+      return new ReplayResult(game, moveCount, "The game was " + outcome + ", not "
+              + record.getOutcome() + ".");
+    }
+    if (game.numOfCardsInDeck() != record.getCardsLeftInDeck()) {
+      return new ReplayResult(game, moveCount, game.numOfCardsInDeck()
+              + " cards were left in the deck, not " + record.getCardsLeftInDeck() + ".");
+    }
+    return new ReplayResult(game, -1, null);
+  }
+}
@@ -0,0 +1,70 @@
+package cs3500.solored.record;
+
+import cs3500.solored.model.hw02.CardImpl;
+import cs3500.solored.model.hw02.RedGameModel;
+
+/**
+ * The result of replaying a game record: whether the game played out as recorded, and if not,
+ * where it first diverged and why.
+ */
+public final class ReplayResult {
+  private final RedGameModel<CardImpl> game;
+  private final int divergedAt;
+  private final String reason;
+
+  /**
+   * Constructs the result of a replay.
+   *
+   * @param game       the replayed game, as it was when the replay stopped
+   * @param divergedAt the index of the move that diverged, or -1 if none did
+   * @param reason     why the replay diverged, or null if it did not
+   */
+  ReplayResult(RedGameModel<CardImpl> game, int divergedAt, String reason) {
+    this.game = game;
+    this.divergedAt = divergedAt;
+    this.reason = reason;
+  }
+
+  /**
+   * Returns whether every move replayed and the game ended as recorded.
+   *
+   * @return true if the replay matches the record
+   */
+  public boolean matches() {
+    return divergedAt < 0;
+  }
+
+  /**
+   * Returns where the replay diverged from the record: the index of the first move that could
+   * not be played, 0 if the deal itself failed, or the number of moves if every move played
+   * but the game ended differently.
+   *
+   * @return the index of the divergence, or -1 if the replay matches
+   */
+  public int getDivergedAt() {
+    return divergedAt;
+  }
+
+  /**
+   * Returns why the replay diverged from the record.
+   *
+   * @return a description of the divergence, or null if the replay matches
+   */
+  public String getReason() {
+    return reason;
+  }
+
+  /**
+   * Returns the replayed game, as it was when the replay stopped.
+   *
+   * @return the game
+   */
+  public RedGameModel<CardImpl> getGame() {
+    return game;
+  }
+
+  @Override
+  public String toString() {
+    return matches() ? "Replay matches" : "Replay diverged at move " + divergedAt + ": " + reason;
+  }
+}
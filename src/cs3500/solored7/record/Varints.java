@@ -0,0 +1,66 @@
+package cs3500.solored.record;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reads and writes non-negative ints as unsigned LEB128 varints: seven bits per byte, low bits
+ * first, with the high bit of every byte but the last set. Values below 128 take one byte.
+ */
+final class Varints {
+  private static final int MAX_BYTES = 5;
+
+  private Varints() {
+  }
+
+  /**
+   * Returns the number of bytes a value takes as a varint.
+   *
+   * @param value a non-negative value
+   * @return the number of bytes, from 1 to 5
+   */
+  static int size(int value) {
+    int size = 1;
+    while ((value >>>= 7) != 0) {
+      size++;
+    }
+    return size;
+  }
+
+  /**
+   * Writes a value as a varint at the position of a buffer, advancing it.
+   *
+   * @param out   the buffer to write to
+   * @param value a non-negative value
+   */
+  static void put(ByteBuffer out, int value) {
+    while ((value & ~0x7F) != 0) {
+      out.put((byte) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.put((byte) value);
+  }
+
+  /**
+   * Reads a varint at the position of a buffer, advancing it.
+   *
+   * @param in the buffer to read from
+   * @return the value, which is non-negative
+   * @throws IllegalArgumentException if the varint is longer than five bytes or does not fit in
+   *                                  a non-negative int
+   * @throws java.nio.BufferUnderflowException if the buffer ends inside the varint
+   */
+  static int get(ByteBuffer in) {
+    int value = 0;
+    for (int i = 0; i < MAX_BYTES; i++) {
+      int b = in.get();
+      value |= (b & 0x7F) << (7 * i);
+      if (b >= 0) {
+        if (i == MAX_BYTES - 1 && b > 0x07) {
+          throw new IllegalArgumentException("Varint does not fit in a non-negative int.");
+        }
+        return value;
+      }
+    }
+    throw new IllegalArgumentException("Varint is longer than five bytes.");
+  }
+}
@@ -0,0 +1,49 @@
+package cs3500.solored.sim;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * The random generator a worker's player keeps for all of its games. Before every game the
+ * simulation points it at a stream forked for that game alone, so a player can be created
+ * once per worker and still play each game the same way on any worker.
+ */
+final class GameStream implements RandomGenerator {
+  private SplittableRandom stream;
+
+  /**
+   * Constructs a generator that draws from a fresh unseeded stream until it is first reset.
+   */
+  GameStream() {
+    this.stream = new SplittableRandom();
+  }
+
+  /**
+   * Makes every later value come from the given stream.
+   *
+   * @param stream the stream of the next game
+   */
+  void reset(SplittableRandom stream) {
+    this.stream = stream;
+  }
+
+  @Override
+  public long nextLong() {
+    return stream.nextLong();
+  }
+
+  @Override
+  public int nextInt() {
+    return stream.nextInt();
+  }
+
+  @Override
+  public int nextInt(int bound) {
+    return stream.nextInt(bound);
+  }
+
+  @Override
+  public double nextDouble() {
+    return stream.nextDouble();
+  }
+}
@@ -0,0 +1,22 @@
+package cs3500.solored.sim;
+
+import cs3500.solored.player.RedGamePlayer;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Creates the player each worker of a simulation uses for all of its games.
+ */
+@FunctionalInterface
+public interface PlayerFactory {
+
+  /**
+   * Creates a player that takes all of its randomness from the given generator. Before every
+   * game the simulation switches that generator to a stream forked for the game, so a game
+   * plays out the same way no matter which worker runs it.
+   *
+   * @param random the source of randomness for the player
+   * @return a new player
+   */
+  RedGamePlayer create(RandomGenerator random);
+}
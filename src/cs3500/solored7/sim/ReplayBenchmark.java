@@ -0,0 +1,133 @@
+package cs3500.solored.sim;
+
+import cs3500.solored.model.hw02.CardImpl;
+import cs3500.solored.model.hw02.CardUniverse;
+import cs3500.solored.model.hw02.Deck;
+import cs3500.solored.model.hw02.Moves;
+import cs3500.solored.model.hw02.SearchableRedGameModel;
+import cs3500.solored.model.hw04.RedGameCreator;
+import cs3500.solored.record.GameRecord;
+import cs3500.solored.record.GameRecorder;
+import cs3500.solored.record.GameReplayer;
+import cs3500.solored.record.ReplayResult;
+
+import java.nio.ByteBuffer;
+import java.util.SplittableRandom;
+
+/**
+ * Main class for measuring game records. For each game type it records games into one
+ * buffer, played by a player that picks random moves but avoids losing at once when it can and
+ * draws after every palette move. It prints the average number of moves and bytes of a record,
+ * and how many moves per second the records replay at, counting the time to decode them.
+ * Each move takes one byte, and the deck most of the rest.
+ */
+public final class ReplayBenchmark {
+  private static final RedGameCreator.GameType[] TYPES = RedGameCreator.GameType.values();
+
+  /**
+   * Runs the benchmark and prints a table of record sizes and replay speeds.
+   *
+   * @param args command-line arguments.
+   *             Optional first argument is the number of games per game type.
+   */
+  public static void main(String[] args) {
+    int games = (args.length > 0) ? Integer.parseInt(args[0]) : 200_000;
+
+    System.out.println("game        moves/game    bytes/game    moves/s replayed");
+    for (RedGameCreator.GameType type : TYPES) {
+      ByteBuffer records = record(type, games);
+      // Warm up before measuring
+      replay(records, games / 4);
+      long start = System.nanoTime();
+      long moves = replay(records, games);
+      double seconds = (System.nanoTime() - start) / 1e9;
+      System.out.printf("%-8s    %10.1f    %10.1f    %16.0f%n", type,
+              (double) moves / games, (double) records.limit() / games, moves / seconds);
+    }
+  }
+
+  /**
+   * Records games of a type.
+   *
+   * @param type  the type of game
+   * @param games the number of games
+   * @return a buffer holding the records one after another
+   */
+  private static ByteBuffer record(RedGameCreator.GameType type, int games) {
+    SplittableRandom random = new SplittableRandom(24);
+    int[] moves = new int[Moves.maxMoveCount(4, 7)];
+    ByteBuffer records = ByteBuffer.allocate(games * 128);
+    for (int i = 0; i < games; i++) {
+      Deck deck = new Deck(CardUniverse.STANDARD.cards());
+      deck.shuffle(random);
+      GameRecorder recorder = new GameRecorder(RedGameCreator.createGame(type),
+              type, CardUniverse.STANDARD, deck.snapshot(), 4, 7);
+      SearchableRedGameModel<CardImpl> game =
+              (SearchableRedGameModel<CardImpl>) recorder.getGame();
+      while (!game.isGameOver()) {
+        int move = survivingMove(game, moves, random);
+        recorder.play(move);
+        if (!Moves.isDraw(move) && !Moves.isCanvas(move) && !game.isGameOver()) {
+          recorder.play(Moves.DRAW);
+        }
+      }
+      GameRecord record = recorder.toRecord();
+      if (records.remaining() < record.encodedSize()) {
+        ByteBuffer grown = ByteBuffer.allocate(records.capacity() * 2);
+        grown.put(records.flip());
+        records = grown;
+      }
+      record.writeTo(records);
+    }
+    return records.flip();
+  }
+
+  /**
+   * Picks a random legal move that does not lose the game at once, if there is one.
+   *
+   * @param game   a game that is not over
+   * @param moves  a buffer for the legal moves
+   * @param random the source of randomness
+   * @return the move
+   */
+  private static int survivingMove(SearchableRedGameModel<CardImpl> game, int[] moves,
+                                   SplittableRandom random) {
+    int count = game.legalMoves(moves);
+    if (count == 0) {
+      return Moves.DRAW;
+    }
+    int start = random.nextInt(count);
+    for (int i = 0; i < count; i++) {
+      int move = moves[(start + i) % count];
+      game.makeMove(move);
+      boolean survives = !game.isGameOver() || game.isGameWon();
+      game.undo();
+      if (survives) {
+        return move;
+      }
+    }
+    return moves[start];
+  }
+
+  /**
+   * Decodes and replays records, checking that each one matches.
+   *
+   * @param records a buffer of records one after another
+   * @param games   the number of records to replay
+   * @return the number of moves replayed
+   */
+  private static long replay(ByteBuffer records, int games) {
+    GameReplayer replayer = new GameReplayer();
+    ByteBuffer in = records.duplicate();
+    long moves = 0;
+    for (int i = 0; i < games; i++) {
+      GameRecord record = GameRecord.readFrom(in);
+      ReplayResult result = replayer.replay(record);
+      if (!result.matches()) {
+        throw new IllegalStateException("Game " + i + ": " + result);
+      }
+      moves += record.getMoveCount();
+    }
+    return moves;
+  }
+}
@@ -0,0 +1,88 @@
+package cs3500.solored.sim;
+
+import cs3500.solored.model.hw02.CanvasRules;
+import cs3500.solored.model.hw02.CardImpl;
+import cs3500.solored.model.hw02.Moves;
+import cs3500.solored.model.hw02.RedGameModel;
+import cs3500.solored.model.hw04.RedGameCreator;
+import cs3500.solored.player.MctsPlayer;
+import cs3500.solored.player.PaletteFirstRolloutPolicy;
+import cs3500.solored.player.RandomRolloutPolicy;
+import cs3500.solored.player.RolloutPolicy;
+
+import java.util.SplittableRandom;
+
+/**
+ * Main class for measuring how many playouts per second the Monte Carlo player runs on one
+ * core. For each draw rule and rollout policy it plays whole seeded games with a player of a
+ * fixed number of iterations per move, and divides the playouts the player ran by the time it
+ * spent choosing moves, so the time to play the chosen moves on the model is not counted.
+ * Every iteration runs exactly one playout unless its new node ends the game, so this is
+ * close to the number of iterations per second.
+ */
+public final class RolloutBenchmark {
+  private static final RedGameCreator.GameType[] TYPES = {
+      RedGameCreator.GameType.BASIC, RedGameCreator.GameType.ADVANCED};
+
+  /**
+   * Runs the benchmark and prints a table of playouts per second.
+   *
+   * @param args command-line arguments.
+   *             Optional first argument is the number of games per measurement.
+   *             Optional second argument is the number of iterations per move.
+   */
+  public static void main(String[] args) {
+    int games = (args.length > 0) ? Integer.parseInt(args[0]) : 20;
+    int iterations = (args.length > 1) ? Integer.parseInt(args[1]) : 2_000;
+
+    RolloutPolicy[] policies = {new RandomRolloutPolicy(), new PaletteFirstRolloutPolicy()};
+    // Warm up every configuration before measuring any, so that all of them are measured with
+    // the same compiled code
+    for (RedGameCreator.GameType type : TYPES) {
+      for (RolloutPolicy policy : policies) {
+        run(type, policy, Math.max(1, games / 4), iterations);
+      }
+    }
+    System.out.println("game        policy          rollouts/s    wins");
+    for (RedGameCreator.GameType type : TYPES) {
+      for (RolloutPolicy policy : policies) {
+        long[] result = run(type, policy, games, iterations);
+        System.out.printf("%-8s    %-12s    %10.0f    %4d%n", type,
+                policy.getClass().getSimpleName().replace("RolloutPolicy", ""),
+                result[0] * 1e9 / result[1], result[2]);
+      }
+    }
+  }
+
+  /**
+   * Plays seeded games with a Monte Carlo player.
+   *
+   * @param type       the type of game
+   * @param policy     the rollout policy of the player
+   * @param games      the number of games
+   * @param iterations the number of iterations per move
+   * @return the number of playouts, the nanoseconds spent choosing moves, and the games won
+   */
+  private static long[] run(RedGameCreator.GameType type, RolloutPolicy policy, int games,
+                            int iterations) {
+    MctsPlayer player = new MctsPlayer(type, new CanvasRules(), policy, iterations, 0,
+            MctsPlayer.DEFAULT_MAX_NODES, new SplittableRandom(5));
+    long nanos = 0;
+    long wins = 0;
+    for (int i = 0; i < games; i++) {
+      RedGameModel<CardImpl> game = RedGameCreator.createGame(type, new CanvasRules(),
+              new SplittableRandom(i));
+      game.startGame(game.getAllCards(), true, 4, 7);
+      while (!game.isGameOver()) {
+        long start = System.nanoTime();
+        int move = player.chooseMove(game);
+        nanos += System.nanoTime() - start;
+        Moves.play(game, move);
+      }
+      if (game.isGameWon()) {
+        wins++;
+      }
+    }
+    return new long[]{player.getRolloutCount(), nanos, wins};
+  }
+}
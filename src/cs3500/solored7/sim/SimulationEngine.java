@@ -0,0 +1,234 @@
+package cs3500.solored.sim;
+
+import cs3500.solored.model.hw02.CanvasRules;
+import cs3500.solored.model.hw02.CardImpl;
+import cs3500.solored.model.hw02.CardUniverse;
+import cs3500.solored.model.hw02.Moves;
+import cs3500.solored.model.hw02.RedGameModel;
+import cs3500.solored.model.hw04.RedGameCreator;
+import cs3500.solored.player.RedGamePlayer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Plays large batches of SoloRed games with an automated player, on many threads and with no
+ * view or controller.
+ * Game i of a batch gets its own SplittableRandom, seeded only from the base seed and i; the
+ * model shuffles with it and the player draws from a stream split off it. A batch therefore
+ * gives the same totals with any number of threads, and any single game can be replayed on
+ * its own. Worker w plays games w, w + threads, w + 2 * threads and so on, and
+ * counts its results in local variables; the totals of the workers are only added together
+ * once they have all finished, so the games themselves share nothing.
+ */
+public final class SimulationEngine {
+  private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+  // Each worker counts its results in a long[] with these slots
+  private static final int GAMES = 0;
+  private static final int WINS = 1;
+  private static final int MOVES = 2;
+  private static final int CARDS_LEFT = 3;
+  private static final int TALLY_SIZE = 4;
+
+  private final RedGameCreator.GameType type;
+  private final CanvasRules rules;
+  private final CardUniverse universe;
+  private final int numPalettes;
+  private final int handSize;
+  private final PlayerFactory players;
+  private final long seed;
+  private final int threads;
+
+  /**
+   * Constructs an engine that plays games of the given type and settings on every core.
+   *
+   * @param type        the type of game to play
+   * @param numPalettes the number of palettes in every game
+   * @param handSize    the maximum hand size in every game
+   * @param players     creates the player of each worker
+   * @param seed        the base seed of every batch
+   * @throws IllegalArgumentException if type or players is null
+   */
+  public SimulationEngine(RedGameCreator.GameType type, int numPalettes, int handSize,
+                          PlayerFactory players, long seed) {
+    this(type, new CanvasRules(), numPalettes, handSize, players, seed,
+            Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Constructs an engine that plays games of the given type and settings.
+   *
+   * @param type        the type of game to play
+   * @param rules       the rule selected by each canvas color
+   * @param numPalettes the number of palettes in every game
+   * @param handSize    the maximum hand size in every game
+   * @param players     creates the player of each worker
+   * @param seed        the base seed of every batch
+   * @param threads     the number of worker threads
+   * @throws IllegalArgumentException if type, rules or players is null, or threads is less
+   *                                  than 1
+   */
+  public SimulationEngine(RedGameCreator.GameType type, CanvasRules rules, int numPalettes,
+                          int handSize, PlayerFactory players, long seed, int threads) {
+    this(type, rules, CardUniverse.STANDARD, numPalettes, handSize, players, seed, threads);
+  }
+
+  /**
+   * Constructs an engine that plays games of the given type and settings with every card of
+   * the given universe, such as a scaled-up deck to stress-test a player.
+   *
+   * @param type        the type of game to play
+   * @param rules       the rule selected by each canvas color
+   * @param universe    the cards every game is dealt from
+   * @param numPalettes the number of palettes in every game
+   * @param handSize    the maximum hand size in every game
+   * @param players     creates the player of each worker
+   * @param seed        the base seed of every batch
+   * @param threads     the number of worker threads
+   * @throws IllegalArgumentException if type, rules, universe or players is null, the type
+   *                                  cannot play the universe, or threads is less than 1
+   */
+  public SimulationEngine(RedGameCreator.GameType type, CanvasRules rules,
+                          CardUniverse universe, int numPalettes, int handSize,
+                          PlayerFactory players, long seed, int threads) {
+    if (type == null || rules == null || universe == null || players == null) {
+      throw new IllegalArgumentException("Simulation settings cannot be null.");
+    }
+    if (threads < 1) {
+      throw new IllegalArgumentException("A simulation needs at least one thread.");
+    }
+    if (type == RedGameCreator.GameType.BITBOARD && !CardUniverse.STANDARD.equals(universe)) {
+      throw new IllegalArgumentException("Bitboard games use the standard card universe.");
+    }
+    this.type = type;
+    this.rules = new CanvasRules(rules);
+    this.universe = universe;
+    this.numPalettes = numPalettes;
+    this.handSize = handSize;
+    this.players = players;
+    this.seed = seed;
+    this.threads = threads;
+  }
+
+  /**
+   * Plays the given number of games and returns their totals.
+   *
+   * @param games the number of games to play
+   * @return the totals of the batch
+   * @throws IllegalArgumentException if games is negative, or the settings cannot start a
+   *                                  game
+   * @throws IllegalStateException    if a player makes an illegal move
+   */
+  public SimulationResult run(long games) {
+    if (games < 0) {
+      throw new IllegalArgumentException("Number of games cannot be negative.");
+    }
+    long start = System.nanoTime();
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<long[]>> tallies = new ArrayList<>();
+      for (int w = 0; w < threads; w++) {
+        int worker = w;
+        tallies.add(pool.submit(() -> playGames(worker, games)));
+      }
+      long[] total = new long[TALLY_SIZE];
+      for (Future<long[]> tally : tallies) {
+        long[] counts = tally.get();
+        for (int i = 0; i < TALLY_SIZE; i++) {
+          total[i] += counts[i];
+        }
+      }
+      return new SimulationResult(total[GAMES], total[WINS], total[MOVES], total[CARDS_LEFT],
+              System.nanoTime() - start);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IllegalArgumentException) {
+        throw (IllegalArgumentException) e.getCause();
+      }
+      throw new IllegalStateException("A simulated game failed.", e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("The simulation was interrupted.", e);
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /**
+   * Plays one game of a batch on its own, exactly as run would play it.
+   *
+   * @param gameIndex the index of the game in the batch
+   * @return the finished game
+   */
+  public RedGameModel<CardImpl> playGame(long gameIndex) {
+    GameStream playerRandom = new GameStream();
+    RedGamePlayer player = players.create(playerRandom);
+    return playGame(gameIndex, player, playerRandom, new long[TALLY_SIZE]);
+  }
+
+  /**
+   * Returns the seed that game i of a batch is played from, by mixing the base seed and i with
+   * the SplitMix64 finalizer, so nearby games get unrelated seeds.
+   *
+   * @param baseSeed  the base seed of the batch
+   * @param gameIndex the index of the game
+   * @return the seed of the game
+   */
+  public static long gameSeed(long baseSeed, long gameIndex) {
+    long z = baseSeed + (gameIndex + 1) * GOLDEN_GAMMA;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  /**
+   * Plays every game of a batch that belongs to one worker.
+   *
+   * @param worker the index of the worker
+   * @param games  the number of games in the batch
+   * @return the totals of the worker's games
+   */
+  private long[] playGames(int worker, long games) {
+    GameStream playerRandom = new GameStream();
+    RedGamePlayer player = players.create(playerRandom);
+    long[] tally = new long[TALLY_SIZE];
+    for (long i = worker; i < games; i += threads) {
+      playGame(i, player, playerRandom, tally);
+    }
+    return tally;
+  }
+
+  /**
+   * Deals and plays one game, adding its results to a tally.
+   *
+   * @param gameIndex    the index of the game in the batch
+   * @param player       the player
+   * @param playerRandom the source of randomness of the player, switched to this game
+   * @param tally        the totals to add to
+   * @return the finished game
+   */
+  private RedGameModel<CardImpl> playGame(long gameIndex, RedGamePlayer player,
+                                          GameStream playerRandom, long[] tally) {
+    SplittableRandom gameRandom = new SplittableRandom(gameSeed(seed, gameIndex));
+    playerRandom.reset(gameRandom.split());
+    RedGameModel<CardImpl> game = RedGameCreator.createGame(type, rules, gameRandom, universe);
+    // The universe's own list is known to be valid, so the model does not check it again
+    game.startGame(universe.cards(), true, numPalettes, handSize);
+    long moves = 0;
+    while (!game.isGameOver()) {
+      Moves.play(game, player.chooseMove(game));
+      moves++;
+    }
+    tally[GAMES]++;
+    tally[MOVES] += moves;
+    tally[CARDS_LEFT] += game.getHand().size() + game.numOfCardsInDeck();
+    if (game.isGameWon()) {
+      tally[WINS]++;
+    }
+    return game;
+  }
+}
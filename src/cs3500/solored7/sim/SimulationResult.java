@@ -0,0 +1,99 @@
+package cs3500.solored.sim;
+
+/**
+ * The totals of a batch of simulated games.
+ */
+public final class SimulationResult {
+  private final long games;
+  private final long wins;
+  private final long moves;
+  private final long cardsLeft;
+  private final long elapsedNanos;
+
+  /**
+   * Constructs the totals of a batch of games.
+   *
+   * @param games        the number of games played
+   * @param wins         the number of games won
+   * @param moves        the number of moves played over all games
+   * @param cardsLeft    the number of cards left in the hand and deck at the end of every game
+   * @param elapsedNanos the wall-clock time the batch took
+   */
+  SimulationResult(long games, long wins, long moves, long cardsLeft, long elapsedNanos) {
+    this.games = games;
+    this.wins = wins;
+    this.moves = moves;
+    this.cardsLeft = cardsLeft;
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  /**
+   * Returns the number of games played.
+   *
+   * @return the number of games
+   */
+  public long getGames() {
+    return games;
+  }
+
+  /**
+   * Returns the number of games won.
+   *
+   * @return the number of wins
+   */
+  public long getWins() {
+    return wins;
+  }
+
+  /**
+   * Returns the number of moves played over all games, draws included.
+   *
+   * @return the number of moves
+   */
+  public long getMoves() {
+    return moves;
+  }
+
+  /**
+   * Returns the number of cards left in the hand and deck at the end of every game, which is
+   * 0 for a won game.
+   *
+   * @return the total number of cards left
+   */
+  public long getCardsLeft() {
+    return cardsLeft;
+  }
+
+  /**
+   * Returns the wall-clock time the batch took.
+   *
+   * @return the elapsed time in nanoseconds
+   */
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  /**
+   * Returns the fraction of games won.
+   *
+   * @return the win rate, or 0 if no games were played
+   */
+  public double winRate() {
+    return games == 0 ? 0 : (double) wins / games;
+  }
+
+  /**
+   * Returns the number of games played per second of wall-clock time.
+   *
+   * @return the throughput of the batch
+   */
+  public double gamesPerSecond() {
+    return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("games: %d, wins: %d (%.4f), moves: %d, games/sec: %.1f",
+            games, wins, winRate(), moves, gamesPerSecond());
+  }
+}
@@ -0,0 +1,71 @@
+package cs3500.solored.sim;
+
+import cs3500.solored.model.hw02.CanvasRules;
+import cs3500.solored.model.hw04.RedGameCreator;
+import cs3500.solored.player.MctsPlayer;
+import cs3500.solored.player.RandomPlayer;
+import cs3500.solored.player.RandomRolloutPolicy;
+
+/**
+ * Main class for running headless batches of SoloRed games and reporting their win rate and
+ * throughput.
+ */
+public final class SoloRedSimulation {
+
+  /**
+   * Runs a batch of games and prints its totals.
+   *
+   * @param args command-line arguments.
+   *             First argument is the game type ('basic', 'advanced' or 'bitboard').
+   *             Second argument is the number of games.
+   *             Optional further arguments are the player ('random' or 'mcts'), the number of
+   *             threads, the number of palettes, the hand size and the base seed.
+   * @throws IllegalArgumentException if the game type or player is invalid or missing.
+   */
+  public static void main(String[] args) {
+    if (args.length < 2) {
+      throw new IllegalArgumentException("Game type and number of games required");
+    }
+
+    RedGameCreator.GameType gameType;
+    switch (args[0].toLowerCase()) {
+      case "basic":
+        gameType = RedGameCreator.GameType.BASIC;
+        break;
+      case "advanced":
+        gameType = RedGameCreator.GameType.ADVANCED;
+        break;
+      case "bitboard":
+        gameType = RedGameCreator.GameType.BITBOARD;
+        break;
+      default:
+        throw new IllegalArgumentException(
+                "Invalid game type. Choose 'basic', 'advanced' or 'bitboard'");
+    }
+
+    long games = Long.parseLong(args[1]);
+    String playerName = (args.length > 2) ? args[2].toLowerCase() : "random";
+    int threads = (args.length > 3) ? Integer.parseInt(args[3])
+            : Runtime.getRuntime().availableProcessors();
+    int numPalettes = (args.length > 4) ? Integer.parseInt(args[4]) : 4;
+    int maxHandSize = (args.length > 5) ? Integer.parseInt(args[5]) : 7;
+    long seed = (args.length > 6) ? Long.parseLong(args[6]) : 0L;
+
+    PlayerFactory players;
+    switch (playerName) {
+      case "random":
+        players = RandomPlayer::new;
+        break;
+      case "mcts":
+        players = random -> new MctsPlayer(gameType, new CanvasRules(),
+                new RandomRolloutPolicy(), 1_000, 0, MctsPlayer.DEFAULT_MAX_NODES, random);
+        break;
+      default:
+        throw new IllegalArgumentException("Invalid player. Choose 'random' or 'mcts'");
+    }
+
+    SimulationEngine engine = new SimulationEngine(gameType, new CanvasRules(), numPalettes,
+            maxHandSize, players, seed, threads);
+    System.out.println(engine.run(games));
+  }
+}
@@ -0,0 +1,125 @@
+package cs3500.solored.sim;
+
+import cs3500.solored.model.hw02.CanvasRules;
+import cs3500.solored.model.hw02.CardImpl;
+import cs3500.solored.model.hw02.CardUniverse;
+import cs3500.solored.model.hw02.Deck;
+import cs3500.solored.solver.DrawRule;
+import cs3500.solored.solver.ParallelWinnabilitySolver;
+import cs3500.solored.solver.WinnabilitySolver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Main class for measuring how the parallel winnability solver scales with cores. For each
+ * draw rule it solves the same seeded deals with the sequential solver and then with the
+ * parallel solver on pools of 1, 2, 4, ... threads, up to the number of available processors.
+ * It prints the time for all the deals and the speedup over the sequential solver, and checks
+ * that every solver agrees on which deals are winnable.
+ */
+public final class SolverBenchmark {
+
+  /**
+   * Runs the benchmark and prints a table of solve times and speedups.
+   *
+   * @param args command-line arguments.
+   *             Optional first argument is the number of deals per measurement.
+   *             Optional second argument is the number of cards in each deal.
+   */
+  public static void main(String[] args) {
+    int deals = (args.length > 0) ? Integer.parseInt(args[0]) : 20;
+    int cards = (args.length > 1) ? Integer.parseInt(args[1]) : 16;
+    int processors = Runtime.getRuntime().availableProcessors();
+
+    System.out.println("rule        solver        threads     seconds    speedup");
+    for (DrawRule rule : DrawRule.values()) {
+      List<List<CardImpl>> decks = deals(deals, cards);
+      // Warm up both solvers before measuring
+      solveSequential(rule, decks.subList(0, Math.max(1, deals / 4)));
+      solveParallel(rule, decks.subList(0, Math.max(1, deals / 4)), processors);
+
+      long start = System.nanoTime();
+      boolean[] expected = solveSequential(rule, decks);
+      double sequential = (System.nanoTime() - start) / 1e9;
+      System.out.printf("%-8s    %-10s    %7d    %8.3f    %7.2f%n", rule, "sequential", 1,
+              sequential, 1.0);
+      for (int threads = 1; ; threads = Math.min(threads * 2, processors)) {
+        start = System.nanoTime();
+        boolean[] actual = solveParallel(rule, decks, threads);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        for (int i = 0; i < deals; i++) {
+          if (actual[i] != expected[i]) {
+            throw new IllegalStateException("Solvers disagree on deal " + i);
+          }
+        }
+        System.out.printf("%-8s    %-10s    %7d    %8.3f    %7.2f%n", rule, "parallel",
+                threads, seconds, sequential / seconds);
+        if (threads == processors) {
+          break;
+        }
+      }
+    }
+  }
+
+  /**
+   * Deals seeded decks of standard cards.
+   *
+   * @param deals the number of decks
+   * @param cards the number of cards in each deck
+   * @return the decks
+   */
+  private static List<List<CardImpl>> deals(int deals, int cards) {
+    SplittableRandom random = new SplittableRandom(11);
+    List<List<CardImpl>> decks = new ArrayList<>();
+    for (int i = 0; i < deals; i++) {
+      Deck deck = new Deck(CardUniverse.STANDARD.cards());
+      deck.shuffle(random);
+      decks.add(new ArrayList<>(deck.snapshot().subList(0, cards)));
+    }
+    return decks;
+  }
+
+  /**
+   * Solves decks with the sequential solver.
+   *
+   * @param rule  the draw rule
+   * @param decks the decks to solve, each with 4 palettes and a hand of 7
+   * @return whether each deck is winnable
+   */
+  private static boolean[] solveSequential(DrawRule rule, List<List<CardImpl>> decks) {
+    WinnabilitySolver solver = new WinnabilitySolver(rule);
+    boolean[] winnable = new boolean[decks.size()];
+    for (int i = 0; i < winnable.length; i++) {
+      winnable[i] = solver.solve(decks.get(i), 4, 7).isWinnable();
+    }
+    return winnable;
+  }
+
+  /**
+   * Solves decks with the parallel solver on a pool of its own.
+   *
+   * @param rule    the draw rule
+   * @param decks   the decks to solve, each with 4 palettes and a hand of 7
+   * @param threads the number of threads of the pool
+   * @return whether each deck is winnable
+   */
+  private static boolean[] solveParallel(DrawRule rule, List<List<CardImpl>> decks,
+                                         int threads) {
+    ForkJoinPool pool = new ForkJoinPool(threads);
+    try {
+      ParallelWinnabilitySolver solver = new ParallelWinnabilitySolver(rule, new CanvasRules(),
+              pool, ParallelWinnabilitySolver.DEFAULT_SPLIT_DEPTH,
+              ParallelWinnabilitySolver.DEFAULT_TABLE_BITS);
+      boolean[] winnable = new boolean[decks.size()];
+      for (int i = 0; i < winnable.length; i++) {
+        winnable[i] = solver.solve(decks.get(i), 4, 7).isWinnable();
+      }
+      return winnable;
+    } finally {
+      pool.shutdown();
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package cs3500.solored.sim;
+
+import cs3500.solored.model.hw02.CanvasRules;
+import cs3500.solored.model.hw02.CardImpl;
+import cs3500.solored.model.hw02.CardUniverse;
+import cs3500.solored.model.hw02.RedGameModel;
+import cs3500.solored.model.hw04.RedGameCreator;
+import cs3500.solored.view.hw02.SoloRedGameTextView;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+/**
+ * Main class for measuring how many frames per second the text view renders. For each kind of
+ * game it plays a few random moves so the palettes hold several cards, then renders the same
+ * frame over and over into a reused StringBuilder, both straight through render and by building
+ * the frame with toString and appending it, which is what render used to do.
+ */
+public final class TextViewBenchmark {
+  private static final RedGameCreator.GameType[] TYPES = {
+      RedGameCreator.GameType.BASIC, RedGameCreator.GameType.BITBOARD};
+  // Folds in a result of every measured operation, and is printed, so none is optimized away
+  private static long checksum;
+
+  /**
+   * Runs the benchmark and prints a table of frames per second.
+   *
+   * @param args command-line arguments.
+   *             Optional first argument is the number of frames per measurement.
+   * @throws IOException never, since the frames are written to a StringBuilder
+   */
+  public static void main(String[] args) throws IOException {
+    int frames = (args.length > 0) ? Integer.parseInt(args[0]) : 2_000_000;
+
+    System.out.println("game          render frames/s    toString frames/s");
+    for (RedGameCreator.GameType type : TYPES) {
+      RedGameModel<CardImpl> game = RedGameCreator.createGame(type, new CanvasRules(),
+              new SplittableRandom(1));
+      game.startGame(CardUniverse.STANDARD.cards(), true, 4, 7);
+      SplittableRandom random = new SplittableRandom(2);
+      for (int i = 0; i < 6; i++) {
+        int palette = (game.winningPaletteIndex() + 1 + random.nextInt(game.numPalettes() - 1))
+                % game.numPalettes();
+        game.playToPalette(palette, random.nextInt(game.getHand().size()));
+        if (game.isGameOver()) {
+          break;
+        }
+        game.drawForHand();
+      }
+
+      StringBuilder out = new StringBuilder();
+      SoloRedGameTextView view = new SoloRedGameTextView(game, out);
+      // Warm up both paths before measuring
+      run(view, out, true, frames / 4);
+      run(view, out, false, frames / 4);
+      double render = run(view, out, true, frames);
+      double toString = run(view, out, false, frames);
+      System.out.printf("%-8s    %17.0f    %17.0f%n", type, render, toString);
+    }
+    System.out.println("checksum " + checksum);
+  }
+
+  /**
+   * Renders the same frame many times and returns the number of frames per second.
+   *
+   * @param view   the view of the game
+   * @param out    the output of the view, cleared before every frame
+   * @param direct whether to render straight to the output or through toString
+   * @param frames the number of frames to render
+   * @return the frames rendered per second
+   * @throws IOException never, since the frames are written to a StringBuilder
+   */
+  private static double run(SoloRedGameTextView view, StringBuilder out, boolean direct,
+                            int frames) throws IOException {
+    long sink = 0;
+    long start = System.nanoTime();
+    for (int i = 0; i < frames; i++) {
+      out.setLength(0);
+      if (direct) {
+        view.render();
+      } else {
+        out.append(view.toString());
+      }
+      sink += out.length();
+    }
+    long elapsed = System.nanoTime() - start;
+    checksum += sink;
+    return frames * 1e9 / elapsed;
+  }
+}
@@ -0,0 +1,83 @@
+package cs3500.solored.sim;
+
+import cs3500.solored.model.hw02.CanvasRules;
+import cs3500.solored.model.hw02.CardImpl;
+import cs3500.solored.model.hw02.CardUniverse;
+import cs3500.solored.model.hw02.Color;
+import cs3500.solored.model.hw02.PaletteScoreBoard;
+
+import java.util.SplittableRandom;
+
+/**
+ * Main class for measuring where tracking the winning palette with a tournament tree starts to
+ * beat scanning every palette. For each number of palettes it replays the same moves on a
+ * board that always scans and a board that always keeps a tree: each move adds a card to a
+ * palette and asks for the winner, and every few moves the canvas changes. It prints the
+ * average time per move of both, which is how PaletteScoreBoard.DEFAULT_TREE_THRESHOLD was
+ * chosen.
+ */
+public final class WinnerTrackingBenchmark {
+  private static final int[] PALETTE_COUNTS = {2, 4, 8, 16, 32, 64, 128, 256, 1024, 4096};
+  private static final Color[] RULES = Color.values();
+  // Folds in a result of every measured operation, and is printed, so none is optimized away
+  private static long checksum;
+
+  /**
+   * Runs the benchmark and prints a table of nanoseconds per move.
+   *
+   * @param args command-line arguments.
+   *             Optional first argument is the number of moves per measurement.
+   *             Optional second argument is the number of moves between canvas changes.
+   */
+  public static void main(String[] args) {
+    int moves = (args.length > 0) ? Integer.parseInt(args[0]) : 2_000_000;
+    int canvasEvery = (args.length > 1) ? Integer.parseInt(args[1]) : 4;
+
+    System.out.println("palettes    scan ns/move    tree ns/move");
+    for (int palettes : PALETTE_COUNTS) {
+      // Warm up both paths before measuring
+      run(palettes, Integer.MAX_VALUE, moves / 4, canvasEvery);
+      run(palettes, 0, moves / 4, canvasEvery);
+      double scan = run(palettes, Integer.MAX_VALUE, moves, canvasEvery);
+      double tree = run(palettes, 0, moves, canvasEvery);
+      System.out.printf("%8d    %12.1f    %12.1f%n", palettes, scan, tree);
+    }
+    System.out.println("checksum " + checksum);
+  }
+
+  /**
+   * Plays random moves on a board and returns the average time per move.
+   *
+   * @param palettes      the number of palettes
+   * @param treeThreshold the tree threshold of the board
+   * @param moves         the number of moves to play
+   * @param canvasEvery   the number of moves between canvas changes
+   * @return the average time per move in nanoseconds
+   */
+  private static double run(int palettes, int treeThreshold, int moves, int canvasEvery) {
+    PaletteScoreBoard board = new PaletteScoreBoard(new CanvasRules(), CardUniverse.STANDARD,
+            treeThreshold);
+    board.reset(palettes);
+    SplittableRandom random = new SplittableRandom(palettes);
+    for (int p = 0; p < palettes; p++) {
+      board.setPalette(p, random.nextLong() & ((1L << CardImpl.ORDINAL_COUNT) - 1));
+    }
+    Color rule = Color.R;
+    long sink = 0;
+    long start = System.nanoTime();
+    for (int i = 0; i < moves; i++) {
+      if (i % canvasEvery == 0) {
+        rule = RULES[random.nextInt(RULES.length)];
+      }
+      int palette = random.nextInt(palettes);
+      if (random.nextInt(8) == 0) {
+        board.setPalette(palette, 0L);
+      }
+      board.addCard(palette, 5 + random.nextInt(CardImpl.ORDINAL_COUNT - 5));
+      sink += board.winner(rule);
+    }
+    long elapsed = System.nanoTime() - start;
+    checksum += sink;
+    return (double) elapsed / moves;
+  }
+}
@@ -0,0 +1,48 @@
+package cs3500.solored.solver;
+
+import java.util.Arrays;
+
+/**
+ * A single-threaded transposition table backed by one array of hashes.
+ * Each hash goes to one slot and replaces whatever was there, so the table never grows and
+ * a position may be searched again after it is evicted. A full 64-bit hash is kept in each
+ * slot, so a lookup only gives a wrong answer if two positions share the whole hash.
+ */
+public final class ArrayTranspositionTable implements TranspositionTable {
+  private final long[] keys;
+  private final int mask;
+
+  /**
+   * Constructs an empty table with 2^bits slots.
+   *
+   * @param bits the base-2 logarithm of the number of slots
+   * @throws IllegalArgumentException if bits is not between 1 and 30
+   */
+  public ArrayTranspositionTable(int bits) {
+    if (bits < 1 || bits > 30) {
+      throw new IllegalArgumentException("Table size must be between 2^1 and 2^30 slots.");
+    }
+    this.keys = new long[1 << bits];
+    this.mask = keys.length - 1;
+  }
+
+  @Override
+  public boolean isKnownLoss(long hash) {
+    return hash != 0 && keys[(int) hash & mask] == hash;
+  }
+
+  @Override
+  public void recordLoss(long hash) {
+    keys[(int) hash & mask] = hash;
+  }
+
+  @Override
+  public void clear() {
+    Arrays.fill(keys, 0L);
+  }
+
+  @Override
+  public int capacity() {
+    return keys.length;
+  }
+}
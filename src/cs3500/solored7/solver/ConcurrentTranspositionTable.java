@@ -0,0 +1,63 @@
+package cs3500.solored.solver;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * A lock-free transposition table that any number of threads can share, backed by one
+ * array of hashes.
+ * Each hash goes to one slot. Reads are acquiring loads of the slot, and a loss is installed
+ * with a single compare-and-set against the value last read, so a writer never blocks and
+ * never waits on another. When two threads race for the same slot one entry is simply lost,
+ * which only means that position may be searched again. Because a slot holds a whole 64-bit
+ * hash, which is written atomically, a reader never sees a torn or half-written entry.
+ */
+public final class ConcurrentTranspositionTable implements TranspositionTable {
+  private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+
+  private final long[] keys;
+  private final int mask;
+
+  /**
+   * Constructs an empty table with 2^bits slots.
+   *
+   * @param bits the base-2 logarithm of the number of slots
+   * @throws IllegalArgumentException if bits is not between 1 and 30
+   */
+  public ConcurrentTranspositionTable(int bits) {
+    if (bits < 1 || bits > 30) {
+      throw new IllegalArgumentException("Table size must be between 2^1 and 2^30 slots.");
+    }
+    this.keys = new long[1 << bits];
+    this.mask = keys.length - 1;
+  }
+
+  @Override
+  public boolean isKnownLoss(long hash) {
+    return hash != 0 && (long) SLOTS.getAcquire(keys, (int) hash & mask) == hash;
+  }
+
+  @Override
+  public void recordLoss(long hash) {
+    int slot = (int) hash & mask;
+    long current = (long) SLOTS.getAcquire(keys, slot);
+    if (current != hash) {
+      SLOTS.compareAndSet(keys, slot, current, hash);
+    }
+  }
+
+  /**
+   * Forgets every recorded position. This must not run while other threads use the table.
+   */
+  @Override
+  public void clear() {
+    Arrays.fill(keys, 0L);
+    VarHandle.fullFence();
+  }
+
+  @Override
+  public int capacity() {
+    return keys.length;
+  }
+}
@@ -0,0 +1,410 @@
+package cs3500.solored.solver;
+
+import cs3500.solored.model.hw02.CanvasRules;
+import cs3500.solored.model.hw02.CardImpl;
+import cs3500.solored.model.hw02.Color;
+import cs3500.solored.model.hw02.Moves;
+import cs3500.solored.model.hw02.PaletteScoreBoard;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A position of a dealt game, reduced to what decides its outcome and kept under a Zobrist
+ * hash that every move updates in place.
+ * Cards are dealt from a deck of known order, so the cards in the hand are kept as a mask
+ * over deck positions: the order of the hand does not change the outcome, and since the hand
+ * of a model keeps its cards in the order they were dealt, the index of a card in that hand
+ * is the number of hand cards dealt before it. Palettes are kept only as card masks in a
+ * {@link PaletteScoreBoard}, since the order of a palette does not change its score.
+ * Moves that leave the position unchanged, such as drawing with a full hand and nothing to
+ * reset, are never offered, so every line of play is finite.
+ */
+final class DealState {
+  static final int ONGOING = 0;
+  static final int WON = 1;
+  static final int LOST = 2;
+
+  private static final int NUM_COLORS = Color.values().length;
+  private static final int INITIAL_CANVAS = CardImpl.of(Color.R, 0).ordinal();
+  private static final int FLAG_CAN_PLAY_TO_CANVAS = 0;
+  private static final int FLAG_PLAYED_TO_CANVAS = 1;
+  private static final int NUM_FLAGS = 2;
+  // Every undo record is UNDO_RECORD ints: the kind of move and the flags before it,
+  // a move-specific value, and the deck position of the card played
+  private static final int UNDO_RECORD = 3;
+  private static final int UNDO_PALETTE = 0;
+  private static final int UNDO_CANVAS = 1;
+  private static final int UNDO_DRAW = 2;
+  private static final int SAVED_CAN_PLAY_TO_CANVAS = 1 << 4;
+  private static final int SAVED_PLAYED_TO_CANVAS = 1 << 5;
+
+  private final DrawRule drawRule;
+  private final ZobristKeys keys;
+  private final PaletteScoreBoard scoreBoard;
+  private final byte[] deck;
+  private final int maxHandSize;
+  private int deckCursor;
+  private long handPositions;
+  private int handCount;
+  private int canvas;
+  private boolean canPlayToCanvas;
+  private boolean playedToCanvas;
+  private long hash;
+  private int[] undoStack;
+  private long[] undoHashes;
+  private int undoSize;
+
+  /**
+   * Deals a game as startGame would without shuffling: one card to each palette, then a full
+   * hand, with the rest of the deck left in order.
+   *
+   * @param deck        the cards of the deck, in the order they are dealt
+   * @param numPalettes the number of palettes
+   * @param handSize    the maximum number of cards in the hand
+   * @param drawRule    the rules for drawing cards
+   * @param rules       the rule selected by each canvas color
+   * @throws IllegalArgumentException if any argument is null, the deck has duplicate or null
+   *                                  cards, or the settings are invalid for the deck
+   */
+  DealState(List<CardImpl> deck, int numPalettes, int handSize, DrawRule drawRule,
+            CanvasRules rules) {
+    if (deck == null || drawRule == null || rules == null) {
+      throw new IllegalArgumentException("Deck and rules cannot be null.");
+    }
+    if (numPalettes < 2 || handSize <= 0) {
+      throw new IllegalArgumentException("Invalid number of palettes or hand size.");
+    }
+    if (deck.size() < numPalettes + handSize) {
+      throw new IllegalArgumentException("Not enough cards in the deck to start the game.");
+    }
+    this.deck = new byte[deck.size()];
+    long seen = 0L;
+    for (int i = 0; i < this.deck.length; i++) {
+      CardImpl card = deck.get(i);
+      if (card != null && card.ordinal() >= CardImpl.ORDINAL_COUNT) {
+        throw new IllegalArgumentException("Deck contains cards outside the standard universe.");
+      }
+      if (card == null || (seen & (1L << card.ordinal())) != 0) {
+        throw new IllegalArgumentException("Deck contains duplicate or null cards.");
+      }
+      seen |= 1L << card.ordinal();
+      this.deck[i] = (byte) card.ordinal();
+    }
+
+    this.drawRule = drawRule;
+    this.keys = new ZobristKeys(numPalettes, this.deck.length, NUM_FLAGS);
+    this.scoreBoard = new PaletteScoreBoard(rules);
+    this.maxHandSize = handSize;
+    this.scoreBoard.reset(numPalettes);
+    for (int p = 0; p < numPalettes; p++) {
+      int card = this.deck[p];
+      scoreBoard.addCard(p, card);
+      hash ^= keys.palette(p, card);
+    }
+    this.deckCursor = numPalettes;
+    this.hash ^= keys.deckCursor(deckCursor);
+    deal(handSize);
+    this.canvas = INITIAL_CANVAS;
+    this.hash ^= keys.canvas(canvas);
+    setCanPlayToCanvas(true);
+    this.undoStack = new int[16 * UNDO_RECORD];
+    this.undoHashes = new long[16];
+  }
+
+  /**
+   * Copies another position, including its undo history. The copy shares no mutable state
+   * with the original.
+   *
+   * @param other the position to copy
+   */
+  DealState(DealState other) {
+    this.drawRule = other.drawRule;
+    this.keys = other.keys;
+    this.scoreBoard = new PaletteScoreBoard(other.scoreBoard);
+    this.deck = other.deck;
+    this.maxHandSize = other.maxHandSize;
+    this.deckCursor = other.deckCursor;
+    this.handPositions = other.handPositions;
+    this.handCount = other.handCount;
+    this.canvas = other.canvas;
+    this.canPlayToCanvas = other.canPlayToCanvas;
+    this.playedToCanvas = other.playedToCanvas;
+    this.hash = other.hash;
+    this.undoStack = other.undoStack.clone();
+    this.undoHashes = other.undoHashes.clone();
+    this.undoSize = other.undoSize;
+  }
+
+  /**
+   * Returns the Zobrist hash of the position.
+   *
+   * @return the hash
+   */
+  long hash() {
+    return hash;
+  }
+
+  /**
+   * Fills the given buffer with every move from this position that does not lose on the spot:
+   * palette moves first, then canvas moves, then drawing if it would change the position.
+   * Moves are encoded by {@link Moves}, but with the deck position of the card in place of its
+   * index in the hand; {@link #modelMove} converts them for a model.
+   *
+   * @param moves the buffer to fill, at least {@link #maxMoveCount} long
+   * @return the number of moves written to the start of the buffer
+   */
+  int legalMoves(int[] moves) {
+    int count = 0;
+    int winningIndex = winner();
+    int numPalettes = scoreBoard.size();
+    for (long rest = handPositions; rest != 0; rest &= rest - 1) {
+      int position = Long.numberOfTrailingZeros(rest);
+      int card = deck[position];
+      for (int p = 0; p < numPalettes; p++) {
+        if (p != winningIndex && winsWith(p, card)) {
+          moves[count++] = Moves.palette(p, position);
+        }
+      }
+    }
+    if (canPlayToCanvas && handCount > 1) {
+      for (long rest = handPositions; rest != 0; rest &= rest - 1) {
+        moves[count++] = Moves.canvas(Long.numberOfTrailingZeros(rest));
+      }
+    }
+    if (!canPlayToCanvas || playedToCanvas || cardsToDraw() > 0) {
+      moves[count++] = Moves.DRAW;
+    }
+    return count;
+  }
+
+  /**
+   * Returns the size of a move buffer that can hold every move of {@link #legalMoves}.
+   *
+   * @return the size of a move buffer
+   */
+  int maxMoveCount() {
+    return Moves.maxMoveCount(scoreBoard.size(), maxHandSize) + 1;
+  }
+
+  /**
+   * Converts a move from {@link #legalMoves} to the move a model in this position would be
+   * given, whose card is an index in the hand. The card of a model's hand is at the index
+   * given by the number of hand cards dealt before it.
+   *
+   * @param move a move from legalMoves in this position
+   * @return the same move, encoded as a model expects
+   */
+  int modelMove(int move) {
+    if (Moves.isDraw(move)) {
+      return move;
+    }
+    int position = Moves.cardIndex(move);
+    int handIdx = Long.bitCount(handPositions & ((1L << position) - 1));
+    return Moves.isCanvas(move) ? Moves.canvas(handIdx) : Moves.palette(Moves.paletteIndex(move),
+            handIdx);
+  }
+
+  /**
+   * Plays a move from {@link #legalMoves}.
+   *
+   * @param move a move from legalMoves in this position
+   * @return WON or LOST if the move ends the game, otherwise ONGOING
+   */
+  int play(int move) {
+    if (Moves.isDraw(move)) {
+      draw();
+      return ONGOING;
+    }
+    if (Moves.isCanvas(move)) {
+      playToCanvas(Moves.cardIndex(move));
+      return ONGOING;
+    }
+    return playToPalette(Moves.paletteIndex(move), Moves.cardIndex(move));
+  }
+
+  /**
+   * Returns the palette that is currently winning.
+   *
+   * @return the index of the winning palette
+   */
+  private int winner() {
+    return scoreBoard.winner(Color.fromRank(canvas % NUM_COLORS + 1));
+  }
+
+  /**
+   * Returns whether a palette would be winning after the given card is added to it.
+   *
+   * @param paletteIdx the index of the palette
+   * @param card       the ordinal of the card
+   * @return true if the palette would win
+   */
+  private boolean winsWith(int paletteIdx, int card) {
+    scoreBoard.addCard(paletteIdx, card);
+    boolean wins = winner() == paletteIdx;
+    scoreBoard.removeCard(paletteIdx, card);
+    return wins;
+  }
+
+  /**
+   * Plays the card at a deck position from the hand to a palette other than the winning one.
+   *
+   * @param paletteIdx the index of the palette
+   * @param position   the deck position of a card in the hand
+   * @return WON or LOST if the move ends the game, otherwise ONGOING
+   */
+  private int playToPalette(int paletteIdx, int position) {
+    pushUndo(UNDO_PALETTE, paletteIdx, position);
+    int card = deck[position];
+    removeFromHand(position);
+    scoreBoard.addCard(paletteIdx, card);
+    hash ^= keys.palette(paletteIdx, card);
+    int winningIndex = winner();
+    if (winningIndex != paletteIdx) {
+      return LOST;
+    }
+    setCanPlayToCanvas(true);
+    if (handCount == 0 && deckCursor == deck.length) {
+      return winningIndex == 0 ? WON : LOST;
+    }
+    return ONGOING;
+  }
+
+  /**
+   * Plays the card at a deck position from the hand to the canvas. This can never end the game,
+   * since the hand keeps at least one card.
+   *
+   * @param position the deck position of a card in the hand
+   */
+  private void playToCanvas(int position) {
+    pushUndo(UNDO_CANVAS, canvas, position);
+    removeFromHand(position);
+    hash ^= keys.canvas(canvas);
+    canvas = deck[position];
+    hash ^= keys.canvas(canvas);
+    setCanPlayToCanvas(false);
+    if (drawRule == DrawRule.ADVANCED) {
+      setPlayedToCanvas(true);
+    }
+  }
+
+  /**
+   * Draws cards for the hand under the draw rule of the game.
+   */
+  private void draw() {
+    pushUndo(UNDO_DRAW, deckCursor, 0);
+    deal(cardsToDraw());
+    setCanPlayToCanvas(true);
+    setPlayedToCanvas(false);
+  }
+
+  /**
+   * Reverts the most recent move.
+   */
+  void undo() {
+    undoSize -= UNDO_RECORD;
+    int header = undoStack[undoSize];
+    int value = undoStack[undoSize + 1];
+    int position = undoStack[undoSize + 2];
+    switch (header & 0xF) {
+      case UNDO_PALETTE:
+        scoreBoard.removeCard(value, deck[position]);
+        handPositions |= 1L << position;
+        handCount++;
+        break;
+      case UNDO_CANVAS:
+        canvas = value;
+        handPositions |= 1L << position;
+        handCount++;
+        break;
+      case UNDO_DRAW:
+        long dealt = ((1L << (deckCursor - value)) - 1) << value;
+        handPositions &= ~dealt;
+        handCount -= deckCursor - value;
+        deckCursor = value;
+        break;
+      default:
+        throw new IllegalStateException("Corrupt undo record.");
+    }
+    canPlayToCanvas = (header & SAVED_CAN_PLAY_TO_CANVAS) != 0;
+    playedToCanvas = (header & SAVED_PLAYED_TO_CANVAS) != 0;
+    hash = undoHashes[undoSize / UNDO_RECORD];
+  }
+
+  /**
+   * Returns how many cards drawing would deal now.
+   *
+   * @return the number of cards drawing deals
+   */
+  private int cardsToDraw() {
+    int room = maxHandSize - handCount;
+    int wanted = room;
+    if (drawRule == DrawRule.ADVANCED) {
+      int winningPaletteSize = Long.bitCount(scoreBoard.mask(winner()));
+      wanted = playedToCanvas && canvas / NUM_COLORS > winningPaletteSize ? 2 : 1;
+    }
+    return Math.min(Math.min(wanted, room), deck.length - deckCursor);
+  }
+
+  /**
+   * Deals the next cards of the deck to the hand.
+   *
+   * @param count how many cards to deal
+   */
+  private void deal(int count) {
+    hash ^= keys.deckCursor(deckCursor);
+    for (int i = 0; i < count; i++) {
+      handPositions |= 1L << deckCursor;
+      hash ^= keys.hand(deck[deckCursor]);
+      deckCursor++;
+      handCount++;
+    }
+    hash ^= keys.deckCursor(deckCursor);
+  }
+
+  private void removeFromHand(int position) {
+    handPositions &= ~(1L << position);
+    handCount--;
+    hash ^= keys.hand(deck[position]);
+  }
+
+  private void setCanPlayToCanvas(boolean value) {
+    if (canPlayToCanvas != value) {
+      canPlayToCanvas = value;
+      hash ^= keys.flag(FLAG_CAN_PLAY_TO_CANVAS);
+    }
+  }
+
+  private void setPlayedToCanvas(boolean value) {
+    if (playedToCanvas != value) {
+      playedToCanvas = value;
+      hash ^= keys.flag(FLAG_PLAYED_TO_CANVAS);
+    }
+  }
+
+  /**
+   * Records the state a move is about to change, so undo can restore it.
+   *
+   * @param kind     which move is recorded
+   * @param value    the changed palette, the previous canvas, or the deck cursor before drawing
+   * @param position the deck position of the card being played
+   */
+  private void pushUndo(int kind, int value, int position) {
+    if (undoSize == undoStack.length) {
+      undoStack = Arrays.copyOf(undoStack, undoStack.length * 2);
+      undoHashes = Arrays.copyOf(undoHashes, undoHashes.length * 2);
+    }
+    int header = kind;
+    if (canPlayToCanvas) {
+      header |= SAVED_CAN_PLAY_TO_CANVAS;
+    }
+    if (playedToCanvas) {
+      header |= SAVED_PLAYED_TO_CANVAS;
+    }
+    undoStack[undoSize] = header;
+    undoStack[undoSize + 1] = value;
+    undoStack[undoSize + 2] = position;
+    undoHashes[undoSize / UNDO_RECORD] = hash;
+    undoSize += UNDO_RECORD;
+  }
+}
@@ -0,0 +1,98 @@
+package cs3500.solored.solver;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One depth-first search for a winning line from a position, making and undoing moves in
+ * place. Every position proven lost is recorded in a transposition table, which may be
+ * shared with other searches.
+ * A search can be stopped from outside through a shared flag; a stopped search returns false
+ * at once and records nothing, since a position it gave up on was not proven lost.
+ */
+final class DepthFirstSearch {
+  private final DealState state;
+  private final TranspositionTable table;
+  private final AtomicBoolean stop;
+  private final int[] line;
+  private final int[][] moveBuffers;
+  private int lineLength;
+  private long statesSearched;
+  private boolean stopped;
+
+  /**
+   * Constructs a search from a position.
+   *
+   * @param state the position to search from, which the search changes in place
+   * @param table the table of positions proven lost
+   * @param stop  a flag that stops the search once set, or null if it is never stopped
+   * @param line  the moves that led to the position, with room for every move after it
+   */
+  DepthFirstSearch(DealState state, TranspositionTable table, AtomicBoolean stop, int[] line) {
+    this.state = state;
+    this.table = table;
+    this.stop = stop;
+    this.line = line;
+    this.moveBuffers = new int[line.length][];
+  }
+
+  /**
+   * Searches every line of play from the current position. On a win the position is left at
+   * the end of the winning line, which fills line up to lineLength.
+   *
+   * @param depth the number of moves already in line
+   * @return true if the position can be won, false if it is lost or the search was stopped
+   */
+  boolean search(int depth) {
+    statesSearched++;
+    if (stop != null && stop.get()) {
+      stopped = true;
+      return false;
+    }
+    long hash = state.hash();
+    if (table.isKnownLoss(hash)) {
+      return false;
+    }
+
+    if (moveBuffers[depth] == null) {
+      moveBuffers[depth] = new int[state.maxMoveCount()];
+    }
+    int[] moves = moveBuffers[depth];
+    int count = state.legalMoves(moves);
+    for (int i = 0; i < count; i++) {
+      line[depth] = state.modelMove(moves[i]);
+      int outcome = state.play(moves[i]);
+      if (outcome == DealState.WON) {
+        lineLength = depth + 1;
+        return true;
+      }
+      if (outcome == DealState.ONGOING && search(depth + 1)) {
+        return true;
+      }
+      state.undo();
+      if (stopped) {
+        return false;
+      }
+    }
+
+    table.recordLoss(hash);
+    return false;
+  }
+
+  /**
+   * Returns the length of the winning line found by the last successful search.
+   *
+   * @return the number of moves in the winning line
+   */
+  int lineLength() {
+    return lineLength;
+  }
+
+  /**
+   * Returns the number of positions visited so far.
+   *
+   * @return the number of positions searched
+   */
+  long statesSearched() {
+    return statesSearched;
+  }
+}
@@ -0,0 +1,17 @@
+package cs3500.solored.solver;
+
+/**
+ * The rules for drawing cards that a solved game is played under.
+ */
+public enum DrawRule {
+  /**
+   * The rules of SoloRedGameModel: drawing fills the hand back up to its maximum size.
+   */
+  BASIC,
+
+  /**
+   * The rules of AdvancedSoloRedGameModel: drawing deals one card, or two if a card played to
+   * the canvas since the last draw has a number greater than the size of the winning palette.
+   */
+  ADVANCED
+}
@@ -0,0 +1,210 @@
+package cs3500.solored.solver;
+
+import cs3500.solored.model.hw02.CanvasRules;
+import cs3500.solored.model.hw02.CardImpl;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An exact solver that decides whether a deal of the SoloRed game can be won, searching on
+ * every core of a {@link ForkJoinPool}.
+ * The first splitDepth plies of the game tree are split into one fork/join task per move, and
+ * below them each task runs the same depth-first search as {@link WinnabilitySolver} on its
+ * own copy of the position. All tasks share one {@link ConcurrentTranspositionTable}, so a
+ * position proven lost by one core is skipped by every other.
+ * As soon as any task finds a win, a shared flag cancels every other task: running searches
+ * give up at their next position and tasks that have not started return at once. The first
+ * winning line found is the answer, so which winning line that is may differ from run to run,
+ * but whether the deal is winnable never does.
+ * A solver is not safe to use for several solves at once.
+ */
+public final class ParallelWinnabilitySolver {
+  /**
+   * The base-2 logarithm of the number of slots in the default transposition table.
+   */
+  public static final int DEFAULT_TABLE_BITS = 22;
+
+  /**
+   * The default number of plies that are split into separate tasks.
+   */
+  public static final int DEFAULT_SPLIT_DEPTH = 2;
+
+  private final DrawRule drawRule;
+  private final CanvasRules rules;
+  private final ForkJoinPool pool;
+  private final int splitDepth;
+  private final TranspositionTable table;
+
+  /**
+   * Constructs a solver for games under the given draw rule, scored by the standard canvas
+   * rules, that runs on the common fork/join pool.
+   *
+   * @param drawRule the rules for drawing cards
+   * @throws IllegalArgumentException if drawRule is null
+   */
+  public ParallelWinnabilitySolver(DrawRule drawRule) {
+    this(drawRule, new CanvasRules(), ForkJoinPool.commonPool(), DEFAULT_SPLIT_DEPTH,
+            DEFAULT_TABLE_BITS);
+  }
+
+  /**
+   * Constructs a solver for games under the given draw and canvas rules.
+   *
+   * @param drawRule   the rules for drawing cards
+   * @param rules      the rule selected by each canvas color
+   * @param pool       the pool to run the search on
+   * @param splitDepth the number of plies split into separate tasks
+   * @param tableBits  the base-2 logarithm of the number of slots in the transposition table
+   * @throws IllegalArgumentException if drawRule, rules or pool is null, splitDepth is
+   *                                  negative, or tableBits is not between 1 and 30
+   */
+  public ParallelWinnabilitySolver(DrawRule drawRule, CanvasRules rules, ForkJoinPool pool,
+                                   int splitDepth, int tableBits) {
+    if (drawRule == null) {
+      throw new IllegalArgumentException("Draw rule cannot be null.");
+    }
+    if (rules == null) {
+      throw new IllegalArgumentException("Canvas rules cannot be null.");
+    }
+    if (pool == null) {
+      throw new IllegalArgumentException("Pool cannot be null.");
+    }
+    if (splitDepth < 0) {
+      throw new IllegalArgumentException("Split depth cannot be negative.");
+    }
+    this.drawRule = drawRule;
+    this.rules = new CanvasRules(rules);
+    this.pool = pool;
+    this.splitDepth = splitDepth;
+    this.table = new ConcurrentTranspositionTable(tableBits);
+  }
+
+  /**
+   * Decides whether the game dealt from the given deck, in its given order, can be won.
+   *
+   * @param deck        the cards of the deck, in the order they are dealt
+   * @param numPalettes the number of palettes
+   * @param handSize    the maximum number of cards in the hand
+   * @return the answer, with a winning line if there is one
+   * @throws IllegalArgumentException if the deck is null or has duplicate or null cards, or the
+   *                                  settings are invalid for the deck, as in startGame
+   */
+  public Solution solve(List<CardImpl> deck, int numPalettes, int handSize) {
+    DealState state = new DealState(deck, numPalettes, handSize, drawRule, rules);
+    table.clear();
+    Search search = new Search();
+    int[] line = new int[WinnabilitySolver.maxLineLength(deck.size())];
+    boolean winnable = pool.invoke(new SplitTask(search, state, line, 0));
+    int[] winningLine = winnable ? search.winningLine.get() : new int[0];
+    return new Solution(winnable, winningLine, search.statesSearched.sum());
+  }
+
+  /**
+   * The state shared by every task of one solve.
+   */
+  private final class Search {
+    private final AtomicBoolean stop = new AtomicBoolean();
+    private final AtomicReference<int[]> winningLine = new AtomicReference<>();
+    private final LongAdder statesSearched = new LongAdder();
+
+    /**
+     * Reports a winning line and stops every other task. Only the first line is kept.
+     *
+     * @param line the winning line
+     */
+    private void win(int[] line) {
+      winningLine.compareAndSet(null, line);
+      stop.set(true);
+    }
+  }
+
+  /**
+   * A task that searches one position. Above the split depth it forks a task for each move;
+   * below it, it searches sequentially.
+   */
+  private final class SplitTask extends RecursiveTask<Boolean> {
+    private static final long serialVersionUID = 1L;
+
+    private final Search search;
+    private final DealState state;
+    private final int[] line;
+    private final int depth;
+
+    /**
+     * Constructs a task that owns the given position and line.
+     *
+     * @param search the state shared by the solve
+     * @param state  the position to search, owned by this task
+     * @param line   the moves that led to the position, owned by this task
+     * @param depth  the number of moves in line
+     */
+    private SplitTask(Search search, DealState state, int[] line, int depth) {
+      this.search = search;
+      this.state = state;
+      this.line = line;
+      this.depth = depth;
+    }
+
+    @Override
+    protected Boolean compute() {
+      if (search.stop.get()) {
+        return false;
+      }
+      if (depth >= splitDepth) {
+        DepthFirstSearch sequential = new DepthFirstSearch(state, table, search.stop, line);
+        boolean won = sequential.search(depth);
+        search.statesSearched.add(sequential.statesSearched());
+        if (won) {
+          search.win(Arrays.copyOf(line, sequential.lineLength()));
+        }
+        return won;
+      }
+
+      search.statesSearched.increment();
+      long hash = state.hash();
+      if (table.isKnownLoss(hash)) {
+        return false;
+      }
+      int[] moves = new int[state.maxMoveCount()];
+      int count = state.legalMoves(moves);
+      SplitTask[] children = new SplitTask[count];
+      int numChildren = 0;
+      for (int i = 0; i < count; i++) {
+        int[] childLine = line.clone();
+        childLine[depth] = state.modelMove(moves[i]);
+        int outcome = state.play(moves[i]);
+        if (outcome == DealState.WON) {
+          search.win(Arrays.copyOf(childLine, depth + 1));
+          return true;
+        }
+        if (outcome == DealState.ONGOING) {
+          children[numChildren++] =
+                  new SplitTask(search, new DealState(state), childLine, depth + 1);
+        }
+        state.undo();
+      }
+
+      for (int i = numChildren - 1; i >= 0; i--) {
+        children[i].fork();
+      }
+      // Every child is joined, even after a win: a stopped child returns at once, and a solve
+      // must not return while a task of it could still write to the table
+      boolean won = false;
+      for (int i = 0; i < numChildren; i++) {
+        if (children[i].join()) {
+          won = true;
+        }
+      }
+      if (!won && !search.stop.get()) {
+        table.recordLoss(hash);
+      }
+      return won;
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package cs3500.solored.solver;
+
+import java.util.Arrays;
+
+/**
+ * The answer of a solver for one deal: whether the player can force a win, and if so a line
+ * of moves that wins.
+ */
+public final class Solution {
+  private final boolean winnable;
+  private final int[] winningLine;
+  private final long statesSearched;
+
+  /**
+   * Constructs a solution.
+   *
+   * @param winnable       whether the deal can be won
+   * @param winningLine    the moves of a winning line, empty if the deal cannot be won
+   * @param statesSearched the number of positions the solver visited
+   */
+  Solution(boolean winnable, int[] winningLine, long statesSearched) {
+    this.winnable = winnable;
+    this.winningLine = winningLine;
+    this.statesSearched = statesSearched;
+  }
+
+  /**
+   * Returns whether the player can force a win.
+   *
+   * @return true if the deal can be won
+   */
+  public boolean isWinnable() {
+    return winnable;
+  }
+
+  /**
+   * Returns a line of moves that wins the deal, encoded by
+   * {@link cs3500.solored.model.hw02.Moves}. Playing them in order with makeMove on a model
+   * started with the same deck, without shuffling, wins the game.
+   *
+   * @return a new array of the moves, empty if the deal cannot be won
+   */
+  public int[] getWinningLine() {
+    return winningLine.clone();
+  }
+
+  /**
+   * Returns the number of positions the solver visited to reach this answer.
+   *
+   * @return the number of positions searched
+   */
+  public long getStatesSearched() {
+    return statesSearched;
+  }
+
+  @Override
+  public String toString() {
+    return (winnable ? "winnable " : "unwinnable ") + Arrays.toString(winningLine);
+  }
+}
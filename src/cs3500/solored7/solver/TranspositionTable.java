@@ -0,0 +1,37 @@
+package cs3500.solored.solver;
+
+/**
+ * A table of positions already proven lost, keyed by their Zobrist hash.
+ * Only losses are stored: a won position ends the search, so it is never reached twice.
+ * A table may forget positions to stay within a fixed size, so a position may be searched
+ * again, but it never reports a position as lost that was not recorded.
+ */
+public interface TranspositionTable {
+
+  /**
+   * Returns whether the position with the given hash is known to be lost.
+   *
+   * @param hash the Zobrist hash of the position
+   * @return true if the position was recorded as lost and has not been forgotten
+   */
+  boolean isKnownLoss(long hash);
+
+  /**
+   * Records that the position with the given hash is lost.
+   *
+   * @param hash the Zobrist hash of the position
+   */
+  void recordLoss(long hash);
+
+  /**
+   * Forgets every recorded position.
+   */
+  void clear();
+
+  /**
+   * Returns the number of positions the table can hold at once.
+   *
+   * @return the capacity of the table
+   */
+  int capacity();
+}
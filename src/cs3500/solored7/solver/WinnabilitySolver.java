@@ -0,0 +1,95 @@
+package cs3500.solored.solver;
+
+import cs3500.solored.model.hw02.CanvasRules;
+import cs3500.solored.model.hw02.CardImpl;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An exact solver that decides whether a deal of the SoloRed game can be won, and finds a
+ * winning line of moves when it can.
+ * The deck is known in full, so the game is a puzzle with no chance: the solver searches
+ * every line of play depth first, making and undoing moves in place on one position. Every
+ * position proven lost is recorded in a {@link TranspositionTable} under its Zobrist hash, so
+ * the many move orders that reach the same hand, palettes, canvas and deck position are only
+ * searched once.
+ * Palette moves that lose the game on the spot are skipped without recursing.
+ * A solver is not safe to use from several threads at once; see
+ * {@link ParallelWinnabilitySolver} for a solver that searches on many cores.
+ */
+public final class WinnabilitySolver {
+  /**
+   * The base-2 logarithm of the number of slots in the default transposition table.
+   */
+  public static final int DEFAULT_TABLE_BITS = 20;
+
+  private final DrawRule drawRule;
+  private final CanvasRules rules;
+  private final TranspositionTable table;
+
+  /**
+   * Constructs a solver for games under the given draw rule, scored by the standard canvas
+   * rules.
+   *
+   * @param drawRule the rules for drawing cards
+   * @throws IllegalArgumentException if drawRule is null
+   */
+  public WinnabilitySolver(DrawRule drawRule) {
+    this(drawRule, new CanvasRules(), DEFAULT_TABLE_BITS);
+  }
+
+  /**
+   * Constructs a solver for games under the given draw and canvas rules, with a transposition
+   * table of 2^tableBits slots.
+   *
+   * @param drawRule  the rules for drawing cards
+   * @param rules     the rule selected by each canvas color
+   * @param tableBits the base-2 logarithm of the number of slots in the transposition table
+   * @throws IllegalArgumentException if drawRule or rules is null, or tableBits is not
+   *                                  between 1 and 30
+   */
+  public WinnabilitySolver(DrawRule drawRule, CanvasRules rules, int tableBits) {
+    if (drawRule == null) {
+      throw new IllegalArgumentException("Draw rule cannot be null.");
+    }
+    if (rules == null) {
+      throw new IllegalArgumentException("Canvas rules cannot be null.");
+    }
+    this.drawRule = drawRule;
+    this.rules = new CanvasRules(rules);
+    this.table = new ArrayTranspositionTable(tableBits);
+  }
+
+  /**
+   * Decides whether the game dealt from the given deck, in its given order, can be won.
+   *
+   * @param deck        the cards of the deck, in the order they are dealt
+   * @param numPalettes the number of palettes
+   * @param handSize    the maximum number of cards in the hand
+   * @return the answer, with a winning line if there is one
+   * @throws IllegalArgumentException if the deck is null or has duplicate or null cards, or the
+   *                                  settings are invalid for the deck, as in startGame
+   */
+  public Solution solve(List<CardImpl> deck, int numPalettes, int handSize) {
+    DealState state = new DealState(deck, numPalettes, handSize, drawRule, rules);
+    table.clear();
+    int[] line = new int[maxLineLength(deck.size())];
+    DepthFirstSearch search = new DepthFirstSearch(state, table, null, line);
+    boolean winnable = search.search(0);
+    return new Solution(winnable, Arrays.copyOf(line, winnable ? search.lineLength() : 0),
+            search.statesSearched());
+  }
+
+  /**
+   * Returns the most moves a line of play can have in a game dealt from a deck of the given
+   * size. Every play uses up a card, and every draw either deals a card or follows a canvas
+   * play.
+   *
+   * @param deckSize the number of cards in the deck
+   * @return the size of a buffer that can hold any line of play
+   */
+  static int maxLineLength(int deckSize) {
+    return 3 * deckSize + 1;
+  }
+}
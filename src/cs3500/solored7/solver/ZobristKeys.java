@@ -0,0 +1,97 @@
+package cs3500.solored.solver;
+
+import cs3500.solored.model.hw02.CardImpl;
+
+import java.util.Random;
+
+/**
+ * The random keys that hash a position of a dealt game. The hash of a position is the
+ * exclusive or of one key for every card in the hand, one for every card in each palette, one
+ * for the card on the canvas, one for the deck position and one for every turn flag that is
+ * set, so it can be updated in constant time as a move adds or removes a single part.
+ * The keys come from a fixed seed, so the same position always has the same hash.
+ */
+final class ZobristKeys {
+  private static final long SEED = 0x5E7E2A11L;
+
+  private final long[] hand;
+  private final long[] palette;
+  private final long[] canvas;
+  private final long[] deckCursor;
+  private final long[] flags;
+
+  /**
+   * Builds the keys for games with the given settings.
+   *
+   * @param numPalettes the number of palettes
+   * @param deckSize    the number of cards in the deck
+   * @param numFlags    the number of turn flags
+   */
+  ZobristKeys(int numPalettes, int deckSize, int numFlags) {
+    Random random = new Random(SEED);
+    this.hand = fill(random, CardImpl.ORDINAL_COUNT);
+    this.palette = fill(random, numPalettes * CardImpl.ORDINAL_COUNT);
+    this.canvas = fill(random, CardImpl.ORDINAL_COUNT);
+    this.deckCursor = fill(random, deckSize + 1);
+    this.flags = fill(random, numFlags);
+  }
+
+  /**
+   * Returns the key of a card in the hand.
+   *
+   * @param ordinal the ordinal of the card
+   * @return the key
+   */
+  long hand(int ordinal) {
+    return hand[ordinal];
+  }
+
+  /**
+   * Returns the key of a card in a palette.
+   *
+   * @param paletteIdx the index of the palette
+   * @param ordinal    the ordinal of the card
+   * @return the key
+   */
+  long palette(int paletteIdx, int ordinal) {
+    return palette[paletteIdx * CardImpl.ORDINAL_COUNT + ordinal];
+  }
+
+  /**
+   * Returns the key of a card on the canvas.
+   *
+   * @param ordinal the ordinal of the card
+   * @return the key
+   */
+  long canvas(int ordinal) {
+    return canvas[ordinal];
+  }
+
+  /**
+   * Returns the key of a deck position.
+   *
+   * @param cursor the number of cards dealt from the deck
+   * @return the key
+   */
+  long deckCursor(int cursor) {
+    return deckCursor[cursor];
+  }
+
+  /**
+   * Returns the key of a turn flag.
+   *
+   * @param flag the index of the flag
+   * @return the key
+   */
+  long flag(int flag) {
+    return flags[flag];
+  }
+
+  private static long[] fill(Random random, int count) {
+    long[] keys = new long[count];
+    for (int i = 0; i < count; i++) {
+      keys[i] = random.nextLong();
+    }
+    return keys;
+  }
+}
@@ -1,31 +1,85 @@
 package cs3500.solored.view.hw02;
 
 import cs3500.solored.model.hw02.Card;
+import cs3500.solored.model.hw02.CardImpl;
+import cs3500.solored.model.hw02.Color;
+import cs3500.solored.model.hw02.ObservableRedGameModel;
 import cs3500.solored.model.hw02.RedGameModel;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * Concrete view implementation for displaying the state of the SoloRed game.
+ * A model that is an {@link ObservableRedGameModel} is read card by card in place, so
+ * rendering it copies none of its lists.
+ *
+ * <p>Rendering writes straight to the appendable, with the string of every standard card and
+ * color computed once up front, instead of building the whole frame as one string first.
+ * Cards of larger universes are rare enough to be written from their own toString.
+ *
+ * <p>In {@link RenderMode#DELTA} mode, each render writes only the lines of the frame that
+ * changed since the previous render. Every line names the part of the board it shows
+ * ("Canvas:", "P3:" or "> P3:", "Hand:"), so a reader rebuilds the board by replacing the
+ * line of the same name. The first render of a view always writes every line.
  */
 public class SoloRedGameTextView implements RedGameView {
+  private static final String[] CARD_STRINGS = new String[CardImpl.ORDINAL_COUNT];
+  private static final String[] COLOR_STRINGS = new String[Color.values().length];
+
+  static {
+    for (int ordinal = 0; ordinal < CARD_STRINGS.length; ordinal++) {
+      CARD_STRINGS[ordinal] = CardImpl.fromOrdinal(ordinal).toString();
+    }
+    for (Color color : Color.values()) {
+      COLOR_STRINGS[color.ordinal()] = color.toString();
+    }
+  }
+
   private final RedGameModel<?> model;
+  private final ObservableRedGameModel<?> observable;
   private final Appendable appendable;
+  private final RenderMode mode;
+  private String[] labels = new String[0];
+  private String[] winningLabels = new String[0];
+  // The lines of the previous frame, and the line being compared with them, in DELTA mode
+  private String[] lastLines = new String[0];
+  private final StringBuilder line = new StringBuilder();
+  private int changedLines;
 
   /**
-   * Constructs a SoloRedGameTextView with the given model and appendable.
+   * Constructs a SoloRedGameTextView with the given model, appendable and render mode.
    *
    * @param model      the model of the SoloRed game
    * @param appendable the appendable to transmit output
-   * @throws IllegalArgumentException if the model or appendable is null
+   * @param mode       whether to render whole frames or only the lines that changed
+   * @throws IllegalArgumentException if the model, appendable or mode is null
    */
-  public SoloRedGameTextView(RedGameModel<?> model, Appendable appendable) {
+  public SoloRedGameTextView(RedGameModel<?> model, Appendable appendable, RenderMode mode) {
     if (model == null || appendable == null) {
       throw new IllegalArgumentException("Model and Appendable cannot be null.");
     }
+    if (mode == null) {
+      throw new IllegalArgumentException("Render mode cannot be null.");
+    }
     this.model = model;
+    this.observable = model instanceof ObservableRedGameModel
+            ? (ObservableRedGameModel<?>) model : null;
     this.appendable = appendable;
+    this.mode = mode;
+  }
+
+  /**
+   * Constructs a SoloRedGameTextView with the given model and appendable, rendering whole
+   * frames.
+   *
+   * @param model      the model of the SoloRed game
+   * @param appendable the appendable to transmit output
+   * @throws IllegalArgumentException if the model or appendable is null
+   */
+  public SoloRedGameTextView(RedGameModel<?> model, Appendable appendable) {
+    this(model, appendable, RenderMode.FULL);
   }
 
   /**
@@ -38,54 +92,219 @@ public class SoloRedGameTextView implements RedGameView {
     this(model, System.out);
   }
 
+  /**
+   * Returns the whole frame of the current state, whatever the render mode.
+   *
+   * @return the lines of the canvas, the palettes and the hand
+   */
   @Override
   public String toString() {
     StringBuilder sb = new StringBuilder();
+    try {
+      writeFull(sb);
+    } catch (IOException e) {
+      // A StringBuilder never throws
+      throw new IllegalStateException(e);
+    }
+    return sb.toString();
+  }
+
+  @Override
+  public void render() throws IOException {
+    if (mode == RenderMode.FULL) {
+      writeFull(appendable);
+      changedLines = model.numPalettes() + 2;
+    } else {
+      writeDelta(appendable);
+    }
+  }
+
+  /**
+   * Returns the number of lines the last render wrote. In FULL mode that is every line of the
+   * frame; in DELTA mode it is 0 when nothing changed.
+   *
+   * @return the number of lines written by the last render
+   */
+  public int changedLines() {
+    return changedLines;
+  }
+
+  /**
+   * Writes the whole frame to the given output.
+   *
+   * @param out the output to write to
+   * @throws IOException if the output fails
+   */
+  private void writeFull(Appendable out) throws IOException {
+    int numPalettes = model.numPalettes();
+    int winningIndex = model.winningPaletteIndex();
+    writeCanvas(out);
+    out.append('\n');
+    for (int i = 0; i < numPalettes; i++) {
+      writePalette(out, i, i == winningIndex);
+      out.append('\n');
+    }
+    writeHand(out);
+  }
+
+  /**
+   * Writes the lines of the frame that differ from the previous frame, separated by newlines
+   * like those of a whole frame. Each line is built in a reused buffer and compared with the
+   * same line of the previous frame, so an unchanged line costs no output and no new string.
+   *
+   * @param out the output to write to
+   * @throws IOException if the output fails
+   */
+  private void writeDelta(Appendable out) throws IOException {
+    int numPalettes = model.numPalettes();
+    if (lastLines.length != numPalettes + 2) {
+      lastLines = new String[numPalettes + 2];
+    }
+    int winningIndex = model.winningPaletteIndex();
+    changedLines = 0;
+    line.setLength(0);
+    writeCanvas(line);
+    writeLineIfChanged(out, 0);
+    for (int i = 0; i < numPalettes; i++) {
+      line.setLength(0);
+      writePalette(line, i, i == winningIndex);
+      writeLineIfChanged(out, i + 1);
+    }
+    line.setLength(0);
+    writeHand(line);
+    writeLineIfChanged(out, numPalettes + 1);
+  }
+
+  /**
+   * Writes the line in the buffer if it differs from the given line of the previous frame, and
+   * remembers it as that line.
+   *
+   * @param out   the output to write to
+   * @param index the index of the line in the frame
+   * @throws IOException if the output fails
+   */
+  private void writeLineIfChanged(Appendable out, int index) throws IOException {
+    if (lastLines[index] != null && lastLines[index].contentEquals(line)) {
+      return;
+    }
+    lastLines[index] = line.toString();
+    if (changedLines > 0) {
+      out.append('\n');
+    }
+    out.append(lastLines[index]);
+    changedLines++;
+  }
 
+  /**
+   * Writes the canvas line, without its newline.
+   *
+   * @param out the output to write to
+   * @throws IOException if the output fails
+   */
+  private void writeCanvas(Appendable out) throws IOException {
     Card canvasCard = model.getCanvas();
-    String canvasRepresentation = canvasCard.toString();
-    String color = canvasRepresentation.substring(0, 1);
-    sb.append("Canvas: ").append(color).append("\n");
-
-    for (int i = 0; i < model.numPalettes(); i++) {
-      if (i == model.winningPaletteIndex()) {
-        sb.append("> P").append(i + 1).append(": ");
-      } else {
-        sb.append("P").append(i + 1).append(": ");
-      }
+    out.append("Canvas: ");
+    if (canvasCard instanceof CardImpl) {
+      out.append(COLOR_STRINGS[((CardImpl) canvasCard).getColor().ordinal()]);
+    } else {
+      out.append(canvasCard.toString(), 0, 1);
+    }
+  }
 
-      List<?> palette = model.getPalette(i);
-      if (palette.isEmpty()) {
-        sb.append("\n");
-      } else {
-        for (int j = 0; j < palette.size(); j++) {
-          sb.append(palette.get(j).toString());
-          if (j < palette.size() - 1) {
-            sb.append(" ");
-          }
+  /**
+   * Writes the line of one palette, without its newline.
+   *
+   * @param out     the output to write to
+   * @param index   the index of the palette
+   * @param winning whether the palette is winning
+   * @throws IOException if the output fails
+   */
+  private void writePalette(Appendable out, int index, boolean winning) throws IOException {
+    if (labels.length <= index) {
+      growLabels(model.numPalettes());
+    }
+    out.append(winning ? winningLabels[index] : labels[index]);
+    if (observable != null) {
+      for (int j = 0; j < observable.paletteSize(index); j++) {
+        if (j > 0) {
+          out.append(' ');
         }
-        sb.append("\n");
+        writeCard(out, observable.paletteCard(index, j));
+      }
+    } else {
+      List<?> palette = model.getPalette(index);
+      for (int j = 0; j < palette.size(); j++) {
+        if (j > 0) {
+          out.append(' ');
+        }
+        writeCard(out, palette.get(j));
       }
     }
+  }
 
-    // Display the hand
-    sb.append("Hand: ");
-    List<?> hand = model.getHand();
-    if (hand.isEmpty()) {
-      sb.append("");
+  /**
+   * Writes the hand line.
+   *
+   * @param out the output to write to
+   * @throws IOException if the output fails
+   */
+  private void writeHand(Appendable out) throws IOException {
+    out.append("Hand: ");
+    if (observable != null) {
+      for (int i = 0; i < observable.handSize(); i++) {
+        if (i > 0) {
+          out.append(' ');
+        }
+        writeCard(out, observable.handCard(i));
+      }
     } else {
+      List<?> hand = model.getHand();
       for (int i = 0; i < hand.size(); i++) {
-        sb.append(hand.get(i).toString());
-        if (i < hand.size() - 1) {
-          sb.append(" ");
+        if (i > 0) {
+          out.append(' ');
         }
+        writeCard(out, hand.get(i));
       }
     }
-    return sb.toString();
   }
 
-  @Override
-  public void render() throws IOException {
-    appendable.append(this.toString());
+  /**
+   * Writes one card, taking the string of a standard CardImpl from the table.
+   *
+   * @param out  the output to write to
+   * @param card the card
+   * @throws IOException if the output fails
+   */
+  private static void writeCard(Appendable out, Object card) throws IOException {
+    if (card instanceof CardImpl && ((CardImpl) card).ordinal() < CARD_STRINGS.length) {
+      out.append(CARD_STRINGS[((CardImpl) card).ordinal()]);
+    } else {
+      out.append(card.toString());
+    }
+  }
+
+  /**
+   * Builds the labels of the palettes up to the given number, such as "P3: " and "> P3: ".
+   *
+   * @param numPalettes the number of palettes to label
+   */
+  private void growLabels(int numPalettes) {
+    String[] newLabels = Arrays.copyOf(labels, numPalettes);
+    String[] newWinningLabels = Arrays.copyOf(winningLabels, numPalettes);
+    for (int i = labels.length; i < numPalettes; i++) {
+      newLabels[i] = "P" + (i + 1) + ": ";
+      newWinningLabels[i] = "> " + newLabels[i];
+    }
+    labels = newLabels;
+    winningLabels = newWinningLabels;
+  }
+
+  /**
+   * The ways a view can render successive frames.
+   * FULL writes the whole frame every time. DELTA writes only the lines that changed since the
+   * previous render, for terminals and transcripts where output size matters.
+   */
+  public enum RenderMode {
+    FULL, DELTA
   }
-}
\ No newline at end of file
+}
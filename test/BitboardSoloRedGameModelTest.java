@@ -0,0 +1,98 @@
+import cs3500.solored.model.hw02.CardImpl;
+import cs3500.solored.model.hw02.RedGameModel;
+import cs3500.solored.model.hw02.SoloRedGameModel;
+import cs3500.solored.model.hw04.BitboardSoloRedGameModel;
+import cs3500.solored.model.hw04.RedGameCreator;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the whole SoloRedGameModelTest suite against BitboardSoloRedGameModel, and checks that
+ * it plays exactly like SoloRedGameModel.
+ */
+public class BitboardSoloRedGameModelTest extends SoloRedGameModelTest {
+
+  @Override
+  protected RedGameModel<CardImpl> createModel() {
+    return new BitboardSoloRedGameModel();
+  }
+
+  /**
+   * Tests that the creator builds a bitboard model for the BITBOARD game type.
+   */
+  @Test
+  public void testCreatorBuildsBitboardModel() {
+    assertTrue(RedGameCreator.createGame(RedGameCreator.GameType.BITBOARD)
+            instanceof BitboardSoloRedGameModel);
+  }
+
+  /**
+   * Tests that a copy is independent of the model it was copied from.
+   */
+  @Test
+  public void testCopyIsIndependent() {
+    BitboardSoloRedGameModel original = new BitboardSoloRedGameModel(new Random(3));
+    original.startGame(original.getAllCards(), true, 4, 7);
+    BitboardSoloRedGameModel copy = new BitboardSoloRedGameModel(original);
+    copy.playToCanvas(0);
+
+    assertEquals(7, original.getHand().size());
+    assertEquals(6, copy.getHand().size());
+    assertNotEquals(original.handMask(), copy.handMask());
+    assertEquals(original.paletteMask(0), copy.paletteMask(0));
+  }
+
+  /**
+   * Tests that seeded games play out identically to SoloRedGameModel under random moves.
+   */
+  @Test
+  public void testMatchesSoloRedGameModel() {
+    for (int seed = 0; seed < 200; seed++) {
+      SoloRedGameModel expected = new SoloRedGameModel(new Random(seed));
+      BitboardSoloRedGameModel actual = new BitboardSoloRedGameModel(new Random(seed));
+      List<CardImpl> cards = expected.getAllCards();
+      expected.startGame(cards, true, 2 + seed % 4, 1 + seed % 7);
+      actual.startGame(cards, true, 2 + seed % 4, 1 + seed % 7);
+
+      Random moves = new Random(seed);
+      boolean canvasAllowed = true;
+      while (!expected.isGameOver()) {
+        assertEquals(expected.winningPaletteIndex(), actual.winningPaletteIndex());
+        assertEquals(expected.getHand(), actual.getHand());
+        if (canvasAllowed && moves.nextInt(3) == 0 && expected.getHand().size() > 1) {
+          int card = moves.nextInt(expected.getHand().size());
+          expected.playToCanvas(card);
+          actual.playToCanvas(card);
+          canvasAllowed = false;
+        } else {
+          int palette = moves.nextInt(expected.numPalettes());
+          if (palette == expected.winningPaletteIndex()) {
+            palette = (palette + 1) % expected.numPalettes();
+          }
+          int card = moves.nextInt(expected.getHand().size());
+          expected.playToPalette(palette, card);
+          actual.playToPalette(palette, card);
+          if (!expected.isGameOver()) {
+            expected.drawForHand();
+            actual.drawForHand();
+          }
+          canvasAllowed = true;
+        }
+        assertEquals(expected.getCanvas(), actual.getCanvas());
+        assertEquals(expected.isGameOver(), actual.isGameOver());
+        assertEquals(expected.numOfCardsInDeck(), actual.numOfCardsInDeck());
+      }
+      assertEquals(expected.isGameWon(), actual.isGameWon());
+      for (int i = 0; i < expected.numPalettes(); i++) {
+        assertEquals(expected.getPalette(i), actual.getPalette(i));
+      }
+    }
+  }
+}
@@ -0,0 +1,197 @@
+import cs3500.solored.model.hw02.CanvasRules;
+import cs3500.solored.model.hw02.CardImpl;
+import cs3500.solored.model.hw02.CardUniverse;
+import cs3500.solored.model.hw02.Color;
+import cs3500.solored.model.hw02.PaletteScoreBoard;
+import cs3500.solored.model.hw02.PaletteScorer;
+import cs3500.solored.model.hw02.RedGameModel;
+import cs3500.solored.model.hw02.SoloRedGameModel;
+import cs3500.solored.model.hw02.StandardCanvasRule;
+import cs3500.solored.model.hw04.RedGameCreator;
+import cs3500.solored.player.RandomPlayer;
+import cs3500.solored.sim.SimulationEngine;
+import cs3500.solored.sim.SimulationResult;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for CardUniverse and the canvas rules scaled to larger universes.
+ */
+public class CardUniverseTest {
+
+  /**
+   * Returns a palette of the given universe as the bitset its score board would hold.
+   */
+  private static long[] bits(CardUniverse universe, CardImpl... cards) {
+    long[] bits = new long[universe.words()];
+    for (CardImpl card : cards) {
+      bits[card.ordinal() / Long.SIZE] |= 1L << card.ordinal();
+    }
+    return bits;
+  }
+
+  /**
+   * Tests that the standard universe is the default deck and keeps the standard thresholds.
+   */
+  @Test
+  public void testStandardUniverse() {
+    assertSame(CardUniverse.STANDARD, CardUniverse.of(5, 7));
+    assertEquals(new SoloRedGameModel().getAllCards(), CardUniverse.STANDARD.cards());
+    assertEquals(35, CardUniverse.STANDARD.size());
+    assertEquals(CardImpl.ORDINAL_COUNT, CardUniverse.STANDARD.ordinalCount());
+    assertEquals(1, CardUniverse.STANDARD.words());
+    assertEquals(4, CardUniverse.STANDARD.violetThreshold());
+  }
+
+  /**
+   * Tests the cards and sizes of a smaller and a larger universe.
+   */
+  @Test
+  public void testOtherUniverses() {
+    CardUniverse small = CardUniverse.of(3, 4);
+    assertEquals(12, small.size());
+    assertTrue(small.contains(CardImpl.of("B", 4)));
+    assertFalse(small.contains(CardImpl.of("I", 1)));
+    assertFalse(small.contains(CardImpl.of("R", 5)));
+
+    CardUniverse large = CardUniverse.of(5, 30);
+    assertEquals(150, large.size());
+    assertEquals(155, large.ordinalCount());
+    assertEquals(3, large.words());
+    assertEquals(16, large.violetThreshold());
+    assertEquals(large, CardUniverse.of(5, 30));
+  }
+
+  /**
+   * Tests that cards numbered above 7 only come from a universe that has them, which shares
+   * one instance of each.
+   */
+  @Test
+  public void testLargeCardsComeFromTheirUniverse() {
+    CardUniverse large = CardUniverse.of(3, 12);
+    CardImpl card = large.card(Color.B, 12);
+    assertEquals("B12", card.toString());
+    assertSame(card, large.fromOrdinal(card.ordinal()));
+    assertSame(card, large.cards().get(large.size() - 1));
+    assertSame(CardImpl.of("R", 3), large.card(Color.R, 3));
+    List<Runnable> invalid = Arrays.asList(() -> CardImpl.of("R", 8),
+        () -> new CardImpl(Color.R, 12), () -> CardImpl.fromOrdinal(CardImpl.ORDINAL_COUNT),
+        () -> large.card(Color.I, 2), () -> large.card(Color.R, 13),
+        () -> large.fromOrdinal(CardImpl.of("V", 1).ordinal()));
+    for (Runnable make : invalid) {
+      try {
+        make.run();
+        fail("Expected a card outside the universe to be rejected.");
+      } catch (IllegalArgumentException e) {
+        // Expected exception
+      }
+    }
+  }
+
+  /**
+   * Tests that the bitset kernels score every standard palette exactly like the long ones.
+   */
+  @Test
+  public void testBitsetKernelsMatchStandardKernels() {
+    Random random = new Random(4);
+    long[] bits = new long[1];
+    for (int i = 0; i < 2000; i++) {
+      long mask = random.nextLong() & ((1L << CardImpl.ORDINAL_COUNT) - 1) & ~0x1FL;
+      mask &= random.nextLong() & random.nextLong();
+      bits[0] = mask;
+      for (Color color : Color.values()) {
+        StandardCanvasRule rule = StandardCanvasRule.forColor(color);
+        assertEquals(rule.score(mask), rule.score(bits, 0, CardUniverse.STANDARD));
+      }
+    }
+  }
+
+  /**
+   * Tests the rules on a palette whose cards straddle the words of its bitset.
+   */
+  @Test
+  public void testRulesOnLargeUniverse() {
+    CardUniverse universe = CardUniverse.of(5, 30);
+    long[] palette = bits(universe, universe.card(Color.V, 12), universe.card(Color.B, 13),
+            universe.card(Color.R, 13), universe.card(Color.O, 14), universe.card(Color.I, 27));
+
+    long red = PaletteScorer.scoreRed(palette, 0, universe);
+    assertEquals(universe.card(Color.I, 27).ordinal(), PaletteScorer.tieBreakerOrdinal(red));
+    long orange = PaletteScorer.scoreOrange(palette, 0, universe);
+    assertEquals(2 * 31 + 13, PaletteScorer.mainScore(orange));
+    assertEquals(universe.card(Color.R, 13).ordinal(), PaletteScorer.tieBreakerOrdinal(orange));
+    assertEquals(5, PaletteScorer.mainScore(PaletteScorer.scoreBlue(palette, 0, universe)));
+    assertEquals(3, PaletteScorer.mainScore(PaletteScorer.scoreIndigo(palette, 0, universe)));
+    long violet = PaletteScorer.scoreViolet(palette, 0, universe);
+    assertEquals(4, PaletteScorer.mainScore(violet));
+    assertEquals(universe.card(Color.O, 14).ordinal(), PaletteScorer.tieBreakerOrdinal(violet));
+  }
+
+  /**
+   * Tests that a score board of a large universe adds, removes and compares palettes.
+   */
+  @Test
+  public void testScoreBoardOnLargeUniverse() {
+    CardUniverse universe = CardUniverse.of(5, 40);
+    PaletteScoreBoard board = new PaletteScoreBoard(new CanvasRules(), universe);
+    board.reset(2);
+    board.setPalette(0, Arrays.asList(universe.card(Color.R, 39), CardImpl.of("V", 1)));
+    board.addCard(1, universe.card(Color.V, 40).ordinal());
+    assertEquals(1, board.winner(Color.R));
+    assertEquals(0, board.winner(Color.V));
+    board.removeCard(1, universe.card(Color.V, 40).ordinal());
+    assertEquals(0, board.winner(Color.R));
+  }
+
+  /**
+   * Tests that whole games of a large universe can be played and simulated.
+   */
+  @Test
+  public void testPlaysLargeUniverse() {
+    CardUniverse universe = CardUniverse.of(5, 30);
+    RedGameModel<CardImpl> game = RedGameCreator.createGame(RedGameCreator.GameType.ADVANCED,
+            new CanvasRules(), new Random(1), universe);
+    assertEquals(150, game.getAllCards().size());
+    game.startGame(game.getAllCards(), true, 4, 7);
+    assertEquals(139, game.numOfCardsInDeck());
+
+    SimulationResult result = new SimulationEngine(RedGameCreator.GameType.BASIC,
+            new CanvasRules(), universe, 4, 7, RandomPlayer::new, 3L, 2).run(50);
+    assertEquals(50, result.getGames());
+  }
+
+  /**
+   * Tests that a game rejects cards outside its universe.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testCardOutsideUniverse() {
+    new SoloRedGameModel().startGame(CardUniverse.of(5, 8).cards(), false, 4, 7);
+  }
+
+  /**
+   * Tests that bitboard games only play the standard universe.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testBitboardNeedsStandardUniverse() {
+    RedGameCreator.createGame(RedGameCreator.GameType.BITBOARD, new CanvasRules(),
+            new Random(), CardUniverse.of(5, 8));
+  }
+
+  /**
+   * Tests that universes of unsupported sizes are rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidUniverse() {
+    CardUniverse.of(6, 7);
+  }
+}
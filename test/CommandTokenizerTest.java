@@ -0,0 +1,143 @@
+import cs3500.solored.controller.CommandTokenizer;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.CharBuffer;
+import java.util.Random;
+import java.util.Scanner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for CommandTokenizer.
+ */
+public class CommandTokenizerTest {
+
+  /**
+   * Returns the natural number Integer.parseInt makes of a token, or -1 if it makes none.
+   */
+  private static int parseNatural(String token) {
+    try {
+      int value = Integer.parseInt(token);
+      return (value > 0) ? value : -1;
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  /**
+   * Tests that tokens are split on any whitespace and compared ignoring case.
+   */
+  @Test
+  public void testSplitsAndMatchesWords() {
+    CommandTokenizer tokens = new CommandTokenizer(new StringReader(
+            "  PaLeTtE\t1\n\n 2\r\ncanvas  Q"));
+    assertTrue(tokens.next());
+    assertTrue(tokens.is("palette"));
+    assertFalse(tokens.is("canvas"));
+    assertTrue(tokens.next());
+    assertEquals(1, tokens.naturalNumber());
+    assertTrue(tokens.next());
+    assertEquals(2, tokens.naturalNumber());
+    assertTrue(tokens.next());
+    assertTrue(tokens.is("canvas"));
+    assertFalse(tokens.is("canva"));
+    assertTrue(tokens.next());
+    assertTrue(tokens.is("q"));
+    assertFalse(tokens.next());
+    assertFalse(tokens.next());
+  }
+
+  /**
+   * Tests that exactly the positive ints that Integer.parseInt accepts are natural numbers.
+   */
+  @Test
+  public void testNaturalNumbers() {
+    String[] inputs = {"7", "+7", "007", "0", "-3", "+", "-", "12a", "2147483647",
+        "2147483648", "99999999999", "\u0664\u0662", "q", "++1"};
+    for (String input : inputs) {
+      CommandTokenizer tokens = new CommandTokenizer(new StringReader(input));
+      assertTrue(tokens.next());
+      assertEquals(input, parseNatural(input), tokens.naturalNumber());
+    }
+  }
+
+  /**
+   * Tests that random input splits into the same tokens as a Scanner, even when it arrives a
+   * few chars at a time and has tokens longer than the buffer.
+   */
+  @Test
+  public void testMatchesScanner() {
+    Random random = new Random(22);
+    String alphabet = "pq1 0\t\n-+9aQ";
+    for (int trial = 0; trial < 200; trial++) {
+      StringBuilder text = new StringBuilder();
+      int size = (trial % 10 == 0) ? 20000 : random.nextInt(200);
+      for (int i = 0; i < size; i++) {
+        char c = alphabet.charAt(random.nextInt(alphabet.length()));
+        text.append((trial % 10 == 0 && Character.isWhitespace(c)) ? 'p' : c);
+      }
+      String input = text.toString();
+      Scanner scanner = new Scanner(new StringReader(input));
+      CommandTokenizer tokens = new CommandTokenizer(chunked(input, 1 + random.nextInt(7)));
+      while (scanner.hasNext()) {
+        String expected = scanner.next();
+        assertTrue(tokens.next());
+        assertEquals(expected, tokens.toString());
+        assertEquals(expected.equalsIgnoreCase("q"), tokens.is("q"));
+        assertEquals(parseNatural(expected), tokens.naturalNumber());
+      }
+      assertFalse(tokens.next());
+    }
+  }
+
+  /**
+   * Tests that a failure to read ends the input, as it does for a Scanner.
+   */
+  @Test
+  public void testReadFailureEndsInput() {
+    Readable failing = new Readable() {
+      private boolean first = true;
+
+      @Override
+      public int read(CharBuffer cb) throws IOException {
+        if (first) {
+          first = false;
+          cb.put("canvas 3");
+          return 8;
+        }
+        throw new IOException("closed");
+      }
+    };
+    CommandTokenizer tokens = new CommandTokenizer(failing);
+    assertTrue(tokens.next());
+    assertTrue(tokens.is("canvas"));
+    assertTrue(tokens.next());
+    assertEquals(3, tokens.naturalNumber());
+    assertFalse(tokens.next());
+  }
+
+  /**
+   * Returns a Readable that gives the text at most the given number of chars at a time.
+   */
+  private static Readable chunked(String text, int chunk) {
+    return new Readable() {
+      private int position = 0;
+
+      @Override
+      public int read(CharBuffer cb) {
+        if (position == text.length()) {
+          return -1;
+        }
+        int n = Math.min(chunk, Math.min(cb.remaining(), text.length() - position));
+        cb.put(text, position, position + n);
+        position += n;
+        return n;
+      }
+    };
+  }
+}
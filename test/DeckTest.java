@@ -0,0 +1,199 @@
+import cs3500.solored.model.hw02.CardImpl;
+import cs3500.solored.model.hw02.CardUniverse;
+import cs3500.solored.model.hw02.Color;
+import cs3500.solored.model.hw02.Deck;
+import cs3500.solored.model.hw02.SoloRedGameModel;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the Deck.
+ */
+public class DeckTest {
+  private final List<CardImpl> cards = new SoloRedGameModel().getAllCards();
+
+  /**
+   * Tests that cards are drawn in order and the cursor tracks what is left.
+   */
+  @Test
+  public void testDrawInOrder() {
+    Deck deck = new Deck(cards);
+    assertEquals(35, deck.remaining());
+    for (int i = 0; i < cards.size(); i++) {
+      assertFalse(deck.isEmpty());
+      assertSame(cards.get(i), deck.draw());
+      assertEquals(cards.size() - i - 1, deck.remaining());
+    }
+    assertTrue(deck.isEmpty());
+  }
+
+  /**
+   * Tests that undrawing puts the last drawn cards back in order.
+   */
+  @Test
+  public void testUndraw() {
+    Deck deck = new Deck(cards);
+    deck.draw();
+    CardImpl second = deck.draw();
+    assertSame(second, deck.undraw());
+    assertEquals(34, deck.remaining());
+    assertSame(second, deck.draw());
+  }
+
+  /**
+   * Tests that a snapshot holds the cards left and is not changed by later draws.
+   */
+  @Test
+  public void testSnapshot() {
+    Deck deck = new Deck(cards);
+    deck.draw();
+    List<CardImpl> snapshot = deck.snapshot();
+    deck.draw();
+    assertEquals(cards.subList(1, cards.size()), snapshot);
+  }
+
+  /**
+   * Tests that shuffling with a seeded Random gives the order of Collections.shuffle.
+   */
+  @Test
+  public void testShuffleMatchesCollectionsShuffle() {
+    Deck deck = new Deck(cards);
+    deck.shuffle(new Random(5));
+    List<CardImpl> expected = new ArrayList<>(cards);
+    Collections.shuffle(expected, new Random(5));
+    assertEquals(expected, deck.snapshot());
+  }
+
+  /**
+   * Tests that the deck is a copy of the given list.
+   */
+  @Test
+  public void testCopiesCards() {
+    List<CardImpl> list = new ArrayList<>(cards);
+    Deck deck = new Deck(list);
+    list.clear();
+    assertEquals(35, deck.remaining());
+  }
+
+  /**
+   * Tests that a validated deck keeps the cards and order it was given.
+   */
+  @Test
+  public void testValidated() {
+    assertEquals(cards, Deck.validated(cards, CardUniverse.STANDARD).snapshot());
+    assertEquals(cards, Deck.validated(CardUniverse.STANDARD.cards(), CardUniverse.STANDARD)
+            .snapshot());
+    CardUniverse large = CardUniverse.of(5, 40);
+    assertEquals(200, Deck.validated(large.cards(), large).remaining());
+    assertEquals(200, Deck.validated(new ArrayList<>(large.cards()), large).remaining());
+  }
+
+  /**
+   * Tests that a list from getAllCards is still checked once it has been changed in any way.
+   */
+  @Test
+  public void testValidatedChecksChangedAllCards() {
+    List<List<CardImpl>> changed = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      changed.add(new SoloRedGameModel().getAllCards());
+    }
+    changed.get(0).set(1, changed.get(0).get(0));
+    changed.get(1).subList(0, 2).set(1, null);
+    changed.get(2).add(changed.get(2).get(5));
+    Collections.shuffle(changed.get(3), new Random(3));
+    changed.get(3).replaceAll(card -> CardImpl.of("R", 7));
+    for (List<CardImpl> deck : changed) {
+      try {
+        Deck.validated(deck, CardUniverse.STANDARD);
+        fail("Expected a changed deck to be checked and rejected.");
+      } catch (IllegalArgumentException e) {
+        // Expected exception
+      }
+    }
+    List<CardImpl> shuffled = new SoloRedGameModel().getAllCards();
+    Collections.shuffle(shuffled, new Random(3));
+    assertEquals(shuffled, Deck.validated(shuffled, CardUniverse.STANDARD).snapshot());
+    assertEquals(cards, Deck.validated(new SoloRedGameModel().getAllCards(),
+            CardUniverse.of(5, 8)).snapshot());
+  }
+
+  /**
+   * Tests that validation finds a repeated card, in a standard and a large universe.
+   */
+  @Test
+  public void testValidatedRejectsDuplicates() {
+    CardUniverse large = CardUniverse.of(5, 40);
+    for (CardUniverse universe : Arrays.asList(CardUniverse.STANDARD, large)) {
+      List<CardImpl> deck = new ArrayList<>(universe.cards());
+      deck.add(deck.get(deck.size() - 3));
+      try {
+        Deck.validated(deck, universe);
+        fail("Expected a repeated card to be rejected.");
+      } catch (IllegalArgumentException e) {
+        // Expected exception
+      }
+    }
+  }
+
+  /**
+   * Tests that validation rejects a null card.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testValidatedRejectsNull() {
+    Deck.validated(Arrays.asList(CardImpl.of("R", 1), null), CardUniverse.STANDARD);
+  }
+
+  /**
+   * Tests that validation rejects a card numbered above the universe or of a color it does not
+   * have.
+   */
+  @Test
+  public void testValidatedRejectsCardOutsideUniverse() {
+    CardImpl eight = CardUniverse.of(5, 8).card(Color.R, 8);
+    assertEquals(eight, Deck.validated(Arrays.asList(CardImpl.of("R", 1), eight),
+            CardUniverse.of(5, 8)).snapshot().get(1));
+    try {
+      Deck.validated(Arrays.asList(CardImpl.of("R", 1), eight), CardUniverse.STANDARD);
+      fail("Expected a card numbered above the universe to be rejected.");
+    } catch (IllegalArgumentException e) {
+      // Expected exception
+    }
+    // Three colors are red, orange and blue
+    for (CardImpl card : Arrays.asList(CardImpl.of("I", 2), CardImpl.of("V", 1))) {
+      try {
+        Deck.validated(Arrays.asList(CardImpl.of("B", 7), card), CardUniverse.of(3, 7));
+        fail("Expected " + card + " to be rejected.");
+      } catch (IllegalArgumentException e) {
+        // Expected exception
+      }
+    }
+  }
+
+  /**
+   * Tests that drawing from an empty deck is rejected.
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testDrawFromEmptyDeck() {
+    new Deck(new ArrayList<>()).draw();
+  }
+
+  /**
+   * Tests that undrawing before any draw is rejected.
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testUndrawNothing() {
+    new Deck(cards).undraw();
+  }
+}
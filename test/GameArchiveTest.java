@@ -0,0 +1,264 @@
+import cs3500.solored.model.hw02.CanvasRules;
+import cs3500.solored.model.hw02.CardUniverse;
+import cs3500.solored.model.hw02.Deck;
+import cs3500.solored.model.hw04.RedGameCreator;
+import cs3500.solored.player.RandomPlayer;
+import cs3500.solored.record.GameArchive;
+import cs3500.solored.record.GameArchiveWriter;
+import cs3500.solored.record.GameRecord;
+import cs3500.solored.record.GameRecorder;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for GameArchive and GameArchiveWriter.
+ */
+public class GameArchiveTest {
+
+  /**
+   * Records a game of the given type played by a random player from a seeded shuffle.
+   */
+  private static GameRecord randomGame(RedGameCreator.GameType type, long seed) {
+    SplittableRandom random = new SplittableRandom(seed);
+    Deck deck = new Deck(CardUniverse.STANDARD.cards());
+    deck.shuffle(random);
+    GameRecorder recorder = new GameRecorder(RedGameCreator.createGame(type, new CanvasRules(),
+            random), type, CardUniverse.STANDARD, deck.snapshot(), 4, 7);
+    RandomPlayer player = new RandomPlayer(random);
+    while (!recorder.getGame().isGameOver()) {
+      recorder.play(player.chooseMove(recorder.getGame()));
+    }
+    return recorder.toRecord();
+  }
+
+  /**
+   * Appends random games of every type to the archive at the given path.
+   */
+  private static List<GameRecord> appendGames(Path path, long firstSeed, int games)
+          throws IOException {
+    RedGameCreator.GameType[] types = RedGameCreator.GameType.values();
+    List<GameRecord> records = new ArrayList<>();
+    try (GameArchiveWriter writer = new GameArchiveWriter(path)) {
+      for (int i = 0; i < games; i++) {
+        GameRecord record = randomGame(types[i % types.length], firstSeed + i);
+        assertEquals(writer.size(), writer.append(record));
+        records.add(record);
+      }
+    }
+    return records;
+  }
+
+  /**
+   * Deletes the files of an archive and its directory.
+   */
+  private static void delete(Path path) throws IOException {
+    Files.deleteIfExists(path.resolveSibling(path.getFileName() + GameArchive.DATA_SUFFIX));
+    Files.deleteIfExists(path.resolveSibling(path.getFileName() + GameArchive.INDEX_SUFFIX));
+    Files.deleteIfExists(path.getParent());
+  }
+
+  /**
+   * Tests that every appended game reads back by id and replays as recorded, with both the
+   * default segments and segments so small that records and index entries cross them.
+   */
+  @Test
+  public void testGetAndReplayById() throws IOException {
+    Path path = Files.createTempDirectory("archive").resolve("games");
+    try {
+      List<GameRecord> records = appendGames(path, 0, 300);
+      for (int segmentSize : new int[]{GameArchive.DEFAULT_SEGMENT_SIZE, 64}) {
+        try (GameArchive archive = new GameArchive(path, segmentSize)) {
+          assertEquals(300, archive.size());
+          for (int id = 299; id >= 0; id--) {
+            assertArrayEquals(records.get(id).toBytes(), archive.get(id).toBytes());
+            assertTrue(archive.replay(id).matches());
+          }
+        }
+      }
+    } finally {
+      delete(path);
+    }
+  }
+
+  /**
+   * Tests that a reopened archive keeps its games and numbers new ones after them.
+   */
+  @Test
+  public void testReopenAndAppend() throws IOException {
+    Path path = Files.createTempDirectory("archive").resolve("games");
+    try {
+      List<GameRecord> records = appendGames(path, 0, 10);
+      records.addAll(appendGames(path, 10, 5));
+      try (GameArchive archive = new GameArchive(path)) {
+        assertEquals(15, archive.size());
+        assertArrayEquals(records.get(12).toBytes(), archive.get(12).toBytes());
+      }
+    } finally {
+      delete(path);
+    }
+  }
+
+  /**
+   * Tests that buffered records reach the archive when the writer is flushed.
+   */
+  @Test
+  public void testFlushWritesBufferedRecords() throws IOException {
+    Path path = Files.createTempDirectory("archive").resolve("games");
+    try (GameArchiveWriter writer = new GameArchiveWriter(path)) {
+      GameRecord record = randomGame(RedGameCreator.GameType.BASIC, 1);
+      writer.append(record);
+      writer.append(record);
+      try (GameArchive archive = new GameArchive(path)) {
+        assertEquals(0, archive.size());
+      }
+      writer.flush();
+      try (GameArchive archive = new GameArchive(path)) {
+        assertEquals(2, archive.size());
+        assertArrayEquals(record.toBytes(), archive.get(1).toBytes());
+      }
+    } finally {
+      delete(path);
+    }
+  }
+
+  /**
+   * Tests that a writer drops a record that was never indexed and a torn index entry.
+   */
+  @Test
+  public void testRecoversFromTornAppend() throws IOException {
+    Path path = Files.createTempDirectory("archive").resolve("games");
+    try {
+      appendGames(path, 0, 4);
+      try (FileChannel data = FileChannel.open(path.resolveSibling("games"
+              + GameArchive.DATA_SUFFIX), StandardOpenOption.APPEND);
+           FileChannel index = FileChannel.open(path.resolveSibling("games"
+                   + GameArchive.INDEX_SUFFIX), StandardOpenOption.APPEND)) {
+        data.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 9, 1, 2}));
+        index.write(ByteBuffer.wrap(new byte[]{0, 0, 1}));
+      }
+      List<GameRecord> more = appendGames(path, 4, 2);
+      try (GameArchive archive = new GameArchive(path)) {
+        assertEquals(6, archive.size());
+        assertArrayEquals(more.get(1).toBytes(), archive.get(5).toBytes());
+        assertTrue(archive.replay(4).matches());
+      }
+    } finally {
+      delete(path);
+    }
+  }
+
+  /**
+   * Tests that a writer drops whole index entries whose records never reached the data file,
+   * as an operating system crash can leave them.
+   */
+  @Test
+  public void testRecoversFromUnwrittenData() throws IOException {
+    Path path = Files.createTempDirectory("archive").resolve("games");
+    try {
+      appendGames(path, 0, 4);
+      Path data = path.resolveSibling("games" + GameArchive.DATA_SUFFIX);
+      long size = Files.size(data);
+      try (FileChannel dataChannel = FileChannel.open(data, StandardOpenOption.APPEND);
+           FileChannel index = FileChannel.open(path.resolveSibling("games"
+                   + GameArchive.INDEX_SUFFIX), StandardOpenOption.APPEND)) {
+        // A record whose length runs past the data, then one with no data at all
+        dataChannel.write(ByteBuffer.allocate(6).putInt(0, 1000));
+        index.write(ByteBuffer.allocate(16).putLong(0, size).putLong(8, size + 1006));
+      }
+      List<GameRecord> more = appendGames(path, 4, 1);
+      try (GameArchive archive = new GameArchive(path)) {
+        assertEquals(5, archive.size());
+        assertArrayEquals(more.get(0).toBytes(), archive.get(4).toBytes());
+        assertTrue(archive.replay(3).matches());
+      }
+    } finally {
+      delete(path);
+    }
+  }
+
+  /**
+   * Tests that disjoint ranges of an archive can be scanned on separate threads at once.
+   */
+  @Test
+  public void testParallelScan() throws Exception {
+    Path path = Files.createTempDirectory("archive").resolve("games");
+    try {
+      List<GameRecord> records = appendGames(path, 0, 400);
+      long expected = 0;
+      for (GameRecord record : records) {
+        expected += record.encodedSize();
+      }
+      try (GameArchive archive = new GameArchive(path, 256)) {
+        AtomicLong bytes = new AtomicLong();
+        AtomicLong mismatches = new AtomicLong();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+          long from = t * 100L;
+          threads.add(new Thread(() -> archive.scan(from, from + 100, (id, record) -> {
+            bytes.addAndGet(record.remaining());
+            if (!GameRecord.readFrom(record).getOutcome()
+                    .equals(records.get((int) id).getOutcome())) {
+              mismatches.incrementAndGet();
+            }
+          })));
+        }
+        for (Thread thread : threads) {
+          thread.start();
+        }
+        for (Thread thread : threads) {
+          thread.join();
+        }
+        assertEquals(expected, bytes.get());
+        assertEquals(0, mismatches.get());
+      }
+    } finally {
+      delete(path);
+    }
+  }
+
+  /**
+   * Tests that ids outside the archive and files that are not an archive are rejected.
+   */
+  @Test
+  public void testInvalidIdsAndFiles() throws IOException {
+    Path path = Files.createTempDirectory("archive").resolve("games");
+    try {
+      appendGames(path, 0, 3);
+      try (GameArchive archive = new GameArchive(path)) {
+        for (long id : new long[]{-1, 3}) {
+          try {
+            archive.get(id);
+            fail("Expected game " + id + " to be rejected.");
+          } catch (IllegalArgumentException e) {
+            // Expected exception
+          }
+        }
+      }
+      Files.write(path.resolveSibling("games" + GameArchive.DATA_SUFFIX), new byte[16]);
+      try {
+        new GameArchive(path).close();
+        fail("Expected a file without the archive header to be rejected.");
+      } catch (IllegalArgumentException e) {
+        // Expected exception
+      }
+    } finally {
+      delete(path);
+    }
+  }
+}
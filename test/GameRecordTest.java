@@ -0,0 +1,187 @@
+import cs3500.solored.model.hw02.CanvasRules;
+import cs3500.solored.model.hw02.CardImpl;
+import cs3500.solored.model.hw02.CardUniverse;
+import cs3500.solored.model.hw02.Deck;
+import cs3500.solored.model.hw02.Moves;
+import cs3500.solored.model.hw04.RedGameCreator;
+import cs3500.solored.player.RandomPlayer;
+import cs3500.solored.record.GameRecord;
+import cs3500.solored.record.GameRecorder;
+import cs3500.solored.record.GameReplayer;
+import cs3500.solored.record.ReplayResult;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for GameRecord, GameRecorder and GameReplayer.
+ */
+public class GameRecordTest {
+  private static final List<CardImpl> SMALL_DECK = Arrays.asList(CardImpl.of("R", 5),
+          CardImpl.of("R", 7), CardImpl.of("O", 6), CardImpl.of("B", 4), CardImpl.of("I", 3),
+          CardImpl.of("V", 1));
+
+  /**
+   * Records a game of the given type played by a random player from a seeded shuffle.
+   */
+  private static GameRecord randomGame(RedGameCreator.GameType type, CardUniverse universe,
+                                       long seed) {
+    SplittableRandom random = new SplittableRandom(seed);
+    Deck deck = new Deck(universe.cards());
+    deck.shuffle(random);
+    GameRecorder recorder = new GameRecorder(RedGameCreator.createGame(type, new CanvasRules(),
+            random, universe), type, universe, deck.snapshot(), 4, 7);
+    RandomPlayer player = new RandomPlayer(random);
+    while (!recorder.getGame().isGameOver()) {
+      recorder.play(player.chooseMove(recorder.getGame()));
+    }
+    return recorder.toRecord();
+  }
+
+  /**
+   * Tests that a record reads back from its bytes unchanged.
+   */
+  @Test
+  public void testRoundTrip() {
+    for (RedGameCreator.GameType type : RedGameCreator.GameType.values()) {
+      GameRecord record = randomGame(type, CardUniverse.STANDARD, 7);
+      byte[] bytes = record.toBytes();
+      assertEquals(record.encodedSize(), bytes.length);
+      GameRecord read = GameRecord.fromBytes(bytes);
+      assertEquals(type, read.getType());
+      assertEquals(CardUniverse.STANDARD, read.getUniverse());
+      assertEquals(4, read.getNumPalettes());
+      assertEquals(7, read.getHandSize());
+      assertEquals(record.getDeck(), read.getDeck());
+      assertEquals(record.getMoveCount(), read.getMoveCount());
+      for (int i = 0; i < record.getMoveCount(); i++) {
+        assertEquals(record.getMove(i), read.getMove(i));
+      }
+      assertEquals(record.getOutcome(), read.getOutcome());
+      assertEquals(record.getCardsLeftInDeck(), read.getCardsLeftInDeck());
+      assertArrayEquals(bytes, read.toBytes());
+    }
+  }
+
+  /**
+   * Tests that every move of a standard game takes one byte.
+   */
+  @Test
+  public void testOneBytePerMove() {
+    int[] moves = {Moves.canvas(6), Moves.palette(3, 6), Moves.DRAW, Moves.palette(0, 0)};
+    GameRecord none = new GameRecord(RedGameCreator.GameType.BASIC, CardUniverse.STANDARD, 4,
+            7, CardUniverse.STANDARD.cards(), new int[0], GameRecord.Outcome.UNFINISHED, 24);
+    GameRecord four = new GameRecord(RedGameCreator.GameType.BASIC, CardUniverse.STANDARD, 4,
+            7, CardUniverse.STANDARD.cards(), moves, GameRecord.Outcome.UNFINISHED, 24);
+    assertEquals(none.encodedSize() + 4, four.encodedSize());
+  }
+
+  /**
+   * Tests that cards of a large universe, whose ordinals take two bytes, read back.
+   */
+  @Test
+  public void testLargeUniverseRoundTrip() {
+    CardUniverse universe = CardUniverse.of(5, 40);
+    GameRecord record = randomGame(RedGameCreator.GameType.ADVANCED, universe, 3);
+    GameRecord read = GameRecord.fromBytes(record.toBytes());
+    assertEquals(universe, read.getUniverse());
+    assertEquals(record.getDeck(), read.getDeck());
+    assertTrue(new GameReplayer().replay(read).matches());
+  }
+
+  /**
+   * Tests that recorded games of every type replay as recorded, on their own type and on the
+   * other implementation of the basic rules.
+   */
+  @Test
+  public void testReplayMatches() {
+    GameReplayer replayer = new GameReplayer();
+    for (RedGameCreator.GameType type : RedGameCreator.GameType.values()) {
+      for (long seed = 0; seed < 50; seed++) {
+        GameRecord record = GameRecord.fromBytes(
+                randomGame(type, CardUniverse.STANDARD, seed).toBytes());
+        ReplayResult result = replayer.replay(record);
+        assertTrue(result.toString(), result.matches());
+        assertEquals(record.getOutcome(), GameRecord.Outcome.of(result.getGame()));
+      }
+    }
+    GameRecord basic = randomGame(RedGameCreator.GameType.BASIC, CardUniverse.STANDARD, 5);
+    assertTrue(replayer.replay(basic,
+            RedGameCreator.createGame(RedGameCreator.GameType.BITBOARD)).matches());
+  }
+
+  /**
+   * Tests that a replay flags a game that ends differently than recorded.
+   */
+  @Test
+  public void testReplayFlagsWrongOutcome() {
+    int[] moves = {Moves.palette(0, 0)};
+    GameRecord record = new GameRecord(RedGameCreator.GameType.BASIC, CardUniverse.STANDARD, 2,
+            2, SMALL_DECK, moves, GameRecord.Outcome.WON, 2);
+    ReplayResult result = new GameReplayer().replay(record);
+    assertFalse(result.matches());
+    assertEquals(1, result.getDivergedAt());
+
+    GameRecord wrongDeck = new GameRecord(RedGameCreator.GameType.BASIC, CardUniverse.STANDARD,
+            2, 2, SMALL_DECK, moves, GameRecord.Outcome.LOST, 1);
+    assertEquals(1, new GameReplayer().replay(wrongDeck).getDivergedAt());
+    GameRecord right = new GameRecord(RedGameCreator.GameType.BASIC, CardUniverse.STANDARD,
+            2, 2, SMALL_DECK, moves, GameRecord.Outcome.LOST, 2);
+    assertTrue(new GameReplayer().replay(right).matches());
+  }
+
+  /**
+   * Tests that a replay flags the first move that is illegal, and a deal that cannot start.
+   */
+  @Test
+  public void testReplayFlagsIllegalMove() {
+    // P2 is winning, so playing to it is illegal
+    int[] moves = {Moves.canvas(1), Moves.palette(1, 0)};
+    GameRecord record = new GameRecord(RedGameCreator.GameType.ADVANCED, CardUniverse.STANDARD,
+            2, 2, SMALL_DECK, moves, GameRecord.Outcome.UNFINISHED, 2);
+    ReplayResult result = new GameReplayer().replay(record);
+    assertFalse(result.matches());
+    assertEquals(1, result.getDivergedAt());
+
+    GameRecord repeated = new GameRecord(RedGameCreator.GameType.BASIC, CardUniverse.STANDARD,
+            2, 2, Arrays.asList(CardImpl.of("R", 5), CardImpl.of("R", 5), CardImpl.of("O", 6),
+            CardImpl.of("B", 4)), new int[0], GameRecord.Outcome.UNFINISHED, 0);
+    assertEquals(0, new GameReplayer().replay(repeated).getDivergedAt());
+  }
+
+  /**
+   * Tests that a move for a palette or card the game does not have cannot be recorded.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testRecordRejectsMissingPalette() {
+    new GameRecord(RedGameCreator.GameType.BASIC, CardUniverse.STANDARD, 2, 2, SMALL_DECK,
+            new int[]{Moves.palette(2, 0)}, GameRecord.Outcome.UNFINISHED, 0);
+  }
+
+  /**
+   * Tests that truncated bytes are rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testTruncatedRecord() {
+    byte[] bytes = randomGame(RedGameCreator.GameType.BASIC, CardUniverse.STANDARD, 1).toBytes();
+    GameRecord.fromBytes(Arrays.copyOf(bytes, bytes.length - 2));
+  }
+
+  /**
+   * Tests that bytes of another version are rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownVersion() {
+    byte[] bytes = randomGame(RedGameCreator.GameType.BASIC, CardUniverse.STANDARD, 1).toBytes();
+    bytes[0] = (byte) (GameRecord.VERSION + 1);
+    GameRecord.fromBytes(bytes);
+  }
+}
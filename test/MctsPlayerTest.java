@@ -0,0 +1,96 @@
+import cs3500.solored.model.hw02.CanvasRules;
+import cs3500.solored.model.hw02.CardImpl;
+import cs3500.solored.model.hw02.Moves;
+import cs3500.solored.model.hw02.RedGameModel;
+import cs3500.solored.model.hw02.SoloRedGameModel;
+import cs3500.solored.model.hw04.AdvancedSoloRedGameModel;
+import cs3500.solored.model.hw04.RedGameCreator;
+import cs3500.solored.player.MctsPlayer;
+import cs3500.solored.player.PaletteFirstRolloutPolicy;
+import cs3500.solored.player.RandomRolloutPolicy;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the MctsPlayer.
+ */
+public class MctsPlayerTest {
+
+  /**
+   * Plays whole games with the given player and returns how many were won. Any illegal move
+   * makes the model throw.
+   */
+  private static int playGames(MctsPlayer player, RedGameCreator.GameType type, int games) {
+    int wins = 0;
+    for (int seed = 0; seed < games; seed++) {
+      RedGameModel<CardImpl> game = type == RedGameCreator.GameType.ADVANCED
+              ? new AdvancedSoloRedGameModel(new Random(seed))
+              : new SoloRedGameModel(new Random(seed));
+      game.startGame(game.getAllCards(), true, 4, 7);
+      while (!game.isGameOver()) {
+        Moves.play(game, player.chooseMove(game));
+      }
+      if (game.isGameWon()) {
+        wins++;
+      }
+    }
+    return wins;
+  }
+
+  /**
+   * Tests that the player finishes basic games with only legal moves, and wins most of them.
+   */
+  @Test
+  public void testPlaysBasicGames() {
+    MctsPlayer player = new MctsPlayer(RedGameCreator.GameType.BASIC, new CanvasRules(),
+            new RandomRolloutPolicy(), 300, 0, 1 << 12, new Random(1));
+    assertTrue(playGames(player, RedGameCreator.GameType.BASIC, 10) >= 5);
+    assertTrue(player.getRolloutCount() > 0);
+  }
+
+  /**
+   * Tests that the player finishes advanced games with only legal moves, and wins most of them.
+   */
+  @Test
+  public void testPlaysAdvancedGames() {
+    MctsPlayer player = new MctsPlayer(RedGameCreator.GameType.ADVANCED, new CanvasRules(),
+            new PaletteFirstRolloutPolicy(), 300, 0, 1 << 12, new Random(1));
+    assertTrue(playGames(player, RedGameCreator.GameType.ADVANCED, 10) >= 5);
+  }
+
+  /**
+   * Tests that a full tree and a time budget still give legal moves.
+   */
+  @Test
+  public void testSmallTreeAndTimeBudget() {
+    MctsPlayer player = new MctsPlayer(RedGameCreator.GameType.BASIC, new CanvasRules(),
+            new RandomRolloutPolicy(), 0, 2, 8, new Random(2));
+    playGames(player, RedGameCreator.GameType.BASIC, 2);
+  }
+
+  /**
+   * Tests that the player rejects a game that is over.
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testGameOver() {
+    RedGameModel<CardImpl> game = new SoloRedGameModel(new Random(0));
+    game.startGame(game.getAllCards(), false, 4, 7);
+    while (!game.isGameOver()) {
+      game.playToPalette(game.winningPaletteIndex() == 0 ? 1 : 0, 0);
+    }
+    new MctsPlayer(RedGameCreator.GameType.BASIC).chooseMove(game);
+  }
+
+  /**
+   * Tests that the player rejects an empty budget.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoBudget() {
+    new MctsPlayer(RedGameCreator.GameType.BASIC, new CanvasRules(), new RandomRolloutPolicy(),
+            0, 0, 16, new Random());
+  }
+}
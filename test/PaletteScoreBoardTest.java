@@ -0,0 +1,69 @@
+import cs3500.solored.model.hw02.CanvasRules;
+import cs3500.solored.model.hw02.CardImpl;
+import cs3500.solored.model.hw02.CardUniverse;
+import cs3500.solored.model.hw02.Color;
+import cs3500.solored.model.hw02.PaletteScoreBoard;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for the winner tracking of PaletteScoreBoard.
+ */
+public class PaletteScoreBoardTest {
+
+  /**
+   * Tests that a board tracking the winner with tournament trees always agrees with a board
+   * that scans, over random card changes and canvas colors.
+   */
+  @Test
+  public void testTreeMatchesScan() {
+    for (int palettes : new int[]{1, 2, 3, 5, 33, 200}) {
+      PaletteScoreBoard scan = new PaletteScoreBoard(new CanvasRules(), CardUniverse.STANDARD,
+              Integer.MAX_VALUE);
+      PaletteScoreBoard tree = new PaletteScoreBoard(new CanvasRules(), CardUniverse.STANDARD,
+              0);
+      scan.reset(palettes);
+      tree.reset(palettes);
+      Random random = new Random(palettes);
+      for (int i = 0; i < 3000; i++) {
+        int palette = random.nextInt(palettes);
+        int ordinal = 5 + random.nextInt(CardImpl.ORDINAL_COUNT - 5);
+        if (random.nextBoolean()) {
+          scan.addCard(palette, ordinal);
+          tree.addCard(palette, ordinal);
+        } else {
+          scan.removeCard(palette, ordinal);
+          tree.removeCard(palette, ordinal);
+        }
+        Color rule = Color.values()[random.nextInt(Color.values().length)];
+        assertEquals(scan.winner(rule), tree.winner(rule));
+      }
+      PaletteScoreBoard copy = new PaletteScoreBoard(tree);
+      copy.addCard(0, CardImpl.of("R", 7).ordinal());
+      scan.addCard(0, CardImpl.of("R", 7).ordinal());
+      assertEquals(scan.winner(Color.R), copy.winner(Color.R));
+    }
+  }
+
+  /**
+   * Tests that the first palette wins ties under a tournament tree, as it does in a scan.
+   */
+  @Test
+  public void testTreeTiesGoToFirstPalette() {
+    PaletteScoreBoard board = new PaletteScoreBoard(new CanvasRules(), CardUniverse.STANDARD,
+            0);
+    board.reset(300);
+    assertEquals(0, board.winner(Color.B));
+    board.addCard(299, CardImpl.of("R", 3).ordinal());
+    assertEquals(299, board.winner(Color.B));
+    board.addCard(150, CardImpl.of("R", 3).ordinal());
+    assertEquals(150, board.winner(Color.B));
+    assertEquals(150, board.winner(Color.R));
+    board.removeCard(150, CardImpl.of("R", 3).ordinal());
+    assertEquals(299, board.winner(Color.R));
+  }
+}
@@ -0,0 +1,121 @@
+import cs3500.solored.model.hw02.CardImpl;
+import cs3500.solored.model.hw02.Color;
+import cs3500.solored.model.hw02.PaletteScorer;
+import cs3500.solored.model.hw02.StandardCanvasRule;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the packed scoring kernels of PaletteScorer.
+ */
+public class PaletteScorerTest {
+
+  private static long mask(CardImpl... cards) {
+    return PaletteScorer.maskOf(Arrays.asList(cards));
+  }
+
+  /**
+   * Tests the main score and tie-breaker card of each rule on one palette.
+   */
+  @Test
+  public void testScoresOfEachRule() {
+    long palette = mask(CardImpl.of("R", 2), CardImpl.of("B", 2), CardImpl.of("O", 3),
+            CardImpl.of("I", 5), CardImpl.of("V", 6));
+
+    long red = PaletteScorer.score(Color.R, palette);
+    assertEquals(CardImpl.of("V", 6).ordinal(), PaletteScorer.tieBreakerOrdinal(red));
+
+    long orange = PaletteScorer.score(Color.O, palette);
+    assertEquals(2 * 8 + 2, PaletteScorer.mainScore(orange));
+    assertEquals(CardImpl.of("R", 2).ordinal(), PaletteScorer.tieBreakerOrdinal(orange));
+
+    assertEquals(5, PaletteScorer.mainScore(PaletteScorer.score(Color.B, palette)));
+    assertEquals(2, PaletteScorer.mainScore(PaletteScorer.score(Color.I, palette)));
+
+    long violet = PaletteScorer.score(Color.V, palette);
+    assertEquals(3, PaletteScorer.mainScore(violet));
+    assertEquals(CardImpl.of("O", 3).ordinal(), PaletteScorer.tieBreakerOrdinal(violet));
+  }
+
+  /**
+   * Tests that packed scores compare the same way the rules break ties.
+   */
+  @Test
+  public void testPackedScoresCompareLikeTheRules() {
+    // Same longest run, so the highest card decides
+    assertTrue(PaletteScorer.scoreIndigo(mask(CardImpl.of("V", 1), CardImpl.of("R", 2)))
+            > PaletteScorer.scoreIndigo(mask(CardImpl.of("O", 1), CardImpl.of("I", 2))));
+    // Equal counts of a number, so the higher number wins
+    assertTrue(PaletteScorer.scoreOrange(mask(CardImpl.of("V", 4)))
+            > PaletteScorer.scoreOrange(mask(CardImpl.of("R", 3))));
+    // Nothing below 4 on either side ties
+    assertEquals(PaletteScorer.scoreViolet(mask(CardImpl.of("V", 7))),
+            PaletteScorer.scoreViolet(mask(CardImpl.of("R", 5))));
+    assertEquals(-1, PaletteScorer.tieBreakerOrdinal(
+            PaletteScorer.scoreViolet(mask(CardImpl.of("R", 5)))));
+  }
+
+  /**
+   * Tests that each rule finds the cards that reach a score exactly as scoring the palette
+   * with each card would, for random palettes and thresholds near their scores.
+   */
+  @Test
+  public void testCardsReachingMatchesScoring() {
+    SplittableRandom random = new SplittableRandom(3);
+    for (int i = 0; i < 20_000; i++) {
+      long palette = 0L;
+      long cards = 0L;
+      for (int j = random.nextInt(8); j > 0; j--) {
+        palette |= 1L << random.nextInt(CardImpl.ORDINAL_COUNT);
+      }
+      for (int j = random.nextInt(10); j > 0; j--) {
+        cards |= 1L << random.nextInt(CardImpl.ORDINAL_COUNT);
+      }
+      for (StandardCanvasRule rule : StandardCanvasRule.values()) {
+        long card = 1L << random.nextInt(CardImpl.ORDINAL_COUNT);
+        long threshold = rule.score(palette | card) + random.nextInt(-2, 3);
+        long expected = 0L;
+        for (int k = 0; k < CardImpl.ORDINAL_COUNT; k++) {
+          if ((cards & (1L << k)) != 0 && rule.score(palette | (1L << k)) >= threshold) {
+            expected |= 1L << k;
+          }
+        }
+        assertEquals(expected, rule.cardsReaching(palette, cards, threshold));
+      }
+    }
+  }
+
+  /**
+   * Tests that scoring a palette allocates nothing, once the kernels are warmed up.
+   */
+  @Test
+  public void testScoringAllocatesNothing() {
+    com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    List<CardImpl> palette = Arrays.asList(CardImpl.of("R", 2), CardImpl.of("B", 2),
+            CardImpl.of("O", 3), CardImpl.of("I", 5), CardImpl.of("V", 6));
+    Color[] rules = Color.values();
+
+    long sink = 0;
+    for (int i = 0; i < 200_000; i++) {
+      sink += PaletteScorer.score(rules[i % rules.length], palette);
+    }
+
+    long before = threads.getCurrentThreadAllocatedBytes();
+    for (int i = 0; i < 100_000; i++) {
+      sink += PaletteScorer.score(rules[i % rules.length], palette);
+    }
+    long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+    assertTrue(sink != 0);
+    assertEquals(0, allocated);
+  }
+}
@@ -0,0 +1,116 @@
+import cs3500.solored.model.hw02.CanvasRules;
+import cs3500.solored.model.hw02.CardImpl;
+import cs3500.solored.model.hw02.SearchableRedGameModel;
+import cs3500.solored.model.hw02.SoloRedGameModel;
+import cs3500.solored.model.hw04.AdvancedSoloRedGameModel;
+import cs3500.solored.solver.ConcurrentTranspositionTable;
+import cs3500.solored.solver.DrawRule;
+import cs3500.solored.solver.ParallelWinnabilitySolver;
+import cs3500.solored.solver.Solution;
+import cs3500.solored.solver.WinnabilitySolver;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the ParallelWinnabilitySolver and its shared transposition table.
+ */
+public class ParallelWinnabilitySolverTest {
+
+  private static List<CardImpl> smallDeck(int seed, int count) {
+    List<CardImpl> deck = new SoloRedGameModel().getAllCards();
+    Collections.shuffle(deck, new Random(seed));
+    return new ArrayList<>(deck.subList(0, count));
+  }
+
+  private static void assertAgreesWithSequential(DrawRule rule) {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      WinnabilitySolver sequential = new WinnabilitySolver(rule);
+      ParallelWinnabilitySolver parallel =
+              new ParallelWinnabilitySolver(rule, new CanvasRules(), pool, 2, 16);
+      for (int seed = 0; seed < 40; seed++) {
+        List<CardImpl> deck = smallDeck(seed, 12);
+        Solution expected = sequential.solve(deck, 3, 3);
+        Solution actual = parallel.solve(deck, 3, 3);
+        assertEquals("seed " + seed, expected.isWinnable(), actual.isWinnable());
+
+        if (actual.isWinnable()) {
+          SearchableRedGameModel<CardImpl> game = rule == DrawRule.BASIC
+                  ? new SoloRedGameModel() : new AdvancedSoloRedGameModel();
+          game.startGame(deck, false, 3, 3);
+          for (int move : actual.getWinningLine()) {
+            game.makeMove(move);
+          }
+          assertTrue(game.isGameWon());
+        }
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Tests that the parallel solver agrees with the sequential one under the basic draw rule.
+   */
+  @Test
+  public void testBasicRulesAgreeWithSequential() {
+    assertAgreesWithSequential(DrawRule.BASIC);
+  }
+
+  /**
+   * Tests that the parallel solver agrees with the sequential one under the advanced draw rule.
+   */
+  @Test
+  public void testAdvancedRulesAgreeWithSequential() {
+    assertAgreesWithSequential(DrawRule.ADVANCED);
+  }
+
+  /**
+   * Tests that the shared table reports exactly the losses recorded in it.
+   */
+  @Test
+  public void testConcurrentTableRecordsLosses() {
+    ConcurrentTranspositionTable table = new ConcurrentTranspositionTable(4);
+    assertEquals(16, table.capacity());
+    assertFalse(table.isKnownLoss(0x1234L));
+    table.recordLoss(0x1234L);
+    assertTrue(table.isKnownLoss(0x1234L));
+    assertFalse(table.isKnownLoss(0x1244L));
+    table.recordLoss(0x1244L);
+    assertTrue(table.isKnownLoss(0x1244L));
+    assertFalse(table.isKnownLoss(0x1234L));
+    table.clear();
+    assertFalse(table.isKnownLoss(0x1244L));
+  }
+
+  /**
+   * Tests that a split depth of zero searches sequentially on one task.
+   */
+  @Test
+  public void testZeroSplitDepth() {
+    List<CardImpl> deck = smallDeck(3, 12);
+    ParallelWinnabilitySolver parallel = new ParallelWinnabilitySolver(DrawRule.BASIC,
+            new CanvasRules(), ForkJoinPool.commonPool(), 0, 16);
+    assertEquals(new WinnabilitySolver(DrawRule.BASIC).solve(deck, 3, 3).isWinnable(),
+            parallel.solve(deck, 3, 3).isWinnable());
+  }
+
+  /**
+   * Tests that the solver rejects a negative split depth.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeSplitDepth() {
+    new ParallelWinnabilitySolver(DrawRule.BASIC, new CanvasRules(), ForkJoinPool.commonPool(),
+            -1, 16);
+  }
+}
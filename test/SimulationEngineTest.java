@@ -0,0 +1,96 @@
+import cs3500.solored.model.hw02.CanvasRules;
+import cs3500.solored.model.hw02.CardImpl;
+import cs3500.solored.model.hw02.RedGameModel;
+import cs3500.solored.model.hw04.RedGameCreator;
+import cs3500.solored.player.MctsPlayer;
+import cs3500.solored.player.RandomPlayer;
+import cs3500.solored.player.RandomRolloutPolicy;
+import cs3500.solored.sim.PlayerFactory;
+import cs3500.solored.sim.SimulationEngine;
+import cs3500.solored.sim.SimulationResult;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the SimulationEngine.
+ */
+public class SimulationEngineTest {
+
+  private static void assertSameTotals(SimulationResult expected, SimulationResult actual) {
+    assertEquals(expected.getGames(), actual.getGames());
+    assertEquals(expected.getWins(), actual.getWins());
+    assertEquals(expected.getMoves(), actual.getMoves());
+    assertEquals(expected.getCardsLeft(), actual.getCardsLeft());
+  }
+
+  /**
+   * Tests that a batch gives the same totals on any number of threads.
+   */
+  @Test
+  public void testTotalsDoNotDependOnThreads() {
+    for (RedGameCreator.GameType type : RedGameCreator.GameType.values()) {
+      SimulationResult one = new SimulationEngine(type, new CanvasRules(), 4, 7,
+              RandomPlayer::new, 42L, 1).run(500);
+      SimulationResult three = new SimulationEngine(type, new CanvasRules(), 4, 7,
+              RandomPlayer::new, 42L, 3).run(500);
+      assertSameTotals(one, three);
+      assertEquals(500, one.getGames());
+      assertTrue(one.getMoves() >= 500);
+      assertTrue(one.gamesPerSecond() > 0);
+    }
+  }
+
+  /**
+   * Tests that a player with its own randomness and state plays the same games on any
+   * number of threads, and that a single game can be replayed on its own.
+   */
+  @Test
+  public void testMctsGamesAreReproducible() {
+    PlayerFactory players = random -> new MctsPlayer(RedGameCreator.GameType.ADVANCED,
+            new CanvasRules(), new RandomRolloutPolicy(), 50, 0, 1 << 10, random);
+    SimulationEngine oneThread = new SimulationEngine(RedGameCreator.GameType.ADVANCED,
+            new CanvasRules(), 4, 7, players, 7L, 1);
+    SimulationEngine twoThreads = new SimulationEngine(RedGameCreator.GameType.ADVANCED,
+            new CanvasRules(), 4, 7, players, 7L, 2);
+    assertSameTotals(oneThread.run(6), twoThreads.run(6));
+
+    RedGameModel<CardImpl> first = oneThread.playGame(3);
+    RedGameModel<CardImpl> second = twoThreads.playGame(3);
+    assertEquals(first.getCanvas(), second.getCanvas());
+    for (int p = 0; p < first.numPalettes(); p++) {
+      assertEquals(first.getPalette(p), second.getPalette(p));
+    }
+  }
+
+  /**
+   * Tests that different base seeds deal different games.
+   */
+  @Test
+  public void testGameSeeds() {
+    assertEquals(SimulationEngine.gameSeed(1L, 5L), SimulationEngine.gameSeed(1L, 5L));
+    assertNotEquals(SimulationEngine.gameSeed(1L, 5L), SimulationEngine.gameSeed(1L, 6L));
+    assertNotEquals(SimulationEngine.gameSeed(1L, 5L), SimulationEngine.gameSeed(2L, 5L));
+  }
+
+  /**
+   * Tests that settings that cannot start a game are reported as invalid.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSettings() {
+    new SimulationEngine(RedGameCreator.GameType.BASIC, new CanvasRules(), 1, 7,
+            RandomPlayer::new, 0L, 2).run(10);
+  }
+
+  /**
+   * Tests that an engine needs at least one thread.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoThreads() {
+    new SimulationEngine(RedGameCreator.GameType.BASIC, new CanvasRules(), 4, 7,
+            RandomPlayer::new, 0L, 0);
+  }
+}
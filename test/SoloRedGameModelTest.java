@@ -1,6 +1,14 @@
 import cs3500.solored.controller.SoloRedTextController;
+import cs3500.solored.model.hw02.CanvasRules;
 import cs3500.solored.model.hw02.CardImpl;
+import cs3500.solored.model.hw02.Color;
+import cs3500.solored.model.hw02.Moves;
+import cs3500.solored.model.hw02.ObservableRedGameModel;
+import cs3500.solored.model.hw02.RedGameModel;
+import cs3500.solored.model.hw02.SearchableRedGameModel;
 import cs3500.solored.model.hw02.SoloRedGameModel;
+import cs3500.solored.model.hw02.StandardCanvasRule;
+import cs3500.solored.model.hw04.AdvancedSoloRedGameModel;
 import cs3500.solored.view.hw02.SoloRedGameTextView;
 
 import org.junit.Before;
@@ -11,13 +19,17 @@ import java.io.StringReader;
 import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.fail;
@@ -31,12 +43,22 @@ import static org.junit.Assert.fail;
  */
 public class SoloRedGameModelTest {
 
-  private SoloRedGameModel model;
+  private RedGameModel<CardImpl> model;
   private List<CardImpl> deck;
 
+  /**
+   * Creates the model under test. Subclasses override this to run the whole suite against
+   * another implementation of the basic rules.
+   *
+   * @return a new, unstarted model
+   */
+  protected RedGameModel<CardImpl> createModel() {
+    return new SoloRedGameModel();
+  }
+
   @Before
   public void setup() {
-    model = new SoloRedGameModel();
+    model = createModel();
     deck = new ArrayList<>();
     for (String color : new String[]{"R", "O", "B", "I", "V"}) {
       for (int num = 1; num <= 7; num++) {
@@ -93,6 +115,21 @@ public class SoloRedGameModelTest {
     assertNotEquals(card1.hashCode(), card3.hashCode());
   }
 
+  /**
+   * Tests that CardImpl.of returns shared instances whose ordinals follow card strength.
+   */
+  @Test
+  public void testCardImplCanonicalInstances() {
+    assertSame(CardImpl.of("B", 4), CardImpl.of("B", 4));
+    assertSame(CardImpl.of("B", 4), CardImpl.fromOrdinal(CardImpl.of("B", 4).ordinal()));
+    assertEquals(new CardImpl("B", 4), CardImpl.of("B", 4));
+    assertEquals(0, CardImpl.of("V", 0).ordinal());
+    assertEquals(CardImpl.ORDINAL_COUNT - 1, CardImpl.of("R", 7).ordinal());
+    assertTrue(CardImpl.of("R", 3).ordinal() > CardImpl.of("O", 3).ordinal());
+    assertTrue(CardImpl.of("V", 4).ordinal() > CardImpl.of("R", 3).ordinal());
+    assertSame(model.getAllCards().get(0), model.getAllCards().get(0));
+  }
+
   // --------------------- SoloRedGameModel Tests ---------------------
 
   /**
@@ -223,6 +260,195 @@ public class SoloRedGameModelTest {
     assertTrue(winningIndex >= 0 && winningIndex < model.numPalettes());
   }
 
+  /**
+   * Tests that the winning palette is cached until a move changes the game state.
+   */
+  @Test
+  public void testWinningPaletteIndexIsCached() {
+    SoloRedGameModel model = new SoloRedGameModel();
+    model.startGame(deck, false, 4, 7);
+    assertEquals(3, model.winningPaletteIndex());
+    assertEquals(3, model.winningPaletteIndex());
+    assertEquals(1, model.getScoreCacheMisses());
+    assertEquals(1, model.getScoreCacheHits());
+
+    // R5 beats R4 under the red rule, so the move is legal and changes the winner
+    model.playToPalette(0, 0);
+    assertEquals(0, model.winningPaletteIndex());
+    assertEquals(2, model.getScoreCacheMisses());
+
+    // O1 on the canvas makes every palette score again
+    model.playToCanvas(2);
+    model.winningPaletteIndex();
+    assertEquals(3, model.getScoreCacheMisses());
+  }
+
+  /**
+   * Tests that asking for the winner under another canvas does not change the game.
+   */
+  @Test
+  public void testWinningPaletteIndexForOtherCanvas() {
+    SoloRedGameModel model = new SoloRedGameModel();
+    model.startGame(deck, false, 4, 7);
+    // Under violet, R1, R2 and R3 all have one card below 4 and R3 is the highest
+    assertEquals(2, model.winningPaletteIndexFor(Color.V));
+    assertEquals(3, model.winningPaletteIndexFor(Color.R));
+    assertEquals(3, model.winningPaletteIndex());
+    assertEquals(Color.R, model.getCanvas().getColor());
+  }
+
+  /**
+   * Tests that a model scores palettes with the canvas rules it was given.
+   */
+  @Test
+  public void testRegisteredCanvasRuleIsUsed() {
+    // Lowest card wins instead of highest
+    CanvasRules rules = new CanvasRules()
+            .register(Color.R, mask -> 64 - Long.numberOfTrailingZeros(mask));
+    SoloRedGameModel model = new SoloRedGameModel(new Random(), rules);
+    model.startGame(deck, false, 4, 7);
+    assertEquals(0, model.winningPaletteIndex());
+
+    // Registering after construction does not change the model
+    rules.register(Color.R, StandardCanvasRule.RED);
+    model.playToPalette(1, 0);
+    assertTrue(model.isGameOver());
+  }
+
+  /**
+   * Tests that the legal moves are exactly the moves that do not throw.
+   */
+  @Test
+  public void testLegalMoves() {
+    SearchableRedGameModel<CardImpl> searchable = (SearchableRedGameModel<CardImpl>) model;
+    assertEquals(0, searchable.legalMoves(new int[0]));
+    assertFalse(searchable.canPlayToCanvas(0));
+
+    searchable.startGame(deck, false, 4, 7);
+    int[] moves = new int[Moves.maxMoveCount(4, 7)];
+    int count = searchable.legalMoves(moves);
+    assertEquals(3 * 7 + 7, count);
+    assertFalse(searchable.canPlayToPalette(3, 0));
+    assertFalse(searchable.canPlayToPalette(0, 7));
+    assertTrue(searchable.canPlayToCanvas(6));
+
+    for (int i = 0; i < count; i++) {
+      RedGameModel<CardImpl> fresh = createModel();
+      fresh.startGame(deck, false, 4, 7);
+      if (Moves.isCanvas(moves[i])) {
+        fresh.playToCanvas(Moves.cardIndex(moves[i]));
+      } else {
+        fresh.playToPalette(Moves.paletteIndex(moves[i]), Moves.cardIndex(moves[i]));
+      }
+    }
+
+    searchable.playToCanvas(0);
+    assertFalse(searchable.canPlayToCanvas(0));
+    assertEquals(3 * 6, searchable.legalMoves(moves));
+  }
+
+  /**
+   * Describes everything observable about a started game, for comparing states.
+   */
+  private static String describe(RedGameModel<CardImpl> game) {
+    StringBuilder sb = new StringBuilder();
+    sb.append(game.getCanvas()).append(game.getHand()).append(game.numOfCardsInDeck());
+    for (int i = 0; i < game.numPalettes(); i++) {
+      sb.append(game.getPalette(i));
+    }
+    sb.append(game.isGameOver()).append(game.isGameOver() && game.isGameWon());
+    sb.append(game.winningPaletteIndex());
+    return sb.toString();
+  }
+
+  /**
+   * Plays random legal moves on a game, then undoes them one by one, checking that every
+   * undo restores the state from before the matching move.
+   */
+  private static void assertUndoRestoresEveryState(SearchableRedGameModel<CardImpl> game,
+                                                   Random moves) {
+    List<String> states = new ArrayList<>();
+    int[] buffer = new int[Moves.maxMoveCount(game.numPalettes(), game.getHand().size())];
+    while (!game.isGameOver()) {
+      states.add(describe(game));
+      game.makeMove(buffer[moves.nextInt(game.legalMoves(buffer))]);
+      if (!game.isGameOver() && moves.nextBoolean()) {
+        states.add(describe(game));
+        game.drawForHand();
+      }
+    }
+    assertEquals(states.size(), game.undoDepth());
+    for (int i = states.size() - 1; i >= 0; i--) {
+      game.undo();
+      assertEquals(states.get(i), describe(game));
+    }
+    assertEquals(0, game.undoDepth());
+  }
+
+  /**
+   * Tests that undo restores every state of a game back to its start.
+   */
+  @Test
+  public void testUndoRestoresEveryState() {
+    for (int seed = 0; seed < 50; seed++) {
+      SearchableRedGameModel<CardImpl> game = (SearchableRedGameModel<CardImpl>) createModel();
+      game.startGame(deck, seed % 2 == 0, 3, 5);
+      assertUndoRestoresEveryState(game, new Random(seed));
+    }
+  }
+
+  /**
+   * Tests that undo restores the extra state of the advanced rules.
+   */
+  @Test
+  public void testUndoRestoresAdvancedState() {
+    for (int seed = 0; seed < 50; seed++) {
+      AdvancedSoloRedGameModel game = new AdvancedSoloRedGameModel(new Random(seed));
+      game.startGame(deck, true, 3, 5);
+      assertUndoRestoresEveryState(game, new Random(seed));
+    }
+  }
+
+  /**
+   * Tests that undo fails when there is nothing to undo.
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testUndoWithNothingToUndo() {
+    model.startGame(deck, false, 4, 7);
+    ((SearchableRedGameModel<CardImpl>) model).undo();
+  }
+
+  /**
+   * Tests that shuffling with a seeded java.util.Random deals the same cards as
+   * Collections.shuffle with that seed, so existing seeded games are unchanged.
+   */
+  @Test
+  public void testRandomShuffleMatchesCollectionsShuffle() {
+    for (int seed = 0; seed < 20; seed++) {
+      SoloRedGameModel game = new SoloRedGameModel(new Random(seed));
+      List<CardImpl> expected = new ArrayList<>(game.getAllCards());
+      Collections.shuffle(expected, new Random(seed));
+      game.startGame(game.getAllCards(), true, 4, 7);
+      for (int p = 0; p < 4; p++) {
+        assertEquals(expected.get(p), game.getPalette(p).get(0));
+      }
+      assertEquals(expected.subList(4, 11), game.getHand());
+    }
+  }
+
+  /**
+   * Tests that a seeded splittable generator deals the same game every time.
+   */
+  @Test
+  public void testSplittableRandomIsReproducible() {
+    SoloRedGameModel first = new SoloRedGameModel(new SplittableRandom(9));
+    SoloRedGameModel second = new SoloRedGameModel(new SplittableRandom(9));
+    first.startGame(first.getAllCards(), true, 4, 7);
+    second.startGame(second.getAllCards(), true, 4, 7);
+    assertEquals(first.getHand(), second.getHand());
+    assertEquals(first.getPalette(3), second.getPalette(3));
+  }
+
   /**
    * Tests that the game over condition is correctly identified when the game is lost.
    */
@@ -572,6 +798,64 @@ public class SoloRedGameModelTest {
     model.getPalette(-1);
   }
 
+  /**
+   * Tests that the observation accessors read the same cards the copying getters return,
+   * throughout a game played with random moves.
+   */
+  @Test
+  public void testObservationMatchesCopies() {
+    ObservableRedGameModel<CardImpl> game = (ObservableRedGameModel<CardImpl>) model;
+    game.startGame(deck, true, 4, 7);
+    Random random = new Random(9);
+    while (!game.isGameOver()) {
+      List<CardImpl> hand = game.getHand();
+      assertEquals(hand.size(), game.handSize());
+      for (int j = 0; j < hand.size(); j++) {
+        assertSame(hand.get(j), game.handCard(j));
+      }
+      for (int p = 0; p < game.numPalettes(); p++) {
+        List<CardImpl> palette = game.getPalette(p);
+        assertEquals(palette.size(), game.paletteSize(p));
+        for (int j = 0; j < palette.size(); j++) {
+          assertSame(palette.get(j), game.paletteCard(p, j));
+        }
+      }
+      int palette = (game.winningPaletteIndex() + 1 + random.nextInt(game.numPalettes() - 1))
+              % game.numPalettes();
+      game.playToPalette(palette, random.nextInt(game.handSize()));
+      if (!game.isGameOver()) {
+        game.drawForHand();
+      }
+    }
+  }
+
+  /**
+   * Tests that the observation accessors reject indexes out of range.
+   */
+  @Test
+  public void testObservationWithInvalidIndex() {
+    ObservableRedGameModel<CardImpl> game = (ObservableRedGameModel<CardImpl>) model;
+    game.startGame(deck, false, 4, 7);
+    List<Runnable> reads = Arrays.asList(() -> game.handCard(7), () -> game.handCard(-1),
+        () -> game.paletteSize(4), () -> game.paletteCard(0, 1), () -> game.paletteCard(-1, 0));
+    for (Runnable read : reads) {
+      try {
+        read.run();
+        fail("Expected IllegalArgumentException for an index out of range.");
+      } catch (IllegalArgumentException e) {
+        // Expected exception
+      }
+    }
+  }
+
+  /**
+   * Tests that the observation accessors cannot be used before the game starts.
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testObservationBeforeGameStarts() {
+    ((ObservableRedGameModel<CardImpl>) model).handSize();
+  }
+
   /**
    * Tests that the game handles ties correctly in scoring.
    */
@@ -605,7 +889,7 @@ public class SoloRedGameModelTest {
    */
   @Test
   public void testRender() throws IOException {
-    SoloRedGameModel modelForView = new SoloRedGameModel();
+    RedGameModel<CardImpl> modelForView = createModel();
     modelForView.startGame(Arrays.asList(new CardImpl("R", 5), // Canvas
             new CardImpl("R", 7), // Palette 1
             new CardImpl("O", 6), // Palette 2
@@ -624,12 +908,149 @@ public class SoloRedGameModelTest {
     assertEquals(expected, output.toString());
   }
 
+  /**
+   * Tests that render writes exactly the frame that toString returns and that joining the
+   * copied hand and palettes gives, throughout a game of more than nine palettes.
+   */
+  @Test
+  public void testRenderMatchesCopiedState() throws IOException {
+    RedGameModel<CardImpl> modelForView = createModel();
+    modelForView.startGame(deck, true, 12, 5);
+    StringBuilder output = new StringBuilder();
+    SoloRedGameTextView view = new SoloRedGameTextView(modelForView, output);
+    Random random = new Random(3);
+    while (!modelForView.isGameOver()) {
+      StringBuilder expected = new StringBuilder("Canvas: ")
+              .append(modelForView.getCanvas().getColor()).append("\n");
+      for (int i = 0; i < modelForView.numPalettes(); i++) {
+        expected.append(i == modelForView.winningPaletteIndex() ? "> P" : "P").append(i + 1)
+                .append(": ");
+        for (CardImpl card : modelForView.getPalette(i)) {
+          expected.append(card).append(" ");
+        }
+        if (!modelForView.getPalette(i).isEmpty()) {
+          expected.setLength(expected.length() - 1);
+        }
+        expected.append("\n");
+      }
+      expected.append("Hand: ").append(String.join(" ", modelForView.getHand().stream()
+              .map(CardImpl::toString).toArray(String[]::new)));
+
+      output.setLength(0);
+      view.render();
+      assertEquals(expected.toString(), output.toString());
+      assertEquals(expected.toString(), view.toString());
+
+      int palette = (modelForView.winningPaletteIndex() + 1
+              + random.nextInt(modelForView.numPalettes() - 1)) % modelForView.numPalettes();
+      modelForView.playToPalette(palette, random.nextInt(modelForView.getHand().size()));
+      if (!modelForView.isGameOver()) {
+        modelForView.drawForHand();
+      }
+    }
+  }
+
+  /**
+   * Tests that a delta view writes the whole frame first and then only the lines that changed.
+   */
+  @Test
+  public void testRenderDelta() throws IOException {
+    RedGameModel<CardImpl> modelForView = createModel();
+    modelForView.startGame(Arrays.asList(new CardImpl("R", 5), new CardImpl("R", 7),
+            new CardImpl("O", 6), new CardImpl("B", 4), new CardImpl("I", 3)), false, 2, 2);
+    StringBuilder output = new StringBuilder();
+    SoloRedGameTextView view = new SoloRedGameTextView(modelForView, output,
+            SoloRedGameTextView.RenderMode.DELTA);
+
+    view.render();
+    assertEquals(view.toString(), output.toString());
+    assertEquals(4, view.changedLines());
+
+    output.setLength(0);
+    view.render();
+    assertEquals("", output.toString());
+    assertEquals(0, view.changedLines());
+
+    modelForView.playToCanvas(1);
+    view.render();
+    assertEquals("Canvas: B\nHand: O6", output.toString());
+    assertEquals(2, view.changedLines());
+
+    output.setLength(0);
+    modelForView.playToPalette(0, 0);
+    view.render();
+    assertEquals("> P1: R5 O6\nP2: R7\nHand: ", output.toString());
+  }
+
+  /**
+   * Tests that a controller in delta mode transmits only what each turn changed.
+   */
+  @Test
+  public void testControllerDeltaMode() {
+    StringWriter output = new StringWriter();
+    SoloRedTextController controller = new SoloRedTextController(
+            new StringReader("canvas 2 q"), output, SoloRedGameTextView.RenderMode.DELTA);
+    controller.playGame(createModel(), Arrays.asList(new CardImpl("R", 5),
+            new CardImpl("R", 7), new CardImpl("O", 6), new CardImpl("B", 4),
+            new CardImpl("I", 3)), false, 2, 2);
+
+    String expected = "Canvas: R\nP1: R5\n> P2: R7\nHand: O6 B4\nNumber of cards in deck: 1\n"
+            + "Canvas: B\nHand: O6\n"
+            + "Game quit!\nState of game when quit:\n";
+    assertEquals(expected, output.toString());
+  }
+
+  /**
+   * Tests that a quiet controller transmits only the end of the game, exactly as a normal
+   * controller does, and counts the invalid commands and moves it does not transmit.
+   */
+  @Test
+  public void testControllerQuietMode() {
+    List<CardImpl> smallDeck = Arrays.asList(new CardImpl("R", 5), new CardImpl("R", 7),
+            new CardImpl("O", 6), new CardImpl("B", 4), new CardImpl("I", 3));
+    String commands = "foo palette 2 1 palette 1 1";
+
+    StringWriter normal = new StringWriter();
+    SoloRedTextController normalController = new SoloRedTextController(
+            new StringReader(commands), normal);
+    normalController.playGame(createModel(), smallDeck, false, 2, 2);
+    assertEquals(2, normalController.invalidMoves());
+
+    StringWriter quiet = new StringWriter();
+    SoloRedTextController quietController = new SoloRedTextController(
+            new StringReader(commands), quiet, SoloRedGameTextView.RenderMode.FULL,
+            SoloRedTextController.FINAL_ONLY);
+    quietController.playGame(createModel(), smallDeck, false, 2, 2);
+
+    String full = normal.toString();
+    assertEquals(full.substring(full.indexOf("Game lost.")), quiet.toString());
+    assertEquals(2, quietController.invalidMoves());
+  }
+
+  /**
+   * Tests that a controller can show the board only every few commands.
+   */
+  @Test
+  public void testControllerRenderEvery() {
+    StringWriter output = new StringWriter();
+    SoloRedTextController controller = new SoloRedTextController(
+            new StringReader("foo bar baz q"), output, SoloRedGameTextView.RenderMode.FULL, 2);
+    controller.playGame(createModel(), Arrays.asList(new CardImpl("R", 5),
+            new CardImpl("R", 7), new CardImpl("O", 6), new CardImpl("B", 4),
+            new CardImpl("I", 3)), false, 2, 2);
+
+    String state = "Canvas: R\nP1: R5\n> P2: R7\nHand: O6 B4\nNumber of cards in deck: 1\n";
+    assertEquals(state + state + "Game quit!\nState of game when quit:\n" + state,
+            output.toString());
+    assertEquals(3, controller.invalidMoves());
+  }
+
   /**
    * Tests that the render method correctly handles empty hand and palettes.
    */
   @Test
   public void testRenderEmptyHandAndPalettes() throws IOException {
-    SoloRedGameModel modelForView = new SoloRedGameModel();
+    RedGameModel<CardImpl> modelForView = createModel();
     modelForView.startGame(Arrays.asList(new CardImpl("R", 0) // Canvas
     ), false, 1, 1); // Use at least 1 palette and 1 hand card
 
@@ -651,7 +1072,7 @@ public class SoloRedGameModelTest {
   @Test
   public void testRenderWinningPaletteIndicator() throws IOException {
     // Prepare a game state with multiple palettes
-    SoloRedGameModel modelForView = new SoloRedGameModel();
+    RedGameModel<CardImpl> modelForView = createModel();
     modelForView.startGame(Arrays.asList(new CardImpl("R", 5), // Canvas
             new CardImpl("R", 7), // Palette 1
             new CardImpl("O", 6), // Palette 2
@@ -678,7 +1099,7 @@ public class SoloRedGameModelTest {
    */
   @Test
   public void testViewToString() throws IOException {
-    SoloRedGameModel modelForView = new SoloRedGameModel();
+    RedGameModel<CardImpl> modelForView = createModel();
     modelForView.startGame(Arrays.asList(new CardImpl("R", 0), // Canvas
             new CardImpl("R", 1), // Palette 1
             new CardImpl("O", 2), // Palette 2
@@ -1165,7 +1586,7 @@ public class SoloRedGameModelTest {
 
     // Reset the game with a new deck
     List<CardImpl> newDeck = new ArrayList<>(deck);
-    model = new SoloRedGameModel();
+    model = createModel();
     model.startGame(newDeck, false, 3, 5);
     assertEquals(3, model.numPalettes());
     assertEquals(27, model.numOfCardsInDeck());
@@ -0,0 +1,137 @@
+import cs3500.solored.model.hw02.CardImpl;
+import cs3500.solored.model.hw02.Moves;
+import cs3500.solored.model.hw02.SearchableRedGameModel;
+import cs3500.solored.model.hw02.SoloRedGameModel;
+import cs3500.solored.model.hw04.AdvancedSoloRedGameModel;
+import cs3500.solored.solver.DrawRule;
+import cs3500.solored.solver.Solution;
+import cs3500.solored.solver.WinnabilitySolver;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the WinnabilitySolver, checked against exhaustive replay through the models.
+ */
+public class WinnabilitySolverTest {
+
+  /**
+   * Returns the first count cards of a seeded shuffle of the full deck.
+   */
+  private static List<CardImpl> smallDeck(int seed, int count) {
+    List<CardImpl> deck = new SoloRedGameModel().getAllCards();
+    Collections.shuffle(deck, new Random(seed));
+    return new ArrayList<>(deck.subList(0, count));
+  }
+
+  private static SearchableRedGameModel<CardImpl> modelFor(DrawRule rule) {
+    return rule == DrawRule.BASIC ? new SoloRedGameModel() : new AdvancedSoloRedGameModel();
+  }
+
+  /**
+   * Decides winnability the slow way, by trying every line of play through the public API.
+   * A draw right after another draw is only tried if it can deal a card, since otherwise it
+   * changes nothing.
+   */
+  private static boolean bruteForce(SearchableRedGameModel<CardImpl> game, int handSize,
+                                    boolean lastWasDraw) {
+    if (game.isGameOver()) {
+      return game.isGameWon();
+    }
+    int[] moves = new int[Moves.maxMoveCount(game.numPalettes(), handSize)];
+    int count = game.legalMoves(moves);
+    for (int i = 0; i < count; i++) {
+      game.makeMove(moves[i]);
+      boolean won = bruteForce(game, handSize, false);
+      game.undo();
+      if (won) {
+        return true;
+      }
+    }
+    if (!lastWasDraw
+            || (game.getHand().size() < handSize && game.numOfCardsInDeck() > 0)) {
+      game.drawForHand();
+      boolean won = bruteForce(game, handSize, true);
+      game.undo();
+      return won;
+    }
+    return false;
+  }
+
+  private static void assertSolvesLikeBruteForce(DrawRule rule) {
+    WinnabilitySolver solver = new WinnabilitySolver(rule);
+    int wins = 0;
+    for (int seed = 0; seed < 40; seed++) {
+      List<CardImpl> deck = smallDeck(seed, 9);
+      Solution solution = solver.solve(deck, 2, 3);
+
+      SearchableRedGameModel<CardImpl> game = modelFor(rule);
+      game.startGame(deck, false, 2, 3);
+      assertEquals("seed " + seed, bruteForce(game, 3, false), solution.isWinnable());
+
+      if (solution.isWinnable()) {
+        wins++;
+        for (int move : solution.getWinningLine()) {
+          game.makeMove(move);
+        }
+        assertTrue(game.isGameOver());
+        assertTrue(game.isGameWon());
+      } else {
+        assertEquals(0, solution.getWinningLine().length);
+      }
+    }
+    assertTrue(wins > 0);
+  }
+
+  /**
+   * Tests the solver against exhaustive search under the basic draw rule.
+   */
+  @Test
+  public void testBasicRulesMatchBruteForce() {
+    assertSolvesLikeBruteForce(DrawRule.BASIC);
+  }
+
+  /**
+   * Tests the solver against exhaustive search under the advanced draw rule.
+   */
+  @Test
+  public void testAdvancedRulesMatchBruteForce() {
+    assertSolvesLikeBruteForce(DrawRule.ADVANCED);
+  }
+
+  /**
+   * Tests that the transposition table keeps a deal of all 35 cards tractable, and that the
+   * line found for a deal known to be winnable replays to a win.
+   */
+  @Test
+  public void testFullDeckWinningLineReplays() {
+    WinnabilitySolver solver = new WinnabilitySolver(DrawRule.BASIC);
+    List<CardImpl> deck = smallDeck(7, 35);
+    Solution solution = solver.solve(deck, 4, 5);
+    assertTrue(solution.isWinnable());
+    assertTrue(solution.getStatesSearched() > 0);
+
+    SoloRedGameModel game = new SoloRedGameModel();
+    game.startGame(deck, false, 4, 5);
+    for (int move : solution.getWinningLine()) {
+      game.makeMove(move);
+    }
+    assertTrue(game.isGameOver());
+    assertTrue(game.isGameWon());
+  }
+
+  /**
+   * Tests that the solver rejects invalid settings the way startGame does.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSettings() {
+    new WinnabilitySolver(DrawRule.BASIC).solve(smallDeck(0, 5), 3, 3);
+  }
+}